@@ -1,15 +1,25 @@
 package com.nfl.glitr;
 
 import com.nfl.glitr.calculator.QueryComplexityCalculator;
+import com.nfl.glitr.registry.LazyTypesInstrumentation;
+import com.nfl.glitr.registry.ReferencedStubCollector;
 import com.nfl.glitr.registry.TypeRegistry;
+import com.nfl.glitr.registry.snapshot.SchemaSnapshotWriter;
 import com.nfl.glitr.relay.RelayHelper;
 import com.nfl.glitr.util.ObjectMapper;
+import graphql.language.Document;
+import graphql.parser.Parser;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static graphql.Assert.assertNotNull;
 import static java.util.Objects.nonNull;
@@ -19,8 +29,13 @@ public class Glitr {
     private final TypeRegistry typeRegistry;
     private final GraphQLCodeRegistry.Builder codeRegistryBuilder;
     private final RelayHelper relayHelper;
-    private GraphQLSchema schema;
-    private QueryComplexityCalculator queryComplexityCalculator;
+    // the schema and the calculator bound to it are published together, with a single volatile write
+    private volatile PublishedSchema published;
+    private GraphqlFieldVisibility fieldVisibility;
+    private Class queryRoot;
+    private Class mutationRoot;
+    private Class subscriptionRoot;
+    private final LazyTypesInstrumentation lazyTypesInstrumentation = new LazyTypesInstrumentation(this);
     private static ObjectMapper objectMapper;
 
 
@@ -48,13 +63,14 @@ public class Glitr {
         this.typeRegistry = assertNotNull(typeRegistry, "TypeRegistry can't be null");
         assertNotNull(queryRoot, "queryRoot class can't be null");
         this.relayHelper = relayHelper;
+        this.queryRoot = queryRoot;
+        this.mutationRoot = mutationRoot;
+        this.subscriptionRoot = subscriptionRoot;
+        this.fieldVisibility = fieldVisibility;
 
         Glitr.objectMapper = objectMapper;
-        this.schema = buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility);
-
-        if (nonNull(queryComplexityCalculator)) {
-            this.queryComplexityCalculator = queryComplexityCalculator.withSchema(this.schema);
-        }
+        GraphQLSchema schema = buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility);
+        this.published = new PublishedSchema(schema, nonNull(queryComplexityCalculator) ? queryComplexityCalculator.withSchema(schema) : null);
     }
 
     public TypeRegistry getTypeRegistry() {
@@ -63,7 +79,7 @@ public class Glitr {
 
     @Nullable
     public QueryComplexityCalculator getQueryComplexityCalculator() {
-        return queryComplexityCalculator;
+        return published.queryComplexityCalculator;
     }
 
     @Nullable
@@ -72,7 +88,32 @@ public class Glitr {
     }
 
     public GraphQLSchema getSchema() {
-        return schema;
+        return published.schema;
+    }
+
+    public Class getQueryRoot() {
+        return queryRoot;
+    }
+
+    @Nullable
+    public Class getMutationRoot() {
+        return mutationRoot;
+    }
+
+    @Nullable
+    public Class getSubscriptionRoot() {
+        return subscriptionRoot;
+    }
+
+    /**
+     * Export the schema so that it can later be built without introspecting the schema classes, see
+     * {@link GlitrBuilder#withSchemaSnapshot(java.nio.file.Path)}
+     *
+     * @param out stream to write the snapshot to
+     * @throws IOException if the snapshot can't be written
+     */
+    public void exportSchemaSnapshot(OutputStream out) throws IOException {
+        SchemaSnapshotWriter.write(this, out);
     }
 
     public static ObjectMapper getObjectMapper() {
@@ -115,8 +156,103 @@ public class Glitr {
                 .build();
     }
 
-    public GraphQLSchema reloadSchema(Class queryRoot, Class mutationRoot, Class subscriptionRoot, GraphqlFieldVisibility fieldVisibility) {
-        this.schema = buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility);
-        return this.schema;
+    public synchronized GraphQLSchema reloadSchema(Class queryRoot, Class mutationRoot, Class subscriptionRoot, GraphqlFieldVisibility fieldVisibility) {
+        this.queryRoot = queryRoot;
+        this.mutationRoot = mutationRoot;
+        this.subscriptionRoot = subscriptionRoot;
+        this.fieldVisibility = fieldVisibility;
+        return publishSchema(buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility));
+    }
+
+    /**
+     * Rebuild the types of the given classes and the types depending on them, reusing all the other types and their
+     * data fetchers. The new schema replaces the current one at once, requests already running keep executing
+     * against the schema they started with.
+     *
+     * @param changedClasses classes whose type changed
+     * @return the new schema
+     */
+    public synchronized GraphQLSchema reloadSchema(Set<Class> changedClasses) {
+        typeRegistry.invalidate(changedClasses);
+        return publishSchema(buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility));
+    }
+
+    /**
+     * Replace the override objects of the given class, e.g: when a feature toggle changes, then rebuild the affected
+     * types as {@link #reloadSchema(Set)} does
+     *
+     * @param clazz class whose fields are overridden
+     * @param overrideObjects new override objects, empty to remove them all
+     * @return the new schema
+     */
+    public synchronized GraphQLSchema replaceOverrides(Class clazz, List<Object> overrideObjects) {
+        typeRegistry.replaceOverrides(clazz, overrideObjects);
+        return reloadSchema(Collections.singleton(clazz));
+    }
+
+    /**
+     * Same as {@link #ensureMaterialized(Document)} for a query that isn't parsed yet. Prefer registering
+     * {@link #getLazyTypesInstrumentation()} on the {@link graphql.GraphQL} instance, which parses the query only once.
+     *
+     * @param query query about to be executed
+     * @return the schema to execute the query against
+     */
+    public GraphQLSchema ensureMaterialized(String query) {
+        return ensureMaterialized(new Parser().parseDocument(query));
+    }
+
+    /**
+     * Materialize the stubs, registered in lazy mode, that the given query references, and the ones their
+     * materialization reveals, before the query is validated and executed. Queries referencing no stub only read the
+     * current schema, without locking.
+     *
+     * @param document parsed query about to be executed
+     * @return the schema to execute the query against
+     */
+    public GraphQLSchema ensureMaterialized(Document document) {
+        GraphQLSchema currentSchema = getSchema();
+        if (ReferencedStubCollector.collect(currentSchema, typeRegistry, document).isEmpty()) {
+            return currentSchema;
+        }
+
+        synchronized (this) {
+            Set<String> stubs;
+            while (!(stubs = ReferencedStubCollector.collect(getSchema(), typeRegistry, document)).isEmpty()) {
+                typeRegistry.materialize(stubs);
+                publishSchema(buildSchema(queryRoot, mutationRoot, subscriptionRoot, fieldVisibility));
+            }
+            return getSchema();
+        }
+    }
+
+    /**
+     * @return the instrumentation, and preparsed document provider, materializing the stubs a query references
+     * before graphql-java validates it, to be registered on the {@link graphql.GraphQL} instance in lazy mode
+     */
+    public LazyTypesInstrumentation getLazyTypesInstrumentation() {
+        return lazyTypesInstrumentation;
+    }
+
+    /**
+     * Publish the new schema along with a new complexity calculator for it, requests already running keep the schema
+     * and calculator they started with
+     */
+    private GraphQLSchema publishSchema(GraphQLSchema schema) {
+        QueryComplexityCalculator queryComplexityCalculator = published.queryComplexityCalculator;
+        this.published = new PublishedSchema(schema, nonNull(queryComplexityCalculator) ? queryComplexityCalculator.forSchema(schema) : null);
+        return schema;
+    }
+
+
+    private static final class PublishedSchema {
+
+        private final GraphQLSchema schema;
+        private final QueryComplexityCalculator queryComplexityCalculator;
+
+
+        PublishedSchema(GraphQLSchema schema, @Nullable QueryComplexityCalculator queryComplexityCalculator) {
+            this.schema = schema;
+            this.queryComplexityCalculator = queryComplexityCalculator;
+        }
     }
 }
@@ -2,9 +2,18 @@ package com.nfl.glitr;
 
 import com.nfl.glitr.annotation.GlitrForwardPagingArguments;
 import com.nfl.glitr.calculator.QueryComplexityCalculator;
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.GlitrSchemaIndex;
 import com.nfl.glitr.registry.TypeRegistry;
 import com.nfl.glitr.registry.TypeRegistryBuilder;
 import com.nfl.glitr.registry.datafetcher.AnnotationBasedDataFetcherFactory;
+import com.nfl.glitr.registry.datafetcher.instrumentation.FetcherInstrumentation;
+import com.nfl.glitr.registry.profiler.BuildProfiler;
+import com.nfl.glitr.registry.profiler.BuildReport;
+import com.nfl.glitr.registry.snapshot.SchemaSnapshot;
+import com.nfl.glitr.registry.snapshot.SchemaSnapshotReader;
+import com.nfl.glitr.relay.GlobalIdCodec;
+import com.nfl.glitr.relay.NodeBatchResolver;
 import com.nfl.glitr.relay.RelayConfig;
 import com.nfl.glitr.relay.RelayHelper;
 import com.nfl.glitr.relay.type.CustomFieldArgumentsFunc;
@@ -17,17 +26,21 @@ import org.slf4j.LoggerFactory;
 import rx.functions.Func4;
 import rx.functions.Func5;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class GlitrBuilder {
 
     private static final Logger logger = LoggerFactory.getLogger(GlitrBuilder.class);
+    private static final int REPORTED_PROFILE_ENTRIES = 50;
 
     private Map<Class, List<Object>> overrides = new HashMap<>();
     private Map<Class<? extends Annotation>, AnnotationBasedDataFetcherFactory> annotationToDataFetcherFactoryMap = new HashMap<>();
@@ -42,6 +55,17 @@ public class GlitrBuilder {
     private GraphqlFieldVisibility fieldVisibility = null;
     private ObjectMapper objectMapper = null;
     private QueryComplexityCalculator queryComplexityCalculator;
+    private Executor blockingExecutor = null;
+    private Set<Class> blockingClasses = new HashSet<>();
+    private boolean explicitOverrideFallbackEnabled = false;
+    private FetcherInstrumentation fetcherInstrumentation = null;
+    private ForkJoinPool introspectionPool = null;
+    private List<GlitrSchemaIndex> schemaIndexes = new ArrayList<>();
+    private boolean generatedSchemaIndexEnabled = false;
+    private SchemaSnapshot schemaSnapshot = null;
+    private Integer lazyDepth = null;
+    private Set<String> lazyPackages = new HashSet<>();
+    private BuildProfiler buildProfiler = null;
 
 
     private GlitrBuilder() {
@@ -129,6 +153,167 @@ public class GlitrBuilder {
         return this;
     }
 
+    /**
+     * Register the {@link Executor} blocking fields are offloaded onto. Fields are blocking when annotated with
+     * {@link com.nfl.glitr.registry.annotation.GlitrBlocking} or when they belong to a class registered via
+     * {@link #addBlockingClass(Class)}. Any executor will do, e.g: a bounded thread pool or, on Java 21+, a
+     * virtual-thread-per-task executor.
+     *
+     * @param blockingExecutor executor running the blocking fields
+     * @return this
+     */
+    public GlitrBuilder withBlockingExecutor(Executor blockingExecutor) {
+        this.blockingExecutor = blockingExecutor;
+        return this;
+    }
+
+    /**
+     * Mark all the fields of a schema class or of an override class as blocking.
+     *
+     * @param clazz schema class or override class
+     * @return this
+     */
+    public GlitrBuilder addBlockingClass(Class clazz) {
+        blockingClasses.add(clazz);
+        return this;
+    }
+
+    /**
+     * With explicit fallback, an override method returning null resolves the field to null instead of falling back to
+     * the next data fetchers (annotation based, property). Falling back then only happens when the override can't
+     * handle the field at all, which is signaled by {@link com.nfl.glitr.registry.datafetcher.query.OverrideDataFetcher#NOT_HANDLED}.
+     *
+     * @param explicitOverrideFallbackEnabled whether to enable explicit fallback, disabled by default
+     * @return this
+     */
+    public GlitrBuilder withExplicitOverrideFallback(boolean explicitOverrideFallbackEnabled) {
+        this.explicitOverrideFallbackEnabled = explicitOverrideFallbackEnabled;
+        return this;
+    }
+
+    /**
+     * Record latencies and errors of every Glitr generated data fetcher, per field and per kind of fetcher
+     * (override, annotation, property). Nothing is wrapped unless instrumentation is registered.
+     *
+     * @param fetcherInstrumentation instrumentation collecting the metrics
+     * @return this
+     */
+    public GlitrBuilder withFetcherInstrumentation(FetcherInstrumentation fetcherInstrumentation) {
+        this.fetcherInstrumentation = fetcherInstrumentation;
+        return this;
+    }
+
+    /**
+     * Introspect the classes of the schema concurrently on the given pool before assembling the schema. Assembly
+     * itself stays sequential, so the resulting schema is identical to the one built without this option.
+     *
+     * @param introspectionPool pool to introspect on, e.g: {@link ForkJoinPool#commonPool()}
+     * @return this
+     */
+    public GlitrBuilder withParallelIntrospection(ForkJoinPool introspectionPool) {
+        this.introspectionPool = introspectionPool;
+        return this;
+    }
+
+    /**
+     * Use the given index of the schema classes and of their eligible getters instead of inspecting each getter
+     * reflectively
+     *
+     * @param schemaIndex index, usually generated by the {@link com.nfl.glitr.processor.GlitrSchemaIndexProcessor}
+     * @return this
+     */
+    public GlitrBuilder addSchemaIndex(GlitrSchemaIndex schemaIndex) {
+        schemaIndexes.add(schemaIndex);
+        return this;
+    }
+
+    /**
+     * Use the indexes generated at compile time for the root classes annotated with
+     * {@link com.nfl.glitr.registry.annotation.GlitrSchemaRoot}, if any. Root classes without a generated index are inspected
+     * reflectively as usual. The indexes are generated by the annotation processor shipped as the {@code processor}
+     * classifier of the glitr artifact, e.g: {@code annotationProcessor "com.nfl.glitr:glitr:<version>:processor"}.
+     *
+     * @return this
+     */
+    public GlitrBuilder withGeneratedSchemaIndex() {
+        this.generatedSchemaIndexEnabled = true;
+        return this;
+    }
+
+    /**
+     * Build the schema from the given snapshot, previously exported with {@link Glitr#exportSchemaSnapshot}, instead of
+     * introspecting the schema classes. The classes are inspected as usual if the snapshot is stale.
+     *
+     * @param schemaSnapshot snapshot to build the schema from
+     * @return this
+     */
+    public GlitrBuilder withSchemaSnapshot(SchemaSnapshot schemaSnapshot) {
+        this.schemaSnapshot = schemaSnapshot;
+        return this;
+    }
+
+    /**
+     * Same as {@link #withSchemaSnapshot(SchemaSnapshot)}, reading the snapshot from the given file. A missing or
+     * unreadable file only means the schema classes are introspected.
+     *
+     * @param path snapshot file
+     * @return this
+     */
+    public GlitrBuilder withSchemaSnapshot(Path path) {
+        if (!Files.exists(path)) {
+            logger.info("No schema snapshot found at {}", path);
+            return this;
+        }
+
+        try (InputStream in = Files.newInputStream(path)) {
+            this.schemaSnapshot = SchemaSnapshotReader.read(in);
+        } catch (IOException e) {
+            logger.warn("Unable to read the schema snapshot at {}", path, e);
+        }
+        return this;
+    }
+
+    /**
+     * Only register stubs for the plain classes found deeper than the given depth below the roots, the stubs being
+     * materialized once a query references them, see {@link Glitr#getLazyTypesInstrumentation()}.
+     * <p>
+     * Lazy mode changes what introspection returns: until materialized, a stub is an object type with a single
+     * placeholder field, and the types only reachable through it aren't in the schema at all. Tools relying on
+     * introspection, e.g: code generators, should use a schema built without lazy types.
+     *
+     * @param lazyDepth depth below which types are materialized on demand, the fields of the roots being at depth 1
+     * @return this
+     */
+    public GlitrBuilder withLazyTypes(int lazyDepth) {
+        this.lazyDepth = lazyDepth;
+        return this;
+    }
+
+    /**
+     * Same as {@link #withLazyTypes(int)} for the plain classes of the given package and its sub packages, whatever
+     * their depth
+     *
+     * @param lazyPackage package name, e.g: {@code com.example.admin}
+     * @return this
+     */
+    public GlitrBuilder addLazyPackage(String lazyPackage) {
+        lazyPackages.add(lazyPackage);
+        return this;
+    }
+
+    /**
+     * Record the time and memory spent per introspected class, per type factory and per custom argument or output
+     * type provider while building the schema. The report, slowest first, is logged once the build is done and
+     * remains available from the profiler.
+     *
+     * @param buildProfiler profiler to record into
+     * @return this
+     */
+    public GlitrBuilder withBuildProfiler(BuildProfiler buildProfiler) {
+        this.buildProfiler = buildProfiler;
+        return this;
+    }
+
     public GlitrBuilder withRelay(RelayConfig relayConfig) {
         this.relayConfig = relayConfig;
         return this;
@@ -156,10 +341,45 @@ public class GlitrBuilder {
             this.addOverride(subscriptionRoot.getClass(), subscriptionRoot);
         }
 
-        if (relayConfig != null) {
-            return buildGlitrWithRelaySupport();
+        if (generatedSchemaIndexEnabled) {
+            loadGeneratedSchemaIndex(queryRoot);
+            loadGeneratedSchemaIndex(mutationRoot);
+            loadGeneratedSchemaIndex(subscriptionRoot);
+        }
+
+        Glitr glitr = relayConfig != null ? buildGlitrWithRelaySupport() : buildGlitr();
+
+        if (buildProfiler != null) {
+            BuildReport report = buildProfiler.getReport();
+            logger.info("Schema build profile, slowest first:\n{}", report.toText(REPORTED_PROFILE_ENTRIES));
+            logger.debug("Schema build profile: {}", report.toJson());
+        }
+        return glitr;
+    }
+
+    private void loadGeneratedSchemaIndex(Object root) {
+        if (root == null) {
+            return;
+        }
+
+        Optional<GlitrSchemaIndex> schemaIndex = GlitrSchemaIndex.find(root.getClass());
+        if (schemaIndex.isPresent()) {
+            schemaIndexes.add(schemaIndex.get());
+        } else {
+            logger.debug("No generated schema index found for {}", root.getClass());
+        }
+    }
+
+    private void restoreSchemaSnapshot(TypeRegistry typeRegistry) {
+        if (schemaSnapshot == null) {
+            return;
+        }
+
+        Class mutationRootClass = mutationRoot != null ? mutationRoot.getClass() : null;
+        Class subscriptionRootClass = subscriptionRoot != null ? subscriptionRoot.getClass() : null;
+        if (SchemaSnapshotReader.restore(schemaSnapshot, typeRegistry, queryRoot.getClass(), mutationRootClass, subscriptionRootClass)) {
+            logger.debug("Schema restored from snapshot {}", schemaSnapshot.getFingerprint());
         }
-        return buildGlitr();
     }
 
     private Glitr buildGlitr() {
@@ -175,8 +395,19 @@ public class GlitrBuilder {
                 .withAnnotationToDataFetcherMap(annotationToDataFetcherMap)
                 .withJavaTypesDeclaredAsScalarMap(javaTypeDeclaredAsScalarMap)
                 .withOverrides(overrides)
+                .withBlockingExecutor(blockingExecutor)
+                .withBlockingClasses(blockingClasses)
+                .withExplicitOverrideFallback(explicitOverrideFallbackEnabled)
+                .withFetcherInstrumentation(fetcherInstrumentation)
+                .withParallelIntrospection(introspectionPool)
+                .withSchemaIndexes(schemaIndexes)
+                .withLazyDepth(lazyDepth)
+                .withLazyPackages(lazyPackages)
+                .withBuildProfiler(buildProfiler)
                 .build();
 
+        restoreSchemaSnapshot(typeRegistry);
+
         Class mutationRootClass = mutationRoot != null ? mutationRoot.getClass() : null;
         Class subscriptionRootClass = subscriptionRoot != null ? subscriptionRoot.getClass() : null;
 
@@ -189,7 +420,19 @@ public class GlitrBuilder {
         }
 
         PagingOutputTypeConverter pagingOutputTypeConverter = new PagingOutputTypeConverter();
-        CustomFieldArgumentsFunc customFieldArgumentsFunc = new CustomFieldArgumentsFunc();
+        CustomFieldArgumentsFunc customFieldArgumentsFunc = new CustomFieldArgumentsFunc(relayConfig.isBackwardPaginationEnabled());
+
+        // resolve the node and nodes root fields in batch, after the user overrides so those still win
+        NodeBatchResolver nodeBatchResolver = null;
+        Map<Class, List<Object>> relayOverrides = overrides;
+        if (!relayConfig.getNodeBatchLoaders().isEmpty()) {
+            nodeBatchResolver = new NodeBatchResolver(relayConfig.getRelay(), relayConfig.getNodeBatchLoaders());
+            relayOverrides = new HashMap<>();
+            for (Map.Entry<Class, List<Object>> entry : overrides.entrySet()) {
+                relayOverrides.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            relayOverrides.computeIfAbsent(queryRoot.getClass(), clazz -> new ArrayList<>()).add(nodeBatchResolver);
+        }
 
         // instantiate TypeRegistry
         TypeRegistry typeRegistry = TypeRegistryBuilder.newTypeRegistry()
@@ -198,23 +441,49 @@ public class GlitrBuilder {
                 .withAnnotationToDataFetcherFactoryMap(annotationToDataFetcherFactoryMap)
                 .withAnnotationToDataFetcherMap(annotationToDataFetcherMap)
                 .withJavaTypesDeclaredAsScalarMap(javaTypeDeclaredAsScalarMap)
-                .withOverrides(overrides)
+                .withOverrides(relayOverrides)
+                .withBlockingExecutor(blockingExecutor)
+                .withBlockingClasses(blockingClasses)
+                .withExplicitOverrideFallback(explicitOverrideFallbackEnabled)
+                .withFetcherInstrumentation(fetcherInstrumentation)
+                .withParallelIntrospection(introspectionPool)
+                .withSchemaIndexes(schemaIndexes)
+                .withLazyDepth(lazyDepth)
+                .withLazyPackages(lazyPackages)
+                .withBuildProfiler(buildProfiler)
                 // add the relay extra features
                 .withExplicitRelayNodeScan(relayConfig.isExplicitRelayNodeScanEnabled())
                 .withRelay(relayConfig.getRelay())
+                .withPageSizeLimit(relayConfig.getPageSizeLimit())
                 .addCustomFieldOutputTypeFunc(GlitrForwardPagingArguments.class, pagingOutputTypeConverter)
                 .addCustomFieldArgumentsFunc(GlitrForwardPagingArguments.class, customFieldArgumentsFunc)
                 .build();
 
         // instantiate RelayHelper
-        RelayHelper relayHelper = new RelayHelper(relayConfig.getRelay(), typeRegistry);
+        GlobalIdCodec globalIdCodec = new GlobalIdCodec(typeRegistry, relayConfig.isCompactGlobalIdsEnabled(), relayConfig.getGlobalIdTypeTags());
+        RelayHelper relayHelper = new RelayHelper(relayConfig.getRelay(), typeRegistry, relayConfig.getCursorCodec(), globalIdCodec);
 
         // init RelayHelper on the converters
         pagingOutputTypeConverter.setRelayHelper(relayHelper);
+        if (nodeBatchResolver != null) {
+            nodeBatchResolver.setTypeRegistry(typeRegistry).setGlobalIdCodec(globalIdCodec);
+            relayHelper.setNodeBatchResolver(nodeBatchResolver);
+        }
+
+        restoreSchemaSnapshot(typeRegistry);
 
         Class mutationRootClass = mutationRoot != null ? mutationRoot.getClass() : null;
         Class subscriptionRootClass = subscriptionRoot != null ? subscriptionRoot.getClass() : null;
 
-        return new Glitr(typeRegistry, typeRegistry.getCodeRegistryBuilder(), queryRoot.getClass(), fieldVisibility, objectMapper, relayHelper, mutationRootClass, subscriptionRootClass, queryComplexityCalculator);
+        Glitr glitr = new Glitr(typeRegistry, typeRegistry.getCodeRegistryBuilder(), queryRoot.getClass(), fieldVisibility, objectMapper, relayHelper, mutationRootClass, subscriptionRootClass, queryComplexityCalculator);
+
+        // the batch loaders only resolve the node fields declared by the query root, they don't add them
+        if (nodeBatchResolver != null && glitr.getSchema().getQueryType().getFieldDefinition("nodes") == null) {
+            throw new GlitrException("Node batch loaders are registered but the query root [" + queryRoot.getClass().getSimpleName() + "] doesn't declare a nodes field");
+        }
+
+        // fail on colliding global id tags now rather than on the first id encoded
+        globalIdCodec.indexTypes();
+        return glitr;
     }
 }
@@ -4,6 +4,7 @@ import com.nfl.glitr.exception.GlitrException;
 import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
 import com.nfl.glitr.registry.schema.GlitrMetaDefinition;
 import com.nfl.glitr.registry.schema.GraphQLConnectionList;
+import com.nfl.glitr.relay.PagingArguments;
 import graphql.language.*;
 import graphql.parser.InvalidSyntaxException;
 import graphql.parser.Parser;
@@ -26,6 +27,7 @@ import java.util.regex.Pattern;
 
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_FORMULA_KEY;
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_IGNORE_KEY;
+import static com.nfl.glitr.util.NodeUtil.MAX_PAGE_SIZE_KEY;
 import static org.apache.commons.lang3.StringUtils.defaultString;
 
 /*
@@ -75,6 +77,10 @@ public class QueryComplexityCalculator {
     }
 
     public QueryComplexityCalculator(int maxCharacterLimit, int maxDepthLimit, int maxScoreLimit, int defaultMultiplier, Parser documentParser) {
+        this(maxCharacterLimit, maxDepthLimit, maxScoreLimit, (double) defaultMultiplier, documentParser);
+    }
+
+    private QueryComplexityCalculator(int maxCharacterLimit, int maxDepthLimit, int maxScoreLimit, double defaultMultiplier, Parser documentParser) {
         this.maxCharacterLimit = maxCharacterLimit;
         this.maxDepthLimit = maxDepthLimit;
         this.maxScoreLimit = maxScoreLimit;
@@ -87,6 +93,14 @@ public class QueryComplexityCalculator {
         return this;
     }
 
+    /**
+     * @param schema schema the new calculator scores queries against
+     * @return a new calculator with the same limits as this one, bound to the given schema
+     */
+    public QueryComplexityCalculator forSchema(GraphQLSchema schema) {
+        return new QueryComplexityCalculator(maxCharacterLimit, maxDepthLimit, maxScoreLimit, defaultMultiplier, documentParser).withSchema(schema);
+    }
+
     /**
      * @param query - graphql query string
      * @param variables graphQL query variables
@@ -384,6 +398,8 @@ public class QueryComplexityCalculator {
 
         QueryComplexityNode rootComplexityNode = new QueryComplexityNode(queryEntryPoint.getName());
         rootComplexityNode.setFormula(getGraphQLMeta(rootSchemaField, COMPLEXITY_FORMULA_KEY));
+        rootComplexityNode.setMaxPageSize(getMaxPageSize(rootSchemaField));
+        rootComplexityNode.setPaged(isPaged(rootSchemaField));
         rootComplexityNode.setIgnore(ignoreField);
 
         return buildComplexityModel(queryEntryPoint, rootComplexityNode, rootSchemaField, fragments);
@@ -442,6 +458,8 @@ public class QueryComplexityCalculator {
         QueryComplexityNode childComplexity = new QueryComplexityNode(nodeName);
         childComplexity.setIgnore(ignoreFieldOrDefault(graphQLObject, isConnectionNode(parentSchemaField, nodeName)));
         childComplexity.setFormula(getGraphQLMeta(graphQLObject, COMPLEXITY_FORMULA_KEY));
+        childComplexity.setMaxPageSize(getMaxPageSize(graphQLObject));
+        childComplexity.setPaged(isPaged(graphQLObject));
         parentComplexityNode.addChild(childComplexity);
 
         buildComplexityModel(node, childComplexity, graphQLObject, fragments);
@@ -543,6 +561,31 @@ public class QueryComplexityCalculator {
         return null;
     }
 
+    private Integer getMaxPageSize(GraphQLFieldDefinition graphQlObject) {
+        Number maxPageSize = getGraphQLMeta(graphQlObject, MAX_PAGE_SIZE_KEY);
+        return maxPageSize != null ? maxPageSize.intValue() : null;
+    }
+
+    /**
+     * The {@code first} and {@code last} arguments are page sizes on connection fields. They are also counted on the
+     * fields the schema doesn't declare them on, as they used to be, but not on the fields they are regular arguments of.
+     */
+    private boolean isPaged(GraphQLFieldDefinition fieldDefinition) {
+        if (fieldDefinition == null || getMaxPageSize(fieldDefinition) != null) {
+            return true;
+        }
+
+        GraphQLType type = GraphQLTypeUtil.unwrapNonNull(fieldDefinition.getType());
+        if (type instanceof GraphQLObjectType) {
+            GraphQLFieldDefinition edges = ((GraphQLObjectType) type).getFieldDefinition("edges");
+            if (edges != null && GraphQLTypeUtil.unwrapNonNull(edges.getType()) instanceof GraphQLConnectionList) {
+                return true;
+            }
+        }
+
+        return fieldDefinition.getArgument(PagingArguments.FIRST) == null && fieldDefinition.getArgument(PagingArguments.LAST) == null;
+    }
+
     private boolean isConnectionNode(GraphQLFieldDefinition graphQlObject, String name) {
         if (graphQlObject == null) {
             return false;
@@ -590,27 +633,50 @@ public class QueryComplexityCalculator {
     }
 
     private Optional<Integer> getLimitArgIfPresent(QueryComplexityNode node, Map<String, Object> queryVariables) {
-        if (CollectionUtils.isEmpty(node.getArguments())) {
+        if (!node.isPaged() || CollectionUtils.isEmpty(node.getArguments())) {
             return Optional.empty();
         }
 
-        Optional<Argument> listLimit = node.getArguments().stream()
-                .filter(argument -> argument.getName().equals("first"))
-                .findFirst();
-
+        // a forward page is limited by 'first', a backward one by 'last', the largest wins if both are given
         Integer limit = null;
-        if (listLimit.isPresent()) {
-            Value value = listLimit.get().getValue();
+        for (Argument argument : node.getArguments()) {
+            if (!argument.getName().equals(PagingArguments.FIRST) && !argument.getName().equals(PagingArguments.LAST)) {
+                continue;
+            }
+
+            Integer argumentLimit = null;
+            Value value = argument.getValue();
             if (value instanceof VariableReference && queryVariables != null) {
-                limit = (Integer) queryVariables.get(((VariableReference) value).getName());
+                Object variable = queryVariables.get(((VariableReference) value).getName());
+                if (variable instanceof Number) {
+                    argumentLimit = toClampedInt((Number) variable);
+                }
             } else if (value instanceof IntValue) {
-                limit = ((IntValue) value).getValue().intValue();
+                argumentLimit = toClampedInt(((IntValue) value).getValue());
+            }
+
+            if (argumentLimit != null && (limit == null || argumentLimit > limit)) {
+                limit = argumentLimit;
             }
         }
 
+        // a larger page is never fetched, it's either clamped or rejected
+        if (limit != null && node.getMaxPageSize() != null && limit > node.getMaxPageSize()) {
+            limit = node.getMaxPageSize();
+        }
+
         return Optional.ofNullable(limit);
     }
 
+    /**
+     * @param number - page size of any numeric type, e.g: a Long or a Double depending on how the variables were parsed
+     * @return the page size, clamped to the int range rather than overflowing
+     */
+    private static int toClampedInt(Number number) {
+        // the narrowing conversion of a double saturates at the int bounds
+        return (int) number.doubleValue();
+    }
+
     /**
      *
      * @param query - graphql query string
@@ -652,7 +718,7 @@ public class QueryComplexityCalculator {
      * <pre>
      * ****************************************************************************************************************
      * ****************************************************************************************************************
-     * If the node has an argument called 'first' and has children, we return that integer multiplied by the default multiplier
+     * If the node has an argument called 'first' (or 'last') and has children, we return that integer multiplied by the default multiplier
      * default multiplier = 10
      * {
      *     players(first:5){
@@ -661,7 +727,7 @@ public class QueryComplexityCalculator {
      * } == returns 5 * 10 = 50
      * ****************************************************************************************************************
      * ****************************************************************************************************************
-     * If the node has an argument called 'first' and annotated by @GlitrQueryComplexity, at the same time - we ignore the 'first' argument and return specified complexity value
+     * If the node has an argument called 'first' (or 'last') and annotated by @GlitrQueryComplexity, at the same time - we ignore the 'first' argument and return specified complexity value
      *
      * {@literal @}GlitrQueryComplexity("70")
      *  private List players;
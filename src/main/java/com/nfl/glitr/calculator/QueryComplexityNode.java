@@ -17,6 +17,8 @@ public class QueryComplexityNode {
     private List<QueryComplexityNode> children = new ArrayList<>();
     private boolean ignore;
     private String formula;
+    private Integer maxPageSize;
+    private boolean paged = true;
 
 
     public QueryComplexityNode() {
@@ -117,6 +119,28 @@ public class QueryComplexityNode {
         this.formula = formula;
     }
 
+    /**
+     * @return the maximum page size of the connection field, null if unlimited
+     */
+    public Integer getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(Integer maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @return whether the {@code first} and {@code last} arguments of the field are page sizes
+     */
+    public boolean isPaged() {
+        return paged;
+    }
+
+    public void setPaged(boolean paged) {
+        this.paged = paged;
+    }
+
     @Override
     public String toString() {
         return "QueryComplexityNode{" +
@@ -0,0 +1,42 @@
+package com.nfl.glitr.registry;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * Index of the classes reachable from a schema root and of their getters eligible for the schema, generated at compile
+ * time by the {@code com.nfl.glitr.processor.GlitrSchemaIndexProcessor} for the classes annotated with
+ * {@link com.nfl.glitr.registry.annotation.GlitrSchemaRoot}. The processor is shipped as the {@code processor}
+ * classifier of the glitr artifact, to be put on the annotation processor path.
+ * When present, {@link TypeRegistry} uses it instead of inspecting each getter (and its backing field) reflectively.
+ * Classes missing from the index, e.g: classes only reachable through overrides, are inspected reflectively as usual.
+ */
+public interface GlitrSchemaIndex {
+
+    /**
+     * @return binary name of the schema root class the index was generated for
+     */
+    String getRootClassName();
+
+    /**
+     * @return names of the getters eligible for the schema, by binary class name
+     */
+    Map<String, Set<String>> getEligibleMethodNames();
+
+    /**
+     * Look up the generated index registered for the given schema root class
+     *
+     * @param rootClass schema root class annotated with {@link com.nfl.glitr.registry.annotation.GlitrSchemaRoot}
+     * @return the generated index, empty if none has been generated
+     */
+    static Optional<GlitrSchemaIndex> find(Class rootClass) {
+        for (GlitrSchemaIndex index : ServiceLoader.load(GlitrSchemaIndex.class, rootClass.getClassLoader())) {
+            if (index.getRootClassName().equals(rootClass.getName())) {
+                return Optional.of(index);
+            }
+        }
+        return Optional.empty();
+    }
+}
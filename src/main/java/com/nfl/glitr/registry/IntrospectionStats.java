@@ -0,0 +1,47 @@
+package com.nfl.glitr.registry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Figures on the introspection of the schema classes by a {@link TypeRegistry}
+ */
+public class IntrospectionStats {
+
+    private final int introspectedClasses;
+    private final int resolvedPlaceholders;
+    private final long introspectionNanos;
+
+
+    public IntrospectionStats(int introspectedClasses, int resolvedPlaceholders, long introspectionNanos) {
+        this.introspectedClasses = introspectedClasses;
+        this.resolvedPlaceholders = resolvedPlaceholders;
+        this.introspectionNanos = introspectionNanos;
+    }
+
+    /**
+     * @return number of classes turned into a GraphQL type
+     */
+    public int getIntrospectedClasses() {
+        return introspectedClasses;
+    }
+
+    /**
+     * @return number of type references left by the interface fields, resolved once the root types were built
+     */
+    public int getResolvedPlaceholders() {
+        return resolvedPlaceholders;
+    }
+
+    public long getIntrospectionTime(TimeUnit timeUnit) {
+        return timeUnit.convert(introspectionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "IntrospectionStats{" +
+                "introspectedClasses=" + introspectedClasses +
+                ", resolvedPlaceholders=" + resolvedPlaceholders +
+                ", introspectionMillis=" + getIntrospectionTime(TimeUnit.MILLISECONDS) +
+                '}';
+    }
+}
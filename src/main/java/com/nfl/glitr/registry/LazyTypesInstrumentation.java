@@ -0,0 +1,74 @@
+package com.nfl.glitr.registry;
+
+import com.nfl.glitr.Glitr;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Materializes the stubs a query references, in lazy mode, before graphql-java validates it, see
+ * {@link Glitr#ensureMaterialized(Document)}. To be registered as both the instrumentation and the preparsed document
+ * provider of the {@link graphql.GraphQL} instance:
+ * the query is parsed once when the schema is instrumented, the schema it is executed against being the one with
+ * its stubs materialized, and the parsed document is then handed over to graphql-java, validated against that schema.
+ */
+public class LazyTypesInstrumentation extends SimpleInstrumentation implements PreparsedDocumentProvider {
+
+    private final Glitr glitr;
+    private final Map<ExecutionInput, Pair<Document, GraphQLSchema>> parsedQueries = Collections.synchronizedMap(new IdentityHashMap<>());
+
+
+    public LazyTypesInstrumentation(Glitr glitr) {
+        this.glitr = glitr;
+    }
+
+    @Override
+    public GraphQLSchema instrumentSchema(GraphQLSchema schema, InstrumentationExecutionParameters parameters) {
+        Document document;
+        try {
+            document = new Parser().parseDocument(parameters.getQuery());
+        } catch (InvalidSyntaxException e) {
+            // left to graphql-java to report
+            return glitr.getSchema();
+        }
+
+        GraphQLSchema materializedSchema = glitr.ensureMaterialized(document);
+        parsedQueries.put(parameters.getExecutionInput(), Pair.of(document, materializedSchema));
+        return materializedSchema;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        Pair<Document, GraphQLSchema> parsedQuery = parsedQueries.remove(executionInput);
+        if (parsedQuery == null) {
+            return parseAndValidateFunction.apply(executionInput);
+        }
+
+        List<ValidationError> errors = new Validator().validateDocument(parsedQuery.getRight(), parsedQuery.getLeft());
+        return errors.isEmpty() ? new PreparsedDocumentEntry(parsedQuery.getLeft()) : new PreparsedDocumentEntry(errors);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+        // the execution may have been aborted before the document was handed over
+        parsedQueries.remove(parameters.getExecutionInput());
+        return super.instrumentExecutionResult(executionResult, parameters);
+    }
+}
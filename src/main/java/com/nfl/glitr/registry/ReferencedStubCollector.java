@@ -0,0 +1,100 @@
+package com.nfl.glitr.registry;
+
+import graphql.language.*;
+import graphql.schema.*;
+
+import java.util.*;
+
+/**
+ * Collects the stub types a query references, through its fields or the type conditions of its fragments, see
+ * {@link TypeRegistry#materialize(Set)}
+ */
+public class ReferencedStubCollector {
+
+    private final GraphQLSchema schema;
+    private final TypeRegistry typeRegistry;
+    private final Map<String, FragmentDefinition> fragments = new HashMap<>();
+    private final Set<String> visitedFragments = new HashSet<>();
+    private final Set<String> stubs = new TreeSet<>();
+
+
+    private ReferencedStubCollector(GraphQLSchema schema, TypeRegistry typeRegistry) {
+        this.schema = schema;
+        this.typeRegistry = typeRegistry;
+    }
+
+    /**
+     * @param schema schema the query is executed against
+     * @param typeRegistry registry holding the stubs
+     * @param document parsed query
+     * @return names of the stubs referenced by the query
+     */
+    public static Set<String> collect(GraphQLSchema schema, TypeRegistry typeRegistry, Document document) {
+        ReferencedStubCollector collector = new ReferencedStubCollector(schema, typeRegistry);
+        document.getDefinitionsOfType(FragmentDefinition.class).forEach(fragment -> collector.fragments.put(fragment.getName(), fragment));
+
+        for (OperationDefinition operation : document.getDefinitionsOfType(OperationDefinition.class)) {
+            GraphQLObjectType rootType;
+            if (operation.getOperation() == OperationDefinition.Operation.MUTATION) {
+                rootType = schema.getMutationType();
+            } else if (operation.getOperation() == OperationDefinition.Operation.SUBSCRIPTION) {
+                rootType = schema.getSubscriptionType();
+            } else {
+                rootType = schema.getQueryType();
+            }
+            if (rootType != null) {
+                collector.visit(operation.getSelectionSet(), rootType);
+            }
+        }
+        return collector.stubs;
+    }
+
+    private void visit(SelectionSet selectionSet, GraphQLType parentType) {
+        if (selectionSet == null) {
+            return;
+        }
+
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                visitField((Field) selection, parentType);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                visitFragment(inlineFragment.getTypeCondition(), inlineFragment.getSelectionSet(), parentType);
+            } else if (selection instanceof FragmentSpread) {
+                FragmentDefinition fragment = fragments.get(((FragmentSpread) selection).getName());
+                if (fragment != null && visitedFragments.add(fragment.getName())) {
+                    visitFragment(fragment.getTypeCondition(), fragment.getSelectionSet(), parentType);
+                }
+            }
+        }
+    }
+
+    private void visitField(Field field, GraphQLType parentType) {
+        if (!(parentType instanceof GraphQLFieldsContainer) || field.getName().startsWith("__")) {
+            return;
+        }
+
+        GraphQLFieldDefinition fieldDefinition = ((GraphQLFieldsContainer) parentType).getFieldDefinition(field.getName());
+        if (fieldDefinition == null) {
+            return;
+        }
+
+        GraphQLType fieldType = GraphQLTypeUtil.unwrapAll(fieldDefinition.getType());
+        if (typeRegistry.isStub(fieldType.getName())) {
+            stubs.add(fieldType.getName());
+        } else {
+            visit(field.getSelectionSet(), fieldType);
+        }
+    }
+
+    private void visitFragment(TypeName typeCondition, SelectionSet selectionSet, GraphQLType parentType) {
+        if (typeCondition == null) {
+            visit(selectionSet, parentType);
+        } else if (typeRegistry.isStub(typeCondition.getName())) {
+            stubs.add(typeCondition.getName());
+        } else {
+            GraphQLType type = schema.getType(typeCondition.getName());
+            visit(selectionSet, type != null ? type : parentType);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.nfl.glitr.registry;
+
+import com.nfl.glitr.util.ReflectionUtil;
+import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Walks the class graph reachable from a class on a fork/join pool, introspecting each class concurrently so that the
+ * (sequential) schema assembly done by {@link TypeRegistry#lookup(Class)} finds the reflective metadata already
+ * computed. Failures are ignored here, the classes concerned are introspected again, and fail, during assembly.
+ */
+class ReflectiveMetadataPrefetchTask extends RecursiveAction {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReflectiveMetadataPrefetchTask.class);
+
+    private final Class clazz;
+    private final Function<Class, Map<String, Pair<Method, Class>>> methodMapProvider;
+    private final Map<Class, List<Object>> overrides;
+    private final Set<Class> visited;
+
+
+    ReflectiveMetadataPrefetchTask(Class clazz, Function<Class, Map<String, Pair<Method, Class>>> methodMapProvider,
+                                   Map<Class, List<Object>> overrides, Set<Class> visited) {
+        this.clazz = clazz;
+        this.methodMapProvider = methodMapProvider;
+        this.overrides = overrides;
+        this.visited = visited;
+    }
+
+    @Override
+    protected void compute() {
+        List<Method> methods = new ArrayList<>();
+        try {
+            methodMapProvider.apply(clazz).values().forEach(pair -> methods.add(pair.getLeft()));
+            for (Object override : overrides.getOrDefault(clazz, Collections.emptyList())) {
+                for (Method method : override.getClass().getMethods()) {
+                    if (ReflectionUtil.eligibleMethod(method)) {
+                        methods.add(method);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Unable to prefetch the reflective metadata of {}", clazz, e);
+            return;
+        }
+
+        Set<Class> referencedClasses = new LinkedHashSet<>();
+        for (Method method : methods) {
+            // parse and cache the annotations of the getter and of its backing field
+            ReflectionUtil.getClassMetadata(clazz).getMergedAnnotations(method);
+
+            referencedClasses.add(method.getReturnType());
+            addTypeArguments(method.getGenericReturnType(), referencedClasses);
+        }
+        referencedClasses.addAll(Arrays.asList(clazz.getInterfaces()));
+        if (clazz.getSuperclass() != null) {
+            referencedClasses.add(clazz.getSuperclass());
+        }
+
+        List<ReflectiveMetadataPrefetchTask> tasks = new ArrayList<>();
+        for (Class referencedClass : referencedClasses) {
+            if (isIntrospectable(referencedClass) && visited.add(referencedClass)) {
+                tasks.add(new ReflectiveMetadataPrefetchTask(referencedClass, methodMapProvider, overrides, visited));
+            }
+        }
+        invokeAll(tasks);
+    }
+
+    static void addTypeArguments(Type type, Set<Class> classes) {
+        if (!(type instanceof ParameterizedType)) {
+            return;
+        }
+        for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+            if (typeArgument instanceof Class) {
+                classes.add((Class) typeArgument);
+            } else {
+                addTypeArguments(typeArgument, classes);
+            }
+        }
+    }
+
+    /**
+     * @return true if the class may become an object, interface or input type of the schema
+     */
+    static boolean isIntrospectable(Class clazz) {
+        return !clazz.isPrimitive()
+                && !clazz.isArray()
+                && !clazz.isEnum()
+                && !clazz.isAnnotation()
+                && clazz != Object.class
+                && !clazz.getName().startsWith("java.")
+                && !clazz.getName().startsWith("javax.");
+    }
+}
@@ -1,23 +1,42 @@
 package com.nfl.glitr.registry;
 
+import com.google.common.cache.CacheStats;
 import com.googlecode.gentyref.GenericTypeReflector;
 import com.nfl.glitr.annotation.GlitrArgument;
 import com.nfl.glitr.annotation.GlitrDeprecated;
 import com.nfl.glitr.annotation.GlitrDescription;
+import com.nfl.glitr.annotation.GlitrForwardPagingArguments;
 import com.nfl.glitr.annotation.GlitrQueryComplexity;
 import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.annotation.GlitrBlocking;
+import com.nfl.glitr.registry.annotation.GlitrCache;
+import com.nfl.glitr.registry.annotation.GlitrMemoize;
 import com.nfl.glitr.registry.datafetcher.AnnotationBasedDataFetcherFactory;
+import com.nfl.glitr.registry.datafetcher.instrumentation.FetcherInstrumentation;
+import com.nfl.glitr.registry.datafetcher.instrumentation.FetcherKind;
+import com.nfl.glitr.registry.datafetcher.query.CachingDataFetcher;
+import com.nfl.glitr.registry.datafetcher.query.ConcurrencyLimitedExecutor;
+import com.nfl.glitr.registry.datafetcher.query.ExecutorDataFetcher;
+import com.nfl.glitr.registry.datafetcher.query.MemoizingDataFetcher;
 import com.nfl.glitr.registry.datafetcher.query.OverrideDataFetcher;
+import com.nfl.glitr.registry.datafetcher.query.PageSizeLimitingDataFetcher;
 import com.nfl.glitr.registry.datafetcher.query.batched.CompositeDataFetcherFactory;
+import com.nfl.glitr.registry.profiler.BuildProfiler;
 import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
 import com.nfl.glitr.registry.schema.GlitrMetaDefinition;
 import com.nfl.glitr.registry.type.*;
 import com.nfl.glitr.relay.Node;
+import com.nfl.glitr.relay.PageInfoWithTotal;
+import com.nfl.glitr.relay.PageSizeLimit;
 import com.nfl.glitr.relay.Relay;
+import com.nfl.glitr.relay.TotalDataFetcher;
+import com.nfl.glitr.util.ClassMetadata;
 import com.nfl.glitr.util.ReflectionUtil;
 import graphql.TypeResolutionEnvironment;
 import graphql.schema.*;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.functions.Func4;
@@ -25,8 +44,10 @@ import rx.functions.Func5;
 
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.time.Instant;
@@ -34,10 +55,16 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_FORMULA_KEY;
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_IGNORE_KEY;
+import static com.nfl.glitr.util.NodeUtil.MAX_PAGE_SIZE_KEY;
 import static graphql.Scalars.*;
 import static graphql.schema.FieldCoordinates.coordinates;
 import static graphql.schema.GraphQLArgument.newArgument;
@@ -63,11 +90,33 @@ public class TypeRegistry implements TypeResolver {
     private final Map<Class<? extends Annotation>, AnnotationBasedDataFetcherFactory> annotationToDataFetcherFactoryMap;
     private final Map<Class<? extends Annotation>, DataFetcher> annotationToDataFetcherMap;
     private final Map<Class, GraphQLType> javaTypeDeclaredAsScalarMap;
+    private final Map<String, Class> schemaOptions;
+    private final Executor blockingExecutor;
+    private final Set<Class> blockingClasses;
+    private final Map<String, CachingDataFetcher> cachingDataFetchers = new ConcurrentHashMap<>();
+    private final Map<String, Triple<Class, Class, Method>> fieldWirings = new ConcurrentHashMap<>();
+    private final Set<GraphQLType> snapshotTypes = ConcurrentHashMap.newKeySet();
+    private final Map<Class, GraphQLObjectType> snapshotMutationTypes = new ConcurrentHashMap<>();
+    private final Queue<Class> pendingTypes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger introspectedClasses = new AtomicInteger();
+    private final AtomicInteger resolvedPlaceholders = new AtomicInteger();
+    private final AtomicLong introspectionNanos = new AtomicLong();
+    private final Map<String, Class> stubs = new ConcurrentHashMap<>();
+    private final Map<Class, Class> resolvedClasses = new ConcurrentHashMap<>();
+    private final Set<Class> materializedClasses = ConcurrentHashMap.newKeySet();
+    private final Map<Class, Integer> rootDistances = new ConcurrentHashMap<>();
 
     private GraphQLInterfaceType nodeInterface;
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
     private Relay relay;
     private boolean explicitRelayNodeScanEnabled;
+    private boolean explicitOverrideFallbackEnabled;
+    private FetcherInstrumentation fetcherInstrumentation;
+    private ForkJoinPool introspectionPool;
+    private final Map<String, Set<String>> indexedEligibleMethodNames = new HashMap<>();
+    private final Integer lazyDepth;
+    private final Set<String> lazyPackages;
+    private final PageSizeLimit pageSizeLimit;
 
     private GraphQLCodeRegistry.Builder codeRegistryBuilder = newCodeRegistry();
 
@@ -82,12 +131,23 @@ public class TypeRegistry implements TypeResolver {
     TypeRegistry(Map<Class, List<Object>> overrides, Map<Class<? extends Annotation>, AnnotationBasedDataFetcherFactory> annotationToDataFetcherFactoryMap, Map<Class<? extends Annotation>,
             DataFetcher> annotationToDataFetcherMap, Map<Class<? extends Annotation>, Func4<Field, Method, Class, Annotation, List<GraphQLArgument>>> annotationToArgumentsProviderMap,
                  Map<Class<? extends Annotation>, Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType>> annotationToGraphQLOutputTypeMap,
-                 Map<Class, GraphQLType> javaTypeDeclaredAsScalarMap, Relay relay, boolean explicitRelayNodeScanEnabled) {
+                 Map<Class, GraphQLType> javaTypeDeclaredAsScalarMap, Relay relay, boolean explicitRelayNodeScanEnabled,
+                 @Nullable Executor blockingExecutor, Set<Class> blockingClasses, boolean explicitOverrideFallbackEnabled,
+                 @Nullable FetcherInstrumentation fetcherInstrumentation, @Nullable ForkJoinPool introspectionPool,
+                 List<GlitrSchemaIndex> schemaIndexes, @Nullable Integer lazyDepth, Set<String> lazyPackages,
+                 @Nullable BuildProfiler buildProfiler, @Nullable PageSizeLimit pageSizeLimit) {
         this.overrides = overrides;
         this.annotationToDataFetcherFactoryMap = annotationToDataFetcherFactoryMap;
         this.annotationToDataFetcherMap = annotationToDataFetcherMap;
-        this.annotationToArgumentsProviderMap = annotationToArgumentsProviderMap;
-        this.annotationToGraphQLOutputTypeMap = annotationToGraphQLOutputTypeMap;
+        this.schemaOptions = describeSchemaOptions(annotationToArgumentsProviderMap, annotationToGraphQLOutputTypeMap, javaTypeDeclaredAsScalarMap, relay);
+        if (buildProfiler != null) {
+            this.annotationToArgumentsProviderMap = profileArgumentsProviders(annotationToArgumentsProviderMap, buildProfiler);
+            this.annotationToGraphQLOutputTypeMap = profileOutputTypeProviders(annotationToGraphQLOutputTypeMap, buildProfiler);
+            this.graphQLTypeFactory.withProfiler(buildProfiler);
+        } else {
+            this.annotationToArgumentsProviderMap = annotationToArgumentsProviderMap;
+            this.annotationToGraphQLOutputTypeMap = annotationToGraphQLOutputTypeMap;
+        }
         this.javaTypeDeclaredAsScalarMap = javaTypeDeclaredAsScalarMap;
         this.relay = relay;
         if (relay != null) {
@@ -95,8 +155,19 @@ public class TypeRegistry implements TypeResolver {
             // register Node so we don't inadvertently recreate it later
             this.registry.put(Node.class, this.nodeInterface);
             this.nameRegistry.put(Node.class.getSimpleName(), this.nodeInterface);
+            // registered up front so schemas restored from a snapshot don't block on the total either
+            this.codeRegistryBuilder.dataFetcher(coordinates(PageInfoWithTotal.class.getSimpleName(), "total"), new TotalDataFetcher());
         }
         this.explicitRelayNodeScanEnabled = explicitRelayNodeScanEnabled;
+        this.blockingExecutor = blockingExecutor;
+        this.blockingClasses = blockingClasses;
+        this.explicitOverrideFallbackEnabled = explicitOverrideFallbackEnabled;
+        this.fetcherInstrumentation = fetcherInstrumentation;
+        this.introspectionPool = introspectionPool;
+        schemaIndexes.forEach(schemaIndex -> indexedEligibleMethodNames.putAll(schemaIndex.getEligibleMethodNames()));
+        this.lazyDepth = lazyDepth;
+        this.lazyPackages = lazyPackages;
+        this.pageSizeLimit = pageSizeLimit;
     }
 
     /**
@@ -106,7 +177,9 @@ public class TypeRegistry implements TypeResolver {
      * @return set of {@link GraphQLType} to be passed to {@link GraphQLSchema}
      */
     public Set<GraphQLType> getTypeDictionary() {
-        return new HashSet<>(registry.values());
+        Set<GraphQLType> typeDictionary = new HashSet<>(registry.values());
+        typeDictionary.addAll(snapshotTypes);
+        return typeDictionary;
     }
 
     @Nullable
@@ -116,7 +189,50 @@ public class TypeRegistry implements TypeResolver {
 
     @Override
     public GraphQLObjectType getType(TypeResolutionEnvironment env) {
-        return (GraphQLObjectType)registry.get(env.getObject().getClass());
+        GraphQLObjectType type = resolveObjectType(env.getObject().getClass());
+        if (type == null || env.getSchema() == null) {
+            return type;
+        }
+        // resolve against the schema being executed, which may predate an incremental reload of the type
+        GraphQLObjectType schemaType = env.getSchema().getObjectType(type.getName());
+        return schemaType != null ? schemaType : type;
+    }
+
+    /**
+     * Find the object type of the given runtime class, or else of its nearest superclass or interface having one, so
+     * that proxies and undeclared subclasses resolve to the type of the class they stand for. The class found is
+     * cached per runtime class until the registry changes, classes without any object type aren't cached.
+     *
+     * @param runtimeClass class of the object to resolve
+     * @return the object type, null if neither the class nor its ancestors have one
+     */
+    @Nullable
+    public GraphQLObjectType resolveObjectType(Class runtimeClass) {
+        Class registeredClass = resolvedClasses.get(runtimeClass);
+        if (registeredClass == null) {
+            registeredClass = findRegisteredObjectClass(runtimeClass);
+            if (registeredClass == null) {
+                return null;
+            }
+            resolvedClasses.put(runtimeClass, registeredClass);
+        }
+
+        GraphQLType type = registry.get(registeredClass);
+        return type instanceof GraphQLObjectType ? (GraphQLObjectType) type : null;
+    }
+
+    private Class findRegisteredObjectClass(Class runtimeClass) {
+        for (Class clazz = runtimeClass; clazz != null; clazz = clazz.getSuperclass()) {
+            if (registry.get(clazz) instanceof GraphQLObjectType) {
+                return clazz;
+            }
+        }
+        for (Class interfaceClass : ClassUtils.getAllInterfaces(runtimeClass)) {
+            if (registry.get(interfaceClass) instanceof GraphQLObjectType) {
+                return interfaceClass;
+            }
+        }
+        return null;
     }
 
     public Map<Class, GraphQLType> getRegistry() {
@@ -127,6 +243,70 @@ public class TypeRegistry implements TypeResolver {
         return explicitRelayNodeScanEnabled;
     }
 
+    public boolean isExplicitOverrideFallbackEnabled() {
+        return explicitOverrideFallbackEnabled;
+    }
+
+    @Nullable
+    public FetcherInstrumentation getFetcherInstrumentation() {
+        return fetcherInstrumentation;
+    }
+
+    @Nullable
+    public ForkJoinPool getIntrospectionPool() {
+        return introspectionPool;
+    }
+
+    private static Map<String, Class> describeSchemaOptions(Map<Class<? extends Annotation>, Func4<Field, Method, Class, Annotation, List<GraphQLArgument>>> argumentsProviders,
+                                                            Map<Class<? extends Annotation>, Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType>> outputTypeProviders,
+                                                            Map<Class, GraphQLType> javaTypeDeclaredAsScalarMap, @Nullable Relay relay) {
+        Map<String, Class> options = new TreeMap<>();
+        argumentsProviders.forEach((annotationClass, provider) -> describeSchemaOption(options, "arguments @" + annotationClass.getName(), provider));
+        outputTypeProviders.forEach((annotationClass, provider) -> describeSchemaOption(options, "output type @" + annotationClass.getName(), provider));
+        javaTypeDeclaredAsScalarMap.forEach((clazz, type) -> describeSchemaOption(options, "scalar " + clazz.getName() + " " + type.getName(),
+                type instanceof GraphQLScalarType ? ((GraphQLScalarType) type).getCoercing() : type));
+        if (relay != null) {
+            describeSchemaOption(options, "relay", relay);
+        }
+        return options;
+    }
+
+    private static void describeSchemaOption(Map<String, Class> options, String option, Object implementation) {
+        Class clazz = implementation.getClass();
+        // lambda class names change from one run to the next, their bodies belong to the class declaring them anyway
+        String description = option + " " + (clazz.isSynthetic() ? "lambda" : clazz.getName());
+        try {
+            if (clazz.getMethod("toString").getDeclaringClass() != Object.class) {
+                description += " " + implementation;
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        options.put(description, clazz);
+    }
+
+    private static Map<Class<? extends Annotation>, Func4<Field, Method, Class, Annotation, List<GraphQLArgument>>> profileArgumentsProviders(
+            Map<Class<? extends Annotation>, Func4<Field, Method, Class, Annotation, List<GraphQLArgument>>> providers, BuildProfiler buildProfiler) {
+        Map<Class<? extends Annotation>, Func4<Field, Method, Class, Annotation, List<GraphQLArgument>>> profiledProviders = new HashMap<>();
+        providers.forEach((annotationClass, provider) -> {
+            String name = "@" + annotationClass.getSimpleName() + " arguments " + provider.getClass().getSimpleName();
+            profiledProviders.put(annotationClass, (field, method, declaringClass, annotation) ->
+                    buildProfiler.profile(BuildProfiler.Kind.PROVIDER, name, () -> provider.call(field, method, declaringClass, annotation)));
+        });
+        return profiledProviders;
+    }
+
+    private static Map<Class<? extends Annotation>, Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType>> profileOutputTypeProviders(
+            Map<Class<? extends Annotation>, Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType>> providers, BuildProfiler buildProfiler) {
+        Map<Class<? extends Annotation>, Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType>> profiledProviders = new HashMap<>();
+        providers.forEach((annotationClass, provider) -> {
+            String name = "@" + annotationClass.getSimpleName() + " output type " + provider.getClass().getSimpleName();
+            profiledProviders.put(annotationClass, (typeRegistry, field, method, declaringClass, annotation) ->
+                    buildProfiler.profile(BuildProfiler.Kind.PROVIDER, name, () -> provider.call(typeRegistry, field, method, declaringClass, annotation)));
+        });
+        return profiledProviders;
+    }
+
     /**
      * Root class should be passed here so the graph can be inspected in its entirety
      *
@@ -134,17 +314,30 @@ public class TypeRegistry implements TypeResolver {
      * @return GraphQLType
      */
     public GraphQLType lookup(Class clazz) {
+        long start = System.nanoTime();
+
+        // introspect the class graph concurrently, the assembly below stays sequential so the output is deterministic
+        if (introspectionPool != null && !registry.containsKey(clazz)) {
+            introspectionPool.invoke(new ReflectiveMetadataPrefetchTask(clazz, this::getEligibleMethods, overrides, ConcurrentHashMap.newKeySet()));
+        }
+
         // do a first pass lookup
+        indexRootDistances(clazz);
         lookupOutput(clazz);
-        // go over all the types in the type map and do another pass to resolve the GraphQL type references
-        // remove the type reference to be replaced by the resolved GraphQLType and lookup again
-        registry.entrySet().stream()
-                .filter(graphQLTypeEntry -> graphQLTypeEntry.getValue() instanceof GraphQLTypeReference)
-                .forEach(graphQLTypeEntry -> {
-                    registry.remove(graphQLTypeEntry.getKey());
-                    lookupOutput(graphQLTypeEntry.getKey());
-                });
+        // then resolve the type references left by the interface fields, in the order they were found, each one
+        // exactly once, resolving one may defer others
+        Class pendingType;
+        while ((pendingType = pendingTypes.poll()) != null) {
+            if (registry.get(pendingType) instanceof GraphQLTypeReference) {
+                registry.remove(pendingType);
+                indexRootDistances(pendingType);
+                lookupOutput(pendingType);
+                resolvedPlaceholders.incrementAndGet();
+            }
+        }
 
+        introspectionNanos.addAndGet(System.nanoTime() - start);
+        logger.debug("Introspection of {}: {}", clazz.getSimpleName(), getIntrospectionStats());
         return registry.get(clazz);
     }
 
@@ -162,15 +355,21 @@ public class TypeRegistry implements TypeResolver {
             return nameRegistry.get(clazz.getSimpleName());
         }
 
+        if (isLazy(clazz)) {
+            return createStub(clazz);
+        }
+
         // put a type reference in while building the type to work around circular references
         registry.put(clazz, new GraphQLTypeReference(clazz.getSimpleName()));
         nameRegistry.put(clazz.getSimpleName(), new GraphQLTypeReference(clazz.getSimpleName()));
 
         GraphQLOutputType type = graphQLTypeFactory.createGraphQLOutputType(clazz);
+        introspectedClasses.incrementAndGet();
 
         if (type != null) {
             registry.put(clazz, type);
             nameRegistry.put(clazz.getSimpleName(), type);
+            resolvedClasses.clear();
         } else {
             throw new IllegalArgumentException("Unable to create GraphQLOutputType for: " + clazz.getCanonicalName());
         }
@@ -178,6 +377,129 @@ public class TypeRegistry implements TypeResolver {
         return type;
     }
 
+    /**
+     * In lazy mode, plain classes found below the configured depth or in the configured packages are only registered
+     * as stubs. Classes implementing an interface, extending an abstract class or relay nodes are always introspected
+     * since the schema wouldn't be valid with a stub in their place.
+     */
+    private boolean isLazy(Class clazz) {
+        if (!isLazyModeEnabled() || materializedClasses.contains(clazz)) {
+            return false;
+        }
+
+        Integer distance = rootDistances.get(clazz);
+        if (distance != null && distance == 0) {
+            return false;
+        }
+        boolean lazy = (lazyDepth != null && (distance == null || distance > lazyDepth))
+                || lazyPackages.stream().anyMatch(lazyPackage -> clazz.getName().startsWith(lazyPackage + "."));
+        if (!lazy || GraphQLTypeFactory.getJavaTypeFromClass(clazz) != JavaType.CLASS || clazz.getInterfaces().length > 0) {
+            return false;
+        }
+        for (Class superclass = clazz.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+            if (Modifier.isAbstract(superclass.getModifiers())) {
+                return false;
+            }
+        }
+        return nodeInterface == null || getEligibleMethods(clazz).keySet().stream().noneMatch(name -> name.equals("getId"));
+    }
+
+    private boolean isLazyModeEnabled() {
+        return lazyDepth != null || !lazyPackages.isEmpty();
+    }
+
+    /**
+     * Record the distance of the classes reachable from the given root, through the return types of the getters
+     * (overrides included) and their type arguments, up to the lazy depth. The distance of a class is the shortest
+     * one found from any root, so it doesn't depend on the order the classes are introspected in.
+     */
+    private void indexRootDistances(Class root) {
+        if (!isLazyModeEnabled()) {
+            return;
+        }
+
+        int maxDistance = lazyDepth != null ? lazyDepth : 0;
+        Map<Class, Integer> distances = new HashMap<>();
+        Deque<Class> toVisit = new ArrayDeque<>();
+        distances.put(root, 0);
+        toVisit.add(root);
+        while (!toVisit.isEmpty()) {
+            Class clazz = toVisit.poll();
+            int distance = distances.get(clazz);
+            if (distance >= maxDistance) {
+                continue;
+            }
+            for (Class referencedClass : getReferencedClasses(clazz)) {
+                if (ReflectiveMetadataPrefetchTask.isIntrospectable(referencedClass) && !distances.containsKey(referencedClass)) {
+                    distances.put(referencedClass, distance + 1);
+                    toVisit.add(referencedClass);
+                }
+            }
+        }
+        distances.forEach((clazz, distance) -> rootDistances.merge(clazz, distance, Math::min));
+    }
+
+    private Set<Class> getReferencedClasses(Class clazz) {
+        List<Method> methods = new ArrayList<>();
+        getEligibleMethods(clazz).values().forEach(pair -> methods.add(pair.getLeft()));
+        for (Object override : overrides.getOrDefault(clazz, Collections.emptyList())) {
+            for (Method method : override.getClass().getMethods()) {
+                if (ReflectionUtil.eligibleMethod(method)) {
+                    methods.add(method);
+                }
+            }
+        }
+
+        Set<Class> referencedClasses = new LinkedHashSet<>();
+        for (Method method : methods) {
+            referencedClasses.add(method.getReturnType());
+            ReflectiveMetadataPrefetchTask.addTypeArguments(method.getGenericReturnType(), referencedClasses);
+        }
+        return referencedClasses;
+    }
+
+    private GraphQLObjectType createStub(Class clazz) {
+        codeRegistryBuilder.dataFetcher(coordinates(clazz.getSimpleName(), UNUSED_FIELDS_DEAD_OBJECT), DataFetcherFactories.useDataFetcher(env -> false));
+        GraphQLObjectType stub = newObject()
+                .name(clazz.getSimpleName())
+                .description(ReflectionUtil.getDescriptionFromAnnotatedElement(clazz))
+                .field(newFieldDefinition().name(UNUSED_FIELDS_DEAD_OBJECT).type(GraphQLBoolean))
+                .build();
+
+        registry.put(clazz, stub);
+        nameRegistry.put(clazz.getSimpleName(), stub);
+        resolvedClasses.clear();
+        stubs.put(clazz.getSimpleName(), clazz);
+        return stub;
+    }
+
+    /**
+     * @param typeName GraphQL type name
+     * @return true if the type is only registered as a stub so far, see {@link #materialize(Set)}
+     */
+    public boolean isStub(String typeName) {
+        return stubs.containsKey(typeName);
+    }
+
+    /**
+     * Turn the given stubs into fully introspected types, their own lazy dependencies becoming stubs in turn. The
+     * stubs and the types referencing them are dropped, the schema needs to be rebuilt for them to be introspected.
+     *
+     * @param typeNames names of the stubs to materialize
+     * @return names of the dropped types
+     */
+    public Set<String> materialize(Set<String> typeNames) {
+        Set<Class> classes = new HashSet<>();
+        for (String typeName : typeNames) {
+            Class clazz = stubs.remove(typeName);
+            if (clazz != null) {
+                classes.add(clazz);
+            }
+        }
+        materializedClasses.addAll(classes);
+        return invalidate(classes);
+    }
+
     /**
      * Check if the given class is found in the registry, if not, first create it ({@link GraphQLInputType}), then add it
      * to the registry
@@ -193,6 +515,7 @@ public class TypeRegistry implements TypeResolver {
         }
 
         GraphQLInputType type = graphQLTypeFactory.createGraphQLInputType(clazz);
+        introspectedClasses.incrementAndGet();
 
         if (type != null) {
             registry.put(clazz, type);
@@ -204,8 +527,32 @@ public class TypeRegistry implements TypeResolver {
         return type;
     }
 
+    /**
+     * Same as {@link ReflectionUtil#getMethodMap(Class)}, the eligible methods are cached along with the
+     * {@link ClassMetadata} of the class, ahead of time when parallel introspection is enabled. They
+     * are taken from the {@link GlitrSchemaIndex} when the class is indexed by one of the {@link GlitrSchemaIndex}es
+     *
+     * @param clazz to inspect
+     * @return a mutable copy of the method map
+     */
+    public Map<String, Pair<Method, Class>> getMethodMap(Class clazz) {
+        return new TreeMap<>(getEligibleMethods(clazz));
+    }
+
+    private Map<String, Pair<Method, Class>> getEligibleMethods(Class clazz) {
+        Set<String> eligibleMethodNames = indexedEligibleMethodNames.get(clazz.getName());
+        ClassMetadata classMetadata = ReflectionUtil.getClassMetadata(clazz);
+        return eligibleMethodNames != null ? classMetadata.getEligibleMethods(eligibleMethodNames) : classMetadata.getEligibleMethods();
+    }
+
     public GraphQLObjectType createRelayMutationType(Class clazz) {
-        Map<String, Pair<Method, Class>> methods = ReflectionUtil.getMethodMap(clazz);
+        if (snapshotMutationTypes.containsKey(clazz)) {
+            return snapshotMutationTypes.get(clazz);
+        }
+        indexRootDistances(clazz);
+
+        long start = System.nanoTime();
+        Map<String, Pair<Method, Class>> methods = getMethodMap(clazz);
         addExtraMethodsToTheSchema(clazz, methods);
 
         List<GraphQLFieldDefinition> fields = methods.values().stream()
@@ -223,6 +570,8 @@ public class TypeRegistry implements TypeResolver {
                 .description(ReflectionUtil.getDescriptionFromAnnotatedElement(clazz))
                 .fields(fields);
 
+        introspectedClasses.incrementAndGet();
+        introspectionNanos.addAndGet(System.nanoTime() - start);
         return builder.build();
     }
 
@@ -233,8 +582,7 @@ public class TypeRegistry implements TypeResolver {
 
         // DataFetcher
         Class declaringClass = pair.getRight();
-        List<DataFetcher> fetchers = retrieveDataFetchers(clazz, declaringClass, method);
-        DataFetcher dataFetcher = createDataFetchersFromDataFetcherList(fetchers, declaringClass, name);
+        DataFetcher dataFetcher = createDataFetcher(clazz, declaringClass, method);
 
         String description = ReflectionUtil.getDescriptionFromAnnotatedElement(method);
         if (description != null && description.equals(GlitrDescription.DEFAULT_DESCRIPTION)) {
@@ -248,6 +596,11 @@ public class TypeRegistry implements TypeResolver {
             metaDefinitions.add(new GlitrMetaDefinition(COMPLEXITY_IGNORE_KEY, queryComplexity.ignore()));
         });
 
+        int maxPageSize = getMaxPageSize(clazz, declaringClass, method);
+        if (maxPageSize != PageSizeLimit.UNLIMITED) {
+            metaDefinitions.add(new GlitrMetaDefinition(MAX_PAGE_SIZE_KEY, maxPageSize));
+        }
+
         Optional<GlitrDeprecated> glitrDeprecated = ReflectionUtil.getAnnotationOfMethodOrField(clazz, method, GlitrDeprecated.class);
 
         codeRegistryBuilder.dataFetcher(coordinates(clazz.getSimpleName(), name), dataFetcher);
@@ -263,6 +616,132 @@ public class TypeRegistry implements TypeResolver {
                 .build();
     }
 
+    /**
+     * Create the {@link DataFetcher} registered in the code registry for the given field, that is the composition of
+     * all the fetchers retrieved by {@link #retrieveDataFetchers(Class, Class, Method)} plus any decoration that
+     * applies to the field (e.g: offloading blocking fields onto the blocking executor, cross request caching,
+     * per request memoization, instrumentation)
+     *
+     * @param clazz inspected class
+     * @param declaringClass class declaring the getter, can be an override class
+     * @param method getter
+     * @return {@link DataFetcher} for the field
+     */
+    public DataFetcher createDataFetcher(Class clazz, Class declaringClass, Method method) {
+        String name = ReflectionUtil.sanitizeMethodName(method.getName());
+        String coordinate = clazz.getSimpleName() + "." + name;
+        fieldWirings.put(coordinate, Triple.of(clazz, declaringClass, method));
+        List<DataFetcher> fetchers = retrieveDataFetchers(clazz, declaringClass, method);
+        List<AnnotatedElement> annotatedElements = getFieldAnnotatedElements(clazz, declaringClass, fetchers);
+
+        DataFetcher dataFetcher;
+        if (fetcherInstrumentation != null) {
+            List<DataFetcher> instrumentedFetchers = CompositeDataFetcherFactory.filter(fetchers).stream()
+                    .map(f -> fetcherInstrumentation.instrument(f, coordinate))
+                    .collect(Collectors.toList());
+            dataFetcher = createDataFetchersFromDataFetcherList(instrumentedFetchers, declaringClass, name);
+        } else {
+            dataFetcher = createDataFetchersFromDataFetcherList(fetchers, declaringClass, name);
+        }
+
+        if (blockingExecutor != null) {
+            Optional<Integer> maxConcurrency = getBlockingMaxConcurrency(declaringClass, method, annotatedElements);
+            if (maxConcurrency.isPresent()) {
+                Executor executor = maxConcurrency.get() > 0 ? new ConcurrencyLimitedExecutor(blockingExecutor, maxConcurrency.get()) : blockingExecutor;
+                dataFetcher = new ExecutorDataFetcher(dataFetcher, executor);
+            }
+        }
+
+        Optional<GlitrCache> glitrCache = getFieldAnnotation(declaringClass, method, annotatedElements, GlitrCache.class);
+        if (glitrCache.isPresent()) {
+            GlitrCache cache = glitrCache.get();
+            CachingDataFetcher cachingDataFetcher = new CachingDataFetcher(dataFetcher, coordinate, cache.ttl(), cache.timeUnit(), cache.maxEntries());
+            cachingDataFetchers.put(cachingDataFetcher.getCoordinate(), cachingDataFetcher);
+            dataFetcher = cachingDataFetcher;
+        }
+
+        if (getFieldAnnotation(declaringClass, method, annotatedElements, GlitrMemoize.class).isPresent()) {
+            dataFetcher = new MemoizingDataFetcher(dataFetcher, coordinate);
+        }
+
+        int maxPageSize = getMaxPageSize(clazz, declaringClass, method);
+        if (maxPageSize != PageSizeLimit.UNLIMITED) {
+            dataFetcher = new PageSizeLimitingDataFetcher(dataFetcher, coordinate, maxPageSize, pageSizeLimit.isRejecting());
+        }
+
+        if (fetcherInstrumentation != null) {
+            dataFetcher = fetcherInstrumentation.instrument(dataFetcher, coordinate, FetcherKind.FIELD);
+        }
+
+        return dataFetcher;
+    }
+
+    /**
+     * @param clazz inspected class
+     * @param declaringClass class declaring the getter, can be an override class
+     * @param method getter
+     * @return the maximum page size of the field if it's a connection field with one, {@link PageSizeLimit#UNLIMITED}
+     * otherwise
+     */
+    public int getMaxPageSize(Class clazz, Class declaringClass, Method method) {
+        if (pageSizeLimit == null || pageSizeLimit.isEmpty()
+                || !ReflectionUtil.getAnnotationOfMethodOrField(declaringClass, method, GlitrForwardPagingArguments.class).isPresent()) {
+            return PageSizeLimit.UNLIMITED;
+        }
+        return pageSizeLimit.getMaxPageSize(clazz.getSimpleName() + "." + ReflectionUtil.sanitizeMethodName(method.getName()));
+    }
+
+    /**
+     * @return the override methods backing the field and their declaring classes, followed by the inspected class and
+     * the class declaring the getter, i.e: the elements a field level annotation can be put on besides the getter itself
+     */
+    private List<AnnotatedElement> getFieldAnnotatedElements(Class clazz, Class declaringClass, List<DataFetcher> fetchers) {
+        List<AnnotatedElement> annotatedElements = new ArrayList<>();
+        for (DataFetcher fetcher : fetchers) {
+            if (fetcher instanceof OverrideDataFetcher && ((OverrideDataFetcher) fetcher).getOverrideMethod() != null) {
+                Method overrideMethod = ((OverrideDataFetcher) fetcher).getOverrideMethod();
+                annotatedElements.add(overrideMethod);
+                annotatedElements.add(overrideMethod.getDeclaringClass());
+            }
+        }
+        annotatedElements.add(clazz);
+        annotatedElements.add(declaringClass);
+        return annotatedElements;
+    }
+
+    /**
+     * Look for the given annotation on the getter, the field of same name and then on the other annotated elements
+     * of the field
+     *
+     * @return the first annotation found, empty otherwise
+     */
+    private <A extends Annotation> Optional<A> getFieldAnnotation(Class declaringClass, Method method, List<AnnotatedElement> annotatedElements, Class<A> annotationClass) {
+        Optional<A> annotation = ReflectionUtil.getAnnotationOfMethodOrField(declaringClass, method, annotationClass);
+        if (annotation.isPresent()) {
+            return annotation;
+        }
+
+        return annotatedElements.stream()
+                .map(annotatedElement -> annotatedElement.getAnnotation(annotationClass))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    /**
+     * Look for {@link GlitrBlocking} on the field, or for any of the classes involved having been registered as blocking.
+     *
+     * @return the max concurrency allowed for the field if it is blocking, empty otherwise
+     */
+    private Optional<Integer> getBlockingMaxConcurrency(Class declaringClass, Method method, List<AnnotatedElement> annotatedElements) {
+        Optional<GlitrBlocking> glitrBlocking = getFieldAnnotation(declaringClass, method, annotatedElements, GlitrBlocking.class);
+        if (glitrBlocking.isPresent()) {
+            return Optional.of(glitrBlocking.get().maxConcurrency());
+        }
+
+        boolean blockingClass = annotatedElements.stream().anyMatch(blockingClasses::contains);
+        return blockingClass ? Optional.of(GlitrBlocking.UNBOUNDED) : Optional.empty();
+    }
+
     public static DataFetcher createDataFetchersFromDataFetcherList(List<DataFetcher> fetchers, Class declaringClass, String name) {
         try {
             return CompositeDataFetcherFactory.create(fetchers);
@@ -332,12 +811,12 @@ public class TypeRegistry implements TypeResolver {
         // override fetchers
         if (overrides.containsKey(clazz)) {
             fetchers.addAll(overrides.get(clazz).stream()
-                    .map(override -> new OverrideDataFetcher(name, override))
+                    .map(override -> new OverrideDataFetcher(name, override, explicitOverrideFallbackEnabled))
                     .collect(Collectors.toList()));
         }
 
         // we add a default OverrideDataFetcher for override getters in the actual class itself
-        fetchers.add(new OverrideDataFetcher(name, clazz));
+        fetchers.add(new OverrideDataFetcher(name, clazz, explicitOverrideFallbackEnabled));
 
         DataFetcher annotationDataFetcher = getAnnotationDataFetcherFromMethodOrField(declaringClass, method, name);
         if (annotationDataFetcher != null) {
@@ -498,11 +977,9 @@ public class TypeRegistry implements TypeResolver {
             // is this an optional field
             boolean nullable = ReflectionUtil.isAnnotatedElementNullable(method);
             if (nullable) { // check the field too
-                try {
-                    Field field = declaringClass.getDeclaredField(name);
+                Field field = ReflectionUtil.getClassMetadata(declaringClass).getDeclaredField(name);
+                if (field != null) {
                     nullable = ReflectionUtil.isAnnotatedElementNullable(field);
-                } catch (NoSuchFieldException e) {
-                    // do nothing
                 }
             }
 
@@ -592,7 +1069,11 @@ public class TypeRegistry implements TypeResolver {
             }
             return createListOutputTypeFromArrayType(type, fromInterface);
         } else if (fromInterface) { // to avoid circular references we will process the Interface field type later
-            return new GraphQLTypeReference(((Class) type).getSimpleName());
+            GraphQLTypeReference typeReference = new GraphQLTypeReference(((Class) type).getSimpleName());
+            if (registry.putIfAbsent((Class) type, typeReference) == null) {
+                pendingTypes.add((Class) type);
+            }
+            return typeReference;
         }
         return lookupOutput((Class) type);
     }
@@ -678,6 +1159,165 @@ public class TypeRegistry implements TypeResolver {
         return nameRegistry;
     }
 
+    /**
+     * @return statistics (hit ratio, load time, evictions...) of the {@link GlitrCache} cached fields, by field coordinate
+     */
+    public Map<String, CacheStats> getFieldCacheStats() {
+        return cachingDataFetchers.values().stream()
+                .collect(Collectors.toMap(CachingDataFetcher::getCoordinate, CachingDataFetcher::getStats));
+    }
+
+    /**
+     * @return the inspected class, declaring class and getter backing each field whose data fetcher was created by
+     * {@link #createDataFetcher(Class, Class, Method)}, by field coordinate (e.g: {@code Video.title})
+     */
+    public Map<String, Triple<Class, Class, Method>> getFieldWirings() {
+        return fieldWirings;
+    }
+
+    public Map<Class, List<Object>> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * @return the builder options shaping the schema, i.e. argument and output type providers, custom scalars and
+     * relay, by description, with the class implementing each option
+     */
+    public Map<String, Class> getSchemaOptions() {
+        return schemaOptions;
+    }
+
+    /**
+     * @return the scalars this registry can map Java types to, by name
+     */
+    public Map<String, GraphQLScalarType> getKnownScalars() {
+        Map<String, GraphQLScalarType> scalars = new HashMap<>();
+        Arrays.asList(GraphQLInt, GraphQLLong, GraphQLShort, GraphQLByte, GraphQLFloat, GraphQLBigInteger, GraphQLBigDecimal,
+                GraphQLString, GraphQLBoolean, GraphQLID, GraphQLChar, Scalars.GraphQLDate, Scalars.GraphQLDateTime, Scalars.GraphQLMap)
+                .forEach(scalar -> scalars.put(scalar.getName(), scalar));
+        javaTypeDeclaredAsScalarMap.values().stream()
+                .filter(type -> type instanceof GraphQLScalarType)
+                .forEach(type -> scalars.put(type.getName(), (GraphQLScalarType) type));
+        return scalars;
+    }
+
+    /**
+     * Register a type restored from a {@link com.nfl.glitr.registry.snapshot.SchemaSnapshot}
+     *
+     * @param clazz class backing the type, null for types without one (e.g: relay connections)
+     * @param type restored type
+     */
+    public void registerSnapshotType(@Nullable Class clazz, GraphQLType type) {
+        if (clazz != null) {
+            registry.put(clazz, type);
+            resolvedClasses.clear();
+        }
+        nameRegistry.put(type.getName(), type);
+        snapshotTypes.add(type);
+    }
+
+    /**
+     * Register a relay mutation type restored from a {@link com.nfl.glitr.registry.snapshot.SchemaSnapshot}, it is
+     * then returned by {@link #createRelayMutationType(Class)} instead of being introspected
+     */
+    public void registerSnapshotMutationType(Class clazz, GraphQLObjectType type) {
+        snapshotMutationTypes.put(clazz, type);
+        snapshotTypes.add(type);
+    }
+
+    /**
+     * Replace the override objects of the given class, the affected types still need to be rebuilt, see
+     * {@link #invalidate(Set)}
+     *
+     * @param clazz class whose fields are overridden
+     * @param overrideObjects new override objects, empty to remove them all
+     */
+    public void replaceOverrides(Class clazz, List<Object> overrideObjects) {
+        if (overrideObjects.isEmpty()) {
+            overrides.remove(clazz);
+        } else {
+            overrides.put(clazz, new ArrayList<>(overrideObjects));
+        }
+    }
+
+    /**
+     * Drop the types of the given classes and of every type referencing them, directly or transitively, so that the
+     * next lookup rebuilds them. All the other types, and their data fetchers, are kept as is.
+     *
+     * @param changedClasses classes whose type must be rebuilt
+     * @return names of the dropped types
+     */
+    public Set<String> invalidate(Set<Class> changedClasses) {
+        Set<GraphQLType> types = new HashSet<>(registry.values());
+        types.addAll(nameRegistry.values());
+        types.addAll(snapshotTypes);
+
+        // reverse dependencies: type name -> names of the types holding a reference to it
+        Map<String, Set<String>> dependents = new HashMap<>();
+        Set<String> visited = new HashSet<>();
+        Deque<GraphQLType> toVisit = new ArrayDeque<>(types);
+        while (!toVisit.isEmpty()) {
+            GraphQLType type = toVisit.poll();
+            if (type instanceof GraphQLTypeReference || !visited.add(type.getName())) {
+                continue;
+            }
+            for (GraphQLType referencedType : getReferencedTypes(type)) {
+                GraphQLType unwrappedType = GraphQLTypeUtil.unwrapAll(referencedType);
+                dependents.computeIfAbsent(unwrappedType.getName(), name -> new HashSet<>()).add(type.getName());
+                toVisit.add(unwrappedType);
+            }
+        }
+
+        Set<String> invalidated = new HashSet<>();
+        Deque<String> toInvalidate = new ArrayDeque<>();
+        for (Class clazz : changedClasses) {
+            GraphQLType type = registry.get(clazz);
+            toInvalidate.add(type != null ? type.getName() : clazz.getSimpleName());
+        }
+        while (!toInvalidate.isEmpty()) {
+            String name = toInvalidate.poll();
+            if (invalidated.add(name)) {
+                toInvalidate.addAll(dependents.getOrDefault(name, Collections.emptySet()));
+            }
+        }
+
+        // Node is created once along with the type registry, it isn't introspected
+        if (nodeInterface != null) {
+            invalidated.remove(nodeInterface.getName());
+        }
+        registry.values().removeIf(type -> invalidated.contains(type.getName()));
+        resolvedClasses.clear();
+        nameRegistry.values().removeIf(type -> invalidated.contains(type.getName()));
+        snapshotTypes.removeIf(type -> invalidated.contains(type.getName()));
+        snapshotMutationTypes.values().removeIf(type -> invalidated.contains(type.getName()));
+        logger.debug("Invalidated types {}", invalidated);
+        return invalidated;
+    }
+
+    private List<GraphQLType> getReferencedTypes(GraphQLType type) {
+        List<GraphQLType> referencedTypes = new ArrayList<>();
+        if (type instanceof GraphQLObjectType) {
+            referencedTypes.addAll(((GraphQLObjectType) type).getInterfaces());
+        }
+        if (type instanceof GraphQLFieldsContainer) {
+            for (GraphQLFieldDefinition field : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                referencedTypes.add(field.getType());
+                field.getArguments().forEach(argument -> referencedTypes.add(argument.getType()));
+            }
+        }
+        if (type instanceof GraphQLInputObjectType) {
+            ((GraphQLInputObjectType) type).getFieldDefinitions().forEach(field -> referencedTypes.add(field.getType()));
+        }
+        return referencedTypes;
+    }
+
+    /**
+     * @return the number of classes introspected so far and the time spent doing so
+     */
+    public IntrospectionStats getIntrospectionStats() {
+        return new IntrospectionStats(introspectedClasses.get(), resolvedPlaceholders.get(), introspectionNanos.get());
+    }
+
     public GraphQLCodeRegistry.Builder getCodeRegistryBuilder() {
         return codeRegistryBuilder;
     }
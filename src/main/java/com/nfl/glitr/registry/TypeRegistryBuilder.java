@@ -1,6 +1,9 @@
 package com.nfl.glitr.registry;
 
 import com.nfl.glitr.registry.datafetcher.AnnotationBasedDataFetcherFactory;
+import com.nfl.glitr.registry.datafetcher.instrumentation.FetcherInstrumentation;
+import com.nfl.glitr.registry.profiler.BuildProfiler;
+import com.nfl.glitr.relay.PageSizeLimit;
 import com.nfl.glitr.relay.Relay;
 import com.nfl.glitr.relay.RelayConfig;
 import graphql.schema.DataFetcher;
@@ -13,10 +16,9 @@ import rx.functions.Func5;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 public class TypeRegistryBuilder {
 
@@ -26,6 +28,16 @@ public class TypeRegistryBuilder {
     private Map<Class<? extends Annotation>, AnnotationBasedDataFetcherFactory> annotationToDataFetcherFactoryMap = new HashMap<>();
     private Map<Class<? extends Annotation>, DataFetcher> annotationToDataFetcherMap = new HashMap<>();
     private Map<Class, GraphQLType> javaTypeDeclaredAsScalarMap = new HashMap<>();
+    private Executor blockingExecutor = null;
+    private Set<Class> blockingClasses = new HashSet<>();
+    private boolean explicitOverrideFallbackEnabled = false;
+    private FetcherInstrumentation fetcherInstrumentation = null;
+    private ForkJoinPool introspectionPool = null;
+    private List<GlitrSchemaIndex> schemaIndexes = new ArrayList<>();
+    private Integer lazyDepth = null;
+    private Set<String> lazyPackages = new HashSet<>();
+    private BuildProfiler buildProfiler = null;
+    private PageSizeLimit pageSizeLimit = null;
 
 
     private Relay relay = null;
@@ -91,11 +103,78 @@ public class TypeRegistryBuilder {
         return this;
     }
 
+    public TypeRegistryBuilder withBlockingExecutor(Executor blockingExecutor) {
+        this.blockingExecutor = blockingExecutor;
+        return this;
+    }
+
+    public TypeRegistryBuilder withBlockingClasses(Set<Class> blockingClasses) {
+        this.blockingClasses = blockingClasses;
+        return this;
+    }
+
+    public TypeRegistryBuilder addBlockingClass(Class clazz) {
+        blockingClasses.add(clazz);
+        return this;
+    }
+
+    public TypeRegistryBuilder withExplicitOverrideFallback(boolean explicitOverrideFallbackEnabled) {
+        this.explicitOverrideFallbackEnabled = explicitOverrideFallbackEnabled;
+        return this;
+    }
+
+    public TypeRegistryBuilder withFetcherInstrumentation(FetcherInstrumentation fetcherInstrumentation) {
+        this.fetcherInstrumentation = fetcherInstrumentation;
+        return this;
+    }
+
+    public TypeRegistryBuilder withParallelIntrospection(ForkJoinPool introspectionPool) {
+        this.introspectionPool = introspectionPool;
+        return this;
+    }
+
+    public TypeRegistryBuilder withSchemaIndexes(List<GlitrSchemaIndex> schemaIndexes) {
+        this.schemaIndexes = schemaIndexes;
+        return this;
+    }
+
+    public TypeRegistryBuilder addSchemaIndex(GlitrSchemaIndex schemaIndex) {
+        schemaIndexes.add(schemaIndex);
+        return this;
+    }
+
+    public TypeRegistryBuilder withLazyDepth(Integer lazyDepth) {
+        this.lazyDepth = lazyDepth;
+        return this;
+    }
+
+    public TypeRegistryBuilder withLazyPackages(Set<String> lazyPackages) {
+        this.lazyPackages = lazyPackages;
+        return this;
+    }
+
+    public TypeRegistryBuilder addLazyPackage(String lazyPackage) {
+        lazyPackages.add(lazyPackage);
+        return this;
+    }
+
+    public TypeRegistryBuilder withBuildProfiler(BuildProfiler buildProfiler) {
+        this.buildProfiler = buildProfiler;
+        return this;
+    }
+
+    public TypeRegistryBuilder withPageSizeLimit(PageSizeLimit pageSizeLimit) {
+        this.pageSizeLimit = pageSizeLimit;
+        return this;
+    }
+
     public static TypeRegistryBuilder newTypeRegistry() {
         return new TypeRegistryBuilder();
     }
 
     public TypeRegistry build() {
-        return new TypeRegistry(overrides, annotationToDataFetcherFactoryMap, annotationToDataFetcherMap, annotationToArgumentsProviderMap, annotationToGraphQLOutputTypeMap, javaTypeDeclaredAsScalarMap, relay, explicitRelayNodeScanEnabled);
+        return new TypeRegistry(overrides, annotationToDataFetcherFactoryMap, annotationToDataFetcherMap, annotationToArgumentsProviderMap, annotationToGraphQLOutputTypeMap, javaTypeDeclaredAsScalarMap, relay, explicitRelayNodeScanEnabled,
+                blockingExecutor, blockingClasses, explicitOverrideFallbackEnabled, fetcherInstrumentation,
+                introspectionPool, schemaIndexes, lazyDepth, lazyPackages, buildProfiler, pageSizeLimit);
     }
 }
\ No newline at end of file
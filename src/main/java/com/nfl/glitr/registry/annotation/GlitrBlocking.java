@@ -0,0 +1,24 @@
+package com.nfl.glitr.registry.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field (getter, field or override method) or a whole class as performing blocking work.
+ * When a blocking executor has been registered with {@link com.nfl.glitr.GlitrBuilder#withBlockingExecutor}, the
+ * field's data fetcher is run on that executor and a {@link java.util.concurrent.CompletableFuture} is handed back to
+ * graphql-java instead of the resolved value.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.TYPE})
+public @interface GlitrBlocking {
+
+    int UNBOUNDED = 0;
+
+    /**
+     * @return maximum number of concurrent executions allowed for the annotated field, {@link #UNBOUNDED} by default
+     */
+    int maxConcurrency() default UNBOUNDED;
+}
@@ -0,0 +1,30 @@
+package com.nfl.glitr.registry.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of a field (getter, field or override method) across requests.
+ * The cache key is derived from the source object, by identity, and the field arguments, so it is meant for fields
+ * whose result is the same for all the users and whose parent outlives the request, e.g: root query fields such as
+ * schedules or standings.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD})
+public @interface GlitrCache {
+
+    /**
+     * @return time to live of a cached result, counted from the time it was computed
+     */
+    long ttl();
+
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * @return maximum number of distinct source and argument combinations kept in the cache
+     */
+    long maxEntries() default 1000;
+}
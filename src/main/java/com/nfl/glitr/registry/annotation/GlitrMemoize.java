@@ -0,0 +1,17 @@
+package com.nfl.glitr.registry.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field (getter, field or override method) or a whole class as safe to memoize for the duration of a request.
+ * Repeated selections of the field with the same source and arguments (e.g: aliases, or the same object reached along
+ * several paths) are then resolved once, as long as a {@link com.nfl.glitr.registry.datafetcher.query.FieldResultMemo}
+ * is attached to the execution context.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.TYPE})
+public @interface GlitrMemoize {
+}
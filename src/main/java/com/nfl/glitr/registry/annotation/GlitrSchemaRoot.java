@@ -0,0 +1,16 @@
+package com.nfl.glitr.registry.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a schema root class (query, mutation or subscription root) for the
+ * {@link com.nfl.glitr.processor.GlitrSchemaIndexProcessor}, which generates at compile time a
+ * {@link com.nfl.glitr.registry.GlitrSchemaIndex} of the classes reachable from it.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GlitrSchemaRoot {
+}
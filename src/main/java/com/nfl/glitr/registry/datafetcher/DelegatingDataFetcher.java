@@ -0,0 +1,22 @@
+package com.nfl.glitr.registry.datafetcher;
+
+import graphql.schema.DataFetcher;
+
+/**
+ * A {@link DataFetcher} decorating another one, e.g: to offload it onto an executor, cache or instrument it.
+ */
+public interface DelegatingDataFetcher<T> extends DataFetcher<T> {
+
+    DataFetcher getDelegate();
+
+    /**
+     * @param dataFetcher data fetcher, possibly decorated
+     * @return the innermost data fetcher that isn't a decoration
+     */
+    static DataFetcher unwrap(DataFetcher dataFetcher) {
+        while (dataFetcher instanceof DelegatingDataFetcher) {
+            dataFetcher = ((DelegatingDataFetcher) dataFetcher).getDelegate();
+        }
+        return dataFetcher;
+    }
+}
@@ -0,0 +1,71 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation;
+
+import com.nfl.glitr.registry.datafetcher.query.OverrideDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.PropertyDataFetcher;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of the {@link FetcherMetrics} of the instrumented data fetchers.
+ * Instrumentation is opt-in: once registered with {@link com.nfl.glitr.GlitrBuilder#withFetcherInstrumentation},
+ * each Glitr generated data fetcher is wrapped in an {@link InstrumentedDataFetcher}, otherwise nothing is wrapped.
+ * Metrics are pulled with {@link #snapshot()} or logged periodically by a {@link Slf4jFetcherMetricsReporter}.
+ */
+public class FetcherInstrumentation {
+
+    private final Map<String, FetcherMetrics> metrics = new ConcurrentHashMap<>();
+
+
+    /**
+     * @param coordinate schema coordinate of the field, e.g: {@code Video.title}
+     * @param kind kind of data fetcher
+     * @return the metrics of the given data fetcher, created on first access
+     */
+    public FetcherMetrics metricsFor(String coordinate, FetcherKind kind) {
+        return metrics.computeIfAbsent(coordinate + ":" + kind, key -> new FetcherMetrics(coordinate, kind));
+    }
+
+    /**
+     * @param dataFetcher data fetcher to instrument
+     * @param coordinate schema coordinate of the field
+     * @param kind kind of data fetcher
+     * @return the instrumented data fetcher
+     */
+    public DataFetcher instrument(DataFetcher dataFetcher, String coordinate, FetcherKind kind) {
+        return new InstrumentedDataFetcher(dataFetcher, metricsFor(coordinate, kind));
+    }
+
+    /**
+     * Instrument one of the data fetchers making up a field, its kind being inferred from its type
+     */
+    public DataFetcher instrument(DataFetcher dataFetcher, String coordinate) {
+        FetcherKind kind;
+        if (dataFetcher instanceof OverrideDataFetcher) {
+            kind = FetcherKind.OVERRIDE;
+        } else if (dataFetcher instanceof PropertyDataFetcher) {
+            kind = FetcherKind.PROPERTY;
+        } else {
+            kind = FetcherKind.ANNOTATION;
+        }
+        return instrument(dataFetcher, coordinate, kind);
+    }
+
+    /**
+     * @return a copy of the current metrics, slowest (by mean latency) first
+     */
+    public List<FetcherMetrics.Snapshot> snapshot() {
+        return metrics.values().stream()
+                .map(FetcherMetrics::snapshot)
+                .sorted(Comparator.comparingLong((FetcherMetrics.Snapshot s) -> s.getLatencies().getMeanNanos()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        metrics.clear();
+    }
+}
@@ -0,0 +1,27 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation;
+
+/**
+ * Kind of data fetcher instrumented for a given field
+ */
+public enum FetcherKind {
+
+    /**
+     * {@link com.nfl.glitr.registry.datafetcher.query.OverrideDataFetcher}
+     */
+    OVERRIDE,
+
+    /**
+     * data fetcher registered for an annotation present on the getter or field
+     */
+    ANNOTATION,
+
+    /**
+     * default {@link graphql.schema.PropertyDataFetcher}
+     */
+    PROPERTY,
+
+    /**
+     * the field as a whole, i.e: the data fetcher registered in the code registry
+     */
+    FIELD
+}
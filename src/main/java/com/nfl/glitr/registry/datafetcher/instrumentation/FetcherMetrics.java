@@ -0,0 +1,87 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and error count of a data fetcher, identified by the schema coordinate of its field and its kind
+ */
+public class FetcherMetrics {
+
+    private final String coordinate;
+    private final FetcherKind kind;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+
+    public FetcherMetrics(String coordinate, FetcherKind kind) {
+        this.coordinate = coordinate;
+        this.kind = kind;
+    }
+
+    public void recordSuccess(long nanos) {
+        latencies.record(nanos);
+    }
+
+    public void recordError(long nanos) {
+        latencies.record(nanos);
+        errors.increment();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(coordinate, kind, latencies.snapshot(), errors.sum());
+    }
+
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    public FetcherKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Point in time copy of a {@link FetcherMetrics}
+     */
+    public static class Snapshot {
+
+        private final String coordinate;
+        private final FetcherKind kind;
+        private final LatencyHistogram.Snapshot latencies;
+        private final long errors;
+
+
+        Snapshot(String coordinate, FetcherKind kind, LatencyHistogram.Snapshot latencies, long errors) {
+            this.coordinate = coordinate;
+            this.kind = kind;
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        public String getCoordinate() {
+            return coordinate;
+        }
+
+        public FetcherKind getKind() {
+            return kind;
+        }
+
+        public LatencyHistogram.Snapshot getLatencies() {
+            return latencies;
+        }
+
+        public long getCount() {
+            return latencies.getCount();
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s[%s] count=%d errors=%d mean=%dus p50=%dus p99=%dus max=%dus", coordinate, kind,
+                    getCount(), errors, latencies.getMeanNanos() / 1000, latencies.getPercentileNanos(50) / 1000,
+                    latencies.getPercentileNanos(99) / 1000, latencies.getMaxNanos() / 1000);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation;
+
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The {@code InstrumentedDataFetcher} records the latency and errors of the wrapped data fetcher into its
+ * {@link FetcherMetrics}. Asynchronous results are timed until they complete.
+ */
+public class InstrumentedDataFetcher implements DelegatingDataFetcher<Object> {
+
+    private final DataFetcher delegate;
+    private final FetcherMetrics metrics;
+
+
+    public InstrumentedDataFetcher(DataFetcher delegate, FetcherMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = delegate.get(environment);
+        } catch (Exception | Error e) {
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+
+        if (result instanceof CompletionStage) {
+            ((CompletionStage<?>) result).whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    metrics.recordError(System.nanoTime() - start);
+                } else {
+                    metrics.recordSuccess(System.nanoTime() - start);
+                }
+            });
+        } else {
+            metrics.recordSuccess(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    @Override
+    public DataFetcher getDelegate() {
+        return delegate;
+    }
+
+    public FetcherMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,61 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically logs the metrics of a {@link FetcherInstrumentation} at info level, slowest fetchers first
+ */
+public class Slf4jFetcherMetricsReporter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(Slf4jFetcherMetricsReporter.class);
+
+    private final FetcherInstrumentation instrumentation;
+    private final int limit;
+    private final ScheduledExecutorService scheduler;
+
+
+    /**
+     * @param instrumentation instrumentation to report on
+     * @param limit maximum number of fetchers logged per report
+     */
+    public Slf4jFetcherMetricsReporter(FetcherInstrumentation instrumentation, int limit) {
+        this.instrumentation = instrumentation;
+        this.limit = limit;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "glitr-fetcher-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Slf4jFetcherMetricsReporter start(long period, TimeUnit unit) {
+        scheduler.scheduleAtFixedRate(this::report, period, period, unit);
+        return this;
+    }
+
+    public void report() {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+
+        List<FetcherMetrics.Snapshot> snapshots = instrumentation.snapshot();
+        StringBuilder report = new StringBuilder("Glitr data fetcher metrics:");
+        snapshots.stream()
+                .filter(snapshot -> snapshot.getCount() > 0)
+                .limit(limit)
+                .forEach(snapshot -> report.append("\n  ").append(snapshot));
+        logger.info(report.toString());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package com.nfl.glitr.registry.datafetcher.query;
 
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
 import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 
@@ -11,14 +12,22 @@ import java.util.List;
  *      1. One or more data fetchers to serve as backup. (e.g: if this element isn't there try this other data fetcher that fetches from another source)
  *      2. It also allows the system to be more lenient if multiple ways of fetching have been defined but only one was intended
  *          (e.g: {@code @Relationship} is present on a getter method but the developer might want to override this fetcher without having to remove the annotation)
+ * A data fetcher passes on to the next one by returning null, or {@link OverrideDataFetcher#NOT_HANDLED}.
  */
 public abstract class AbstractCompositeDataFetcher implements DataFetcher {
 
     protected DataFetcher[] fetchers;
+    private final boolean[] finalOnNull;
 
 
     public AbstractCompositeDataFetcher(DataFetcher[] fetchers) {
         this.fetchers = fetchers;
+        this.finalOnNull = new boolean[fetchers.length];
+        for (int i = 0; i < fetchers.length; i++) {
+            DataFetcher fetcher = DelegatingDataFetcher.unwrap(fetchers[i]);
+            // with explicit fallback, an override returning null is final
+            finalOnNull[i] = fetcher instanceof OverrideDataFetcher && ((OverrideDataFetcher) fetcher).isExplicitFallback();
+        }
     }
 
     public AbstractCompositeDataFetcher(List<DataFetcher> fetchers) {
@@ -27,9 +36,12 @@ public abstract class AbstractCompositeDataFetcher implements DataFetcher {
 
     @Override
     public Object get(DataFetchingEnvironment environment) throws Exception {
-        for (DataFetcher fetcher : fetchers) {
-            Object result = fetcher.get(environment);
-            if (result != null) {
+        for (int i = 0; i < fetchers.length; i++) {
+            Object result = fetchers[i].get(environment);
+            if (result == OverrideDataFetcher.NOT_HANDLED) {
+                continue;
+            }
+            if (result != null || finalOnNull[i]) {
                 return result;
             }
         }
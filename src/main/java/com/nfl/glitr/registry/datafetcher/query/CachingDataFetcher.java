@@ -0,0 +1,151 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code CachingDataFetcher} shares the results of a field across requests for a bounded amount of time.
+ * Results are cached per source object, by identity, and field arguments, so that the parents of a nested field don't
+ * share its results. A pending result is cached as soon as the delegate is called, so a burst of
+ * identical misses results in a single call to the delegate. The ttl is counted from the time the result completed,
+ * so a slow delegate doesn't eat into it. Failed results are not cached.
+ */
+public class CachingDataFetcher implements DelegatingDataFetcher<CompletableFuture<Object>> {
+
+    private final DataFetcher delegate;
+    private final String coordinate;
+    private final long ttlNanos;
+    private final Cache<Key, Entry> cache;
+
+
+    public CachingDataFetcher(DataFetcher delegate, String coordinate, long ttl, TimeUnit timeUnit, long maxEntries) {
+        this.delegate = delegate;
+        this.coordinate = coordinate;
+        this.ttlNanos = timeUnit.toNanos(ttl);
+        // entries expire on lookup, see Entry, since the cache's own expiry would start while the result is pending
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Object> get(DataFetchingEnvironment environment) throws Exception {
+        Key key = new Key(environment.getSource(), new HashMap<>(environment.getArguments()));
+        Entry stale = cache.asMap().get(key);
+        if (stale != null && stale.isExpired(ttlNanos)) {
+            cache.asMap().remove(key, stale);
+        }
+
+        Entry entry;
+        boolean[] loaded = new boolean[1];
+        try {
+            // the loader runs at most once per key at a time, concurrent callers wait for it and share its result
+            entry = cache.get(key, () -> {
+                loaded[0] = true;
+                Object value = delegate.get(environment);
+                if (value instanceof CompletionStage) {
+                    return new Entry(((CompletionStage<Object>) value).toCompletableFuture());
+                }
+                return new Entry(CompletableFuture.completedFuture(value));
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+
+        Entry cached = entry;
+        if (loaded[0]) {
+            cached.future.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    cache.asMap().remove(key, cached);
+                } else {
+                    cached.completedAt = System.nanoTime();
+                }
+            });
+        }
+        return cached.future;
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public DataFetcher getDelegate() {
+        return delegate;
+    }
+
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+
+    private static final class Entry {
+
+        private final CompletableFuture<Object> future;
+        private volatile Long completedAt;
+
+
+        Entry(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+
+        boolean isExpired(long ttlNanos) {
+            Long completed = completedAt;
+            return completed != null && System.nanoTime() - completed >= ttlNanos;
+        }
+    }
+
+    private static final class Key {
+
+        private final Object source;
+        private final Map<String, Object> arguments;
+
+
+        Key(Object source, Map<String, Object> arguments) {
+            this.source = source;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return source == key.source && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(source) + arguments.hashCode();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link Executor} that forwards at most {@code maxConcurrency} tasks at a time to the underlying executor.
+ * Extra tasks are queued without blocking the submitting thread and handed over as running tasks complete, which
+ * makes it safe to use on top of an executor that spawns a thread per task (e.g: virtual threads).
+ * <p>
+ * When the underlying executor rejects a task while other tasks are running, the task stays queued and is handed over
+ * again once one of them completes. When nothing is running, nothing would hand it over, so the task is failed instead:
+ * a {@link RejectableTask} is notified, the rejection of a plain task is thrown to the caller of
+ * {@link #execute(Runnable)} if it's the task being submitted, and the task is dropped otherwise.
+ */
+public class ConcurrencyLimitedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Deque<Runnable> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+
+
+    public ConcurrencyLimitedExecutor(Executor delegate, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0, was " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        pending.add(command);
+        RejectedExecutionException rejection = drain(command);
+        if (rejection != null) {
+            throw rejection;
+        }
+    }
+
+    /**
+     * Hand pending tasks over to the delegate while under the concurrency limit
+     *
+     * @param submitted task being submitted by the caller, null when draining from a completed task
+     * @return the rejection of the submitted task, if it's a plain task failed by the delegate
+     */
+    private RejectedExecutionException drain(Runnable submitted) {
+        RejectedExecutionException submittedRejection = null;
+        while (!pending.isEmpty()) {
+            int running = active.get();
+            if (running >= maxConcurrency) {
+                // a running task will pick up the pending ones when it completes
+                break;
+            }
+            if (!active.compareAndSet(running, running + 1)) {
+                continue;
+            }
+
+            Runnable next = pending.poll();
+            if (next == null) {
+                active.decrementAndGet();
+                continue;
+            }
+
+            try {
+                delegate.execute(() -> {
+                    try {
+                        next.run();
+                    } finally {
+                        active.decrementAndGet();
+                        drain(null);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // retried by a running task once it completes, if there is any
+                pending.addFirst(next);
+                if (active.decrementAndGet() > 0) {
+                    break;
+                }
+
+                // unless another thread handed it over meanwhile, fail it and go on with the rest of the queue
+                if (pending.removeFirstOccurrence(next)) {
+                    if (next instanceof RejectableTask) {
+                        ((RejectableTask) next).onRejected(e);
+                    } else if (next == submitted) {
+                        submittedRejection = e;
+                    }
+                }
+            }
+        }
+        return submittedRejection;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+
+    /**
+     * A task to be notified when it can't be handed over to the underlying executor
+     */
+    public interface RejectableTask extends Runnable {
+
+        /**
+         * @param e rejection of the underlying executor
+         */
+        void onRejected(RejectedExecutionException e);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The {@code ExecutorDataFetcher} offloads the wrapped data fetcher onto the given {@link Executor} and returns a
+ * {@link CompletableFuture} so graphql-java can resolve sibling fields while the blocking call is in flight.
+ */
+public class ExecutorDataFetcher implements DelegatingDataFetcher<CompletableFuture<Object>> {
+
+    private final DataFetcher delegate;
+    private final Executor executor;
+
+
+    public ExecutorDataFetcher(DataFetcher delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Object> get(DataFetchingEnvironment environment) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            executor.execute(new ConcurrencyLimitedExecutor.RejectableTask() {
+                @Override
+                public void run() {
+                    ExecutorDataFetcher.this.run(environment, future);
+                }
+
+                @Override
+                public void onRejected(RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void run(DataFetchingEnvironment environment, CompletableFuture<Object> future) {
+        try {
+            Object result = delegate.get(environment);
+            // the delegate might already be asynchronous, in which case we just wait for it to complete
+            if (result instanceof CompletionStage) {
+                ((CompletionStage<Object>) result).whenComplete((value, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(throwable);
+                    } else {
+                        future.complete(value);
+                    }
+                });
+            } else {
+                future.complete(result);
+            }
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public DataFetcher getDelegate() {
+        return delegate;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Request scoped store of the field results computed by {@link MemoizingDataFetcher}.
+ * A new instance should be created for each request and handed to graphql-java as the execution context, either
+ * directly or through a context object implementing {@link Provider}, e.g:
+ *
+ * <pre>
+ *     ExecutionInput.newExecutionInput()
+ *             .query(query)
+ *             .context(new FieldResultMemo())
+ *             .build();
+ * </pre>
+ *
+ * The memoized results are discarded along with the context once the request completes.
+ */
+public class FieldResultMemo {
+
+    private final Map<Object, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+
+
+    /**
+     * Implemented by custom execution contexts that want to carry a {@link FieldResultMemo}
+     */
+    public interface Provider {
+        FieldResultMemo getFieldResultMemo();
+    }
+
+    /**
+     * @param environment data fetching environment
+     * @return the {@link FieldResultMemo} attached to the execution context, null if none
+     */
+    public static FieldResultMemo from(DataFetchingEnvironment environment) {
+        Object context = environment.getContext();
+        if (context instanceof FieldResultMemo) {
+            return (FieldResultMemo) context;
+        }
+        if (context instanceof Provider) {
+            return ((Provider) context).getFieldResultMemo();
+        }
+        return null;
+    }
+
+    /**
+     * Return the result memoized for the given key, or compute it. Concurrent callers with the same key share the
+     * same pending result so the computation happens only once per request.
+     *
+     * @param key memoization key
+     * @param computation computes the result, called at most once per key
+     * @return the (possibly pending) result
+     */
+    public CompletableFuture<Object> computeIfAbsent(Object key, Supplier<CompletableFuture<Object>> computation) {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> existing = results.putIfAbsent(key, pending);
+        if (existing != null) {
+            return existing;
+        }
+
+        // computed outside of the map so that nested fetchers can use the memo as well
+        computation.get().whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                pending.completeExceptionally(throwable);
+            } else {
+                pending.complete(value);
+            }
+        });
+        return pending;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public void clear() {
+        results.clear();
+    }
+}
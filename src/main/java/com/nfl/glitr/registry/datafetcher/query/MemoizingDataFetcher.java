@@ -0,0 +1,92 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The {@code MemoizingDataFetcher} resolves a field once per (source identity, field coordinate, arguments) within a
+ * request, using the {@link FieldResultMemo} attached to the execution context.
+ * When no memo is attached, it simply delegates to the wrapped data fetcher.
+ */
+public class MemoizingDataFetcher implements DelegatingDataFetcher<Object> {
+
+    private final DataFetcher delegate;
+    private final String coordinate;
+
+
+    public MemoizingDataFetcher(DataFetcher delegate, String coordinate) {
+        this.delegate = delegate;
+        this.coordinate = coordinate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        FieldResultMemo memo = FieldResultMemo.from(environment);
+        if (memo == null) {
+            return delegate.get(environment);
+        }
+
+        Key key = new Key(environment.getSource(), coordinate, environment.getArguments());
+        return memo.computeIfAbsent(key, () -> {
+            try {
+                Object result = delegate.get(environment);
+                if (result instanceof CompletionStage) {
+                    return ((CompletionStage<Object>) result).toCompletableFuture();
+                }
+                return CompletableFuture.completedFuture(result);
+            } catch (Exception e) {
+                CompletableFuture<Object> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        });
+    }
+
+    @Override
+    public DataFetcher getDelegate() {
+        return delegate;
+    }
+
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * Memoization key, the source is compared by identity since distinct objects may well be equal
+     */
+    private static final class Key {
+
+        private final Object source;
+        private final String coordinate;
+        private final Map<String, Object> arguments;
+
+
+        private Key(Object source, String coordinate, Map<String, Object> arguments) {
+            this.source = source;
+            this.coordinate = coordinate;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return source == key.source &&
+                    coordinate.equals(key.coordinate) &&
+                    Objects.equals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(source), coordinate, arguments);
+        }
+    }
+}
@@ -14,8 +14,20 @@ public class OverrideDataFetcher implements DataFetcher {
 
     private static final Logger logger = LoggerFactory.getLogger(OverrideDataFetcher.class);
 
+    /**
+     * Returned instead of null when the override can't handle the field and explicit fallback is enabled, so that a
+     * null returned by the override method itself is considered final by the {@link AbstractCompositeDataFetcher}
+     */
+    public static final Object NOT_HANDLED = new Object() {
+        @Override
+        public String toString() {
+            return "NOT_HANDLED";
+        }
+    };
+
     private Object override;
     private Method overrideMethod;
+    private boolean explicitFallback;
 
 
     /**
@@ -43,31 +55,66 @@ public class OverrideDataFetcher implements DataFetcher {
         this.override = override;
     }
 
+    /**
+     * @param name  field name
+     * @param clazz schema class
+     * @param explicitFallback whether to return {@link #NOT_HANDLED} instead of null when the override can't handle the field
+     */
+    public OverrideDataFetcher(String name, Class clazz, boolean explicitFallback) {
+        this(name, clazz);
+        this.explicitFallback = explicitFallback;
+    }
+
+    /**
+     * @param name     field name
+     * @param override override object
+     * @param explicitFallback whether to return {@link #NOT_HANDLED} instead of null when the override can't handle the field
+     */
+    public OverrideDataFetcher(String name, Object override, boolean explicitFallback) {
+        this(name, override);
+        this.explicitFallback = explicitFallback;
+    }
+
     @Override
     public Object get(DataFetchingEnvironment environment) {
         if (overrideMethod == null) {
-            return null;
+            return notHandled();
         }
 
         Object obj = override == null ? environment.getSource() : override;
 
+        // checked upfront rather than through the exception thrown by invoke, fallbacks are common and should stay cheap
+        if (!overrideMethod.getDeclaringClass().isInstance(obj)) {
+            return notHandled();
+        }
+
         try {
             return overrideMethod.invoke(obj, environment);
         } catch (InvocationTargetException e) {
 
             // If the override method threw a RuntimeException just send it up
             if (e.getTargetException() instanceof RuntimeException) {
-                logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName(), e.getTargetException());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName(), e.getTargetException());
+                }
                 throw (RuntimeException) e.getTargetException();
             }
 
             // Otherwise, wrap it up in a Glitr Exception
-            logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName());
+            }
             throw new GlitrException("Overwrite method exception", e.getTargetException());
         } catch (Exception e) {
-            logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName());
+            if (logger.isDebugEnabled()) {
+                logger.debug("Something went wrong - Unable to fetch result for overrideMethod={{}} of {}", overrideMethod.getName(), obj.getClass().getSimpleName());
+            }
         }
-        return null;
+        return notHandled();
+    }
+
+    private Object notHandled() {
+        return explicitFallback ? NOT_HANDLED : null;
     }
 
     private Method findMethod(String name, Class clazz) {
@@ -87,4 +134,8 @@ public class OverrideDataFetcher implements DataFetcher {
     public Object getOverride() {
         return override;
     }
+
+    public boolean isExplicitFallback() {
+        return explicitFallback;
+    }
 }
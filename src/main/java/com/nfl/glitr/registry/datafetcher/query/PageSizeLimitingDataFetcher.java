@@ -0,0 +1,64 @@
+package com.nfl.glitr.registry.datafetcher.query;
+
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.datafetcher.DelegatingDataFetcher;
+import com.nfl.glitr.relay.PagingArguments;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code PageSizeLimitingDataFetcher} enforces the maximum page size of a connection field before the wrapped
+ * data fetcher runs: a {@code first} or {@code last} argument above the maximum is either clamped to it, or the field
+ * fails with a {@link GlitrException}.
+ */
+public class PageSizeLimitingDataFetcher implements DelegatingDataFetcher<Object> {
+
+    private final DataFetcher delegate;
+    private final String coordinate;
+    private final int maxPageSize;
+    private final boolean rejecting;
+
+
+    public PageSizeLimitingDataFetcher(DataFetcher delegate, String coordinate, int maxPageSize, boolean rejecting) {
+        this.delegate = delegate;
+        this.coordinate = coordinate;
+        this.maxPageSize = maxPageSize;
+        this.rejecting = rejecting;
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) throws Exception {
+        Map<String, Object> arguments = null;
+        for (String name : new String[]{PagingArguments.FIRST, PagingArguments.LAST}) {
+            Object value = environment.getArgument(name);
+            if (!(value instanceof Integer) || (Integer) value <= maxPageSize) {
+                continue;
+            }
+            if (rejecting) {
+                throw new GlitrException("Argument [" + name + "] of [" + coordinate + "] can't exceed " + maxPageSize + ", got " + value);
+            }
+            if (arguments == null) {
+                arguments = new HashMap<>(environment.getArguments());
+            }
+            arguments.put(name, maxPageSize);
+        }
+
+        if (arguments == null) {
+            return delegate.get(environment);
+        }
+        return delegate.get(DataFetchingEnvironmentImpl.newDataFetchingEnvironment(environment).arguments(arguments).build());
+    }
+
+    @Override
+    public DataFetcher getDelegate() {
+        return delegate;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+}
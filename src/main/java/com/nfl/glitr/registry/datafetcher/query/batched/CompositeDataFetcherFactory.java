@@ -14,12 +14,17 @@ import java.util.stream.Collectors;
 public class CompositeDataFetcherFactory {
 
     public static DataFetcher create(final List<DataFetcher> supplied) {
+        return new CompositeDataFetcher(filter(supplied));
+    }
 
-        List<DataFetcher> fetchers = supplied.stream()
+    /**
+     * @param supplied data fetchers of a field
+     * @return the data fetchers that actually take part in the composition
+     */
+    public static List<DataFetcher> filter(final List<DataFetcher> supplied) {
+        return supplied.stream()
                 // filter out all the OverrideDataFetchers that have a null overrideMethod since type registry adds a default overrideDF
                 .filter(f -> !(f instanceof OverrideDataFetcher) || ((OverrideDataFetcher)f).getOverrideMethod() != null)
                 .collect(Collectors.toList());
-
-        return new CompositeDataFetcher(fetchers);
     }
 }
@@ -0,0 +1,89 @@
+package com.nfl.glitr.registry.profiler;
+
+/**
+ * Time and memory spent in the calls of one kind reported under the same name, see {@link BuildProfiler}
+ */
+public class BuildProfileEntry {
+
+    private final BuildProfiler.Kind kind;
+    private final String name;
+    private final int calls;
+    private final long totalNanos;
+    private final long selfNanos;
+    private final long totalBytes;
+    private final long selfBytes;
+
+
+    public BuildProfileEntry(BuildProfiler.Kind kind, String name, int calls, long totalNanos, long selfNanos, long totalBytes, long selfBytes) {
+        this.kind = kind;
+        this.name = name;
+        this.calls = calls;
+        this.totalNanos = totalNanos;
+        this.selfNanos = selfNanos;
+        this.totalBytes = totalBytes;
+        this.selfBytes = selfBytes;
+    }
+
+    public BuildProfiler.Kind getKind() {
+        return kind;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCalls() {
+        return calls;
+    }
+
+    /**
+     * @return time spent in the calls, nested calls of the same kind included
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return time spent in the calls, nested calls of the same kind excluded
+     */
+    public long getSelfNanos() {
+        return selfNanos;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getSelfBytes() {
+        return selfBytes;
+    }
+
+    static class Builder {
+
+        private final BuildProfiler.Kind kind;
+        private final String name;
+        private int calls;
+        private long totalNanos;
+        private long selfNanos;
+        private long totalBytes;
+        private long selfBytes;
+
+
+        Builder(BuildProfiler.Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        synchronized void add(long totalNanos, long selfNanos, long totalBytes, long selfBytes) {
+            this.calls++;
+            this.totalNanos += totalNanos;
+            this.selfNanos += selfNanos;
+            this.totalBytes += totalBytes;
+            this.selfBytes += selfBytes;
+        }
+
+        synchronized BuildProfileEntry build() {
+            return new BuildProfileEntry(kind, name, calls, totalNanos, selfNanos, totalBytes, selfBytes);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.nfl.glitr.registry.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records the time and the memory allocated while building the schema, per introspected class, per delegate type
+ * factory and per custom argument or output type provider. Nested calls of the same kind are excluded from the self
+ * figures of their caller, e.g: introspecting the type of a field isn't accounted to the type declaring the field.
+ * <p>
+ * Building a schema is single threaded, a profiler is meant to be used by one build at a time.
+ */
+public class BuildProfiler {
+
+    public enum Kind {
+        TYPE, FACTORY, PROVIDER
+    }
+
+    private final Map<Kind, Map<String, BuildProfileEntry.Builder>> entries = new EnumMap<>(Kind.class);
+    private final Map<Kind, Deque<Frame>> stacks = new EnumMap<>(Kind.class);
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final boolean allocationSupported;
+
+
+    public BuildProfiler() {
+        for (Kind kind : Kind.values()) {
+            entries.put(kind, new ConcurrentHashMap<>());
+            stacks.put(kind, new ArrayDeque<>());
+        }
+        this.allocationSupported = isAllocationSupported(threadMXBean);
+    }
+
+    /**
+     * Run and profile the given call
+     *
+     * @param kind kind of call
+     * @param name name the call is reported under, e.g: the introspected class name
+     * @param call call to profile
+     * @param <T> type returned by the call
+     * @return what the call returned
+     */
+    public <T> T profile(Kind kind, String name, Supplier<T> call) {
+        Deque<Frame> stack = stacks.get(kind);
+        Frame frame = new Frame(System.nanoTime(), allocatedBytes());
+        stack.push(frame);
+        try {
+            return call.get();
+        } finally {
+            stack.pop();
+            long nanos = System.nanoTime() - frame.startNanos;
+            long bytes = allocationSupported ? allocatedBytes() - frame.startBytes : 0;
+
+            Frame parent = stack.peek();
+            if (parent != null) {
+                parent.childNanos += nanos;
+                parent.childBytes += bytes;
+            }
+            entries.get(kind).computeIfAbsent(name, key -> new BuildProfileEntry.Builder(kind, key))
+                    .add(nanos, nanos - frame.childNanos, bytes, bytes - frame.childBytes);
+        }
+    }
+
+    /**
+     * @return the report of what has been recorded so far, the slowest calls first
+     */
+    public BuildReport getReport() {
+        List<BuildProfileEntry> reportEntries = new ArrayList<>();
+        entries.values().forEach(byName -> byName.values().forEach(builder -> reportEntries.add(builder.build())));
+        reportEntries.sort(Comparator.comparing(BuildProfileEntry::getSelfNanos).reversed()
+                .thenComparing(BuildProfileEntry::getKind)
+                .thenComparing(BuildProfileEntry::getName));
+        return new BuildReport(reportEntries, allocationSupported);
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    private long allocatedBytes() {
+        if (!allocationSupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static boolean isAllocationSupported(ThreadMXBean threadMXBean) {
+        try {
+            return threadMXBean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled();
+        } catch (NoClassDefFoundError e) {
+            // not running on a HotSpot based JVM
+            return false;
+        }
+    }
+
+    private static class Frame {
+
+        private final long startNanos;
+        private final long startBytes;
+        private long childNanos;
+        private long childBytes;
+
+
+        Frame(long startNanos, long startBytes) {
+            this.startNanos = startNanos;
+            this.startBytes = startBytes;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.nfl.glitr.registry.profiler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nfl.glitr.exception.GlitrException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report of a {@link BuildProfiler}, its entries sorted by decreasing self time
+ */
+public class BuildReport {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<BuildProfileEntry> entries;
+    private final boolean allocationSupported;
+
+
+    public BuildReport(List<BuildProfileEntry> entries, boolean allocationSupported) {
+        this.entries = entries;
+        this.allocationSupported = allocationSupported;
+    }
+
+    public List<BuildProfileEntry> getEntries() {
+        return entries;
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    /**
+     * @param limit maximum number of entries to print
+     * @return the report as a human readable table
+     */
+    public String toText(int limit) {
+        StringBuilder text = new StringBuilder(String.format("%-8s %-60s %6s %10s %10s %12s %12s%n",
+                "KIND", "NAME", "CALLS", "SELF(ms)", "TOTAL(ms)", "SELF(KB)", "TOTAL(KB)"));
+        entries.stream().limit(limit).forEach(entry -> text.append(String.format("%-8s %-60s %6d %10.3f %10.3f %12s %12s%n",
+                entry.getKind(),
+                entry.getName(),
+                entry.getCalls(),
+                entry.getSelfNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                entry.getTotalNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                allocationSupported ? String.valueOf(entry.getSelfBytes() / 1024) : "n/a",
+                allocationSupported ? String.valueOf(entry.getTotalBytes() / 1024) : "n/a")));
+        return text.toString();
+    }
+
+    public String toText() {
+        return toText(Integer.MAX_VALUE);
+    }
+
+    public String toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("allocationSupported", allocationSupported);
+        json.put("entries", entries);
+        try {
+            return objectMapper.writeValueAsString(json);
+        } catch (JsonProcessingException e) {
+            throw new GlitrException("Unable to serialize the build report", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.nfl.glitr.registry.snapshot;
+
+import com.nfl.glitr.registry.TypeRegistry;
+import org.apache.commons.lang3.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Fingerprint of the classes a {@link SchemaSnapshot} was built from: the schema roots, the classes backing the types
+ * and fields, the override classes, all of their superclasses and interfaces, and the builder options shaping the
+ * schema, see {@link TypeRegistry#getSchemaOptions()}. It changes as soon as one of those classes is recompiled
+ * differently, added or removed, or an option changes. Classes of the JDK are left out.
+ */
+public class ClassFingerprint {
+
+    private ClassFingerprint() {
+    }
+
+    /**
+     * @param snapshot snapshot whose classes to fingerprint
+     * @param typeRegistry registry holding the overrides
+     * @param classLoader loader to read the class files from
+     * @return the fingerprint, null if one of the classes can't be found
+     */
+    public static String compute(SchemaSnapshot snapshot, TypeRegistry typeRegistry, ClassLoader classLoader) {
+        Set<String> classNames = new TreeSet<>();
+        addIfPresent(classNames, snapshot.getQueryRoot());
+        addIfPresent(classNames, snapshot.getMutationRoot());
+        addIfPresent(classNames, snapshot.getSubscriptionRoot());
+        for (SchemaSnapshot.TypeSnapshot type : snapshot.getTypes()) {
+            addIfPresent(classNames, type.getJavaClass());
+            for (SchemaSnapshot.FieldSnapshot field : type.getFields()) {
+                if (field.getFetcher() != null) {
+                    classNames.add(field.getFetcher().getInspectedClass());
+                    classNames.add(field.getFetcher().getDeclaringClass());
+                }
+            }
+        }
+        for (Class clazz : typeRegistry.getOverrides().keySet()) {
+            classNames.add(clazz.getName());
+            for (Object override : typeRegistry.getOverrides().get(clazz)) {
+                classNames.add(override.getClass().getName());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        for (Map.Entry<String, Class> option : typeRegistry.getSchemaOptions().entrySet()) {
+            crc.update(option.getKey().getBytes(StandardCharsets.UTF_8));
+            // a lambda has no class file of its own, its body is compiled into the class declaring it
+            String className = option.getValue().getName();
+            int lambda = className.indexOf("$$Lambda$");
+            classNames.add(lambda < 0 ? className : className.substring(0, lambda));
+        }
+
+        Set<String> hierarchy = new TreeSet<>();
+        for (String className : classNames) {
+            try {
+                for (Class clazz : ClassUtils.hierarchy(Class.forName(className, false, classLoader), ClassUtils.Interfaces.INCLUDE)) {
+                    if (clazz.getClassLoader() != null) {
+                        hierarchy.add(clazz.getName());
+                    }
+                }
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        }
+
+        byte[] buffer = new byte[8192];
+        for (String className : hierarchy) {
+            crc.update(className.getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = classLoader.getResourceAsStream(className.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    return null;
+                }
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return hierarchy.size() + "-" + Long.toHexString(crc.getValue());
+    }
+
+    private static void addIfPresent(Set<String> classNames, String className) {
+        if (className != null) {
+            classNames.add(className);
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.nfl.glitr.registry.snapshot;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializable form of a schema built by Glitr: the types (including the Glitr meta definitions such as complexity
+ * formulas), the classes and getters backing them, and a fingerprint of those classes.
+ * The SDL of the schema is included for readability only, it isn't used when restoring.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SchemaSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private int version = FORMAT_VERSION;
+    private String fingerprint;
+    private boolean relay;
+    private String queryRoot;
+    private String mutationRoot;
+    private String subscriptionRoot;
+    private List<String> scalars = new ArrayList<>();
+    private List<TypeSnapshot> types = new ArrayList<>();
+    private String sdl;
+
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public boolean isRelay() {
+        return relay;
+    }
+
+    public void setRelay(boolean relay) {
+        this.relay = relay;
+    }
+
+    public String getQueryRoot() {
+        return queryRoot;
+    }
+
+    public void setQueryRoot(String queryRoot) {
+        this.queryRoot = queryRoot;
+    }
+
+    public String getMutationRoot() {
+        return mutationRoot;
+    }
+
+    public void setMutationRoot(String mutationRoot) {
+        this.mutationRoot = mutationRoot;
+    }
+
+    public String getSubscriptionRoot() {
+        return subscriptionRoot;
+    }
+
+    public void setSubscriptionRoot(String subscriptionRoot) {
+        this.subscriptionRoot = subscriptionRoot;
+    }
+
+    public List<String> getScalars() {
+        return scalars;
+    }
+
+    public void setScalars(List<String> scalars) {
+        this.scalars = scalars;
+    }
+
+    public List<TypeSnapshot> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<TypeSnapshot> types) {
+        this.types = types;
+    }
+
+    public String getSdl() {
+        return sdl;
+    }
+
+    public void setSdl(String sdl) {
+        this.sdl = sdl;
+    }
+
+    public enum Kind {
+        OBJECT, INTERFACE, INPUT_OBJECT, ENUM
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class TypeSnapshot {
+
+        private Kind kind;
+        private String name;
+        private String description;
+        private String javaClass;
+        private String definitionName;
+        private List<String> interfaces = new ArrayList<>();
+        private List<FieldSnapshot> fields = new ArrayList<>();
+        private List<EnumValueSnapshot> enumValues = new ArrayList<>();
+
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public void setKind(Kind kind) {
+            this.kind = kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getJavaClass() {
+            return javaClass;
+        }
+
+        public void setJavaClass(String javaClass) {
+            this.javaClass = javaClass;
+        }
+
+        public String getDefinitionName() {
+            return definitionName;
+        }
+
+        public void setDefinitionName(String definitionName) {
+            this.definitionName = definitionName;
+        }
+
+        public List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        public void setInterfaces(List<String> interfaces) {
+            this.interfaces = interfaces;
+        }
+
+        public List<FieldSnapshot> getFields() {
+            return fields;
+        }
+
+        public void setFields(List<FieldSnapshot> fields) {
+            this.fields = fields;
+        }
+
+        public List<EnumValueSnapshot> getEnumValues() {
+            return enumValues;
+        }
+
+        public void setEnumValues(List<EnumValueSnapshot> enumValues) {
+            this.enumValues = enumValues;
+        }
+    }
+
+    /**
+     * Field of an object or interface type, or input field of an input object type
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class FieldSnapshot {
+
+        private String name;
+        private String description;
+        private String type;
+        private boolean connectionList;
+        private String deprecationReason;
+        private ValueSnapshot defaultValue;
+        private List<FieldSnapshot> arguments = new ArrayList<>();
+        private String definitionName;
+        private List<MetaDefinitionSnapshot> metaDefinitions;
+        private FetcherSnapshot fetcher;
+
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        /**
+         * @return type in SDL notation, e.g: {@code [Video!]!}
+         */
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        /**
+         * @return true if the outermost list of the type is a {@link com.nfl.glitr.registry.schema.GraphQLConnectionList}
+         */
+        public boolean isConnectionList() {
+            return connectionList;
+        }
+
+        public void setConnectionList(boolean connectionList) {
+            this.connectionList = connectionList;
+        }
+
+        public String getDeprecationReason() {
+            return deprecationReason;
+        }
+
+        public void setDeprecationReason(String deprecationReason) {
+            this.deprecationReason = deprecationReason;
+        }
+
+        public ValueSnapshot getDefaultValue() {
+            return defaultValue;
+        }
+
+        public void setDefaultValue(ValueSnapshot defaultValue) {
+            this.defaultValue = defaultValue;
+        }
+
+        public List<FieldSnapshot> getArguments() {
+            return arguments;
+        }
+
+        public void setArguments(List<FieldSnapshot> arguments) {
+            this.arguments = arguments;
+        }
+
+        public String getDefinitionName() {
+            return definitionName;
+        }
+
+        public void setDefinitionName(String definitionName) {
+            this.definitionName = definitionName;
+        }
+
+        /**
+         * @return meta definitions of the {@link com.nfl.glitr.registry.schema.GlitrFieldDefinition}, null if the field has none
+         */
+        public List<MetaDefinitionSnapshot> getMetaDefinitions() {
+            return metaDefinitions;
+        }
+
+        public void setMetaDefinitions(List<MetaDefinitionSnapshot> metaDefinitions) {
+            this.metaDefinitions = metaDefinitions;
+        }
+
+        public FetcherSnapshot getFetcher() {
+            return fetcher;
+        }
+
+        public void setFetcher(FetcherSnapshot fetcher) {
+            this.fetcher = fetcher;
+        }
+    }
+
+    /**
+     * Argument or input field default value, enum constants are stored by name along with their class
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ValueSnapshot {
+
+        private Object value;
+        private String enumClass;
+
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+
+        public String getEnumClass() {
+            return enumClass;
+        }
+
+        public void setEnumClass(String enumClass) {
+            this.enumClass = enumClass;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class EnumValueSnapshot {
+
+        private String name;
+        private String description;
+        private String deprecationReason;
+        private ValueSnapshot value;
+
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getDeprecationReason() {
+            return deprecationReason;
+        }
+
+        public void setDeprecationReason(String deprecationReason) {
+            this.deprecationReason = deprecationReason;
+        }
+
+        public ValueSnapshot getValue() {
+            return value;
+        }
+
+        public void setValue(ValueSnapshot value) {
+            this.value = value;
+        }
+    }
+
+    public static class MetaDefinitionSnapshot {
+
+        private String name;
+        private Object value;
+
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Getter backing a field, the data fetcher is rebuilt from it with {@link com.nfl.glitr.registry.TypeRegistry#createDataFetcher}
+     */
+    public static class FetcherSnapshot {
+
+        private String inspectedClass;
+        private String declaringClass;
+        private String method;
+        private List<String> parameterTypes = new ArrayList<>();
+
+
+        public String getInspectedClass() {
+            return inspectedClass;
+        }
+
+        public void setInspectedClass(String inspectedClass) {
+            this.inspectedClass = inspectedClass;
+        }
+
+        public String getDeclaringClass() {
+            return declaringClass;
+        }
+
+        public void setDeclaringClass(String declaringClass) {
+            this.declaringClass = declaringClass;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public List<String> getParameterTypes() {
+            return parameterTypes;
+        }
+
+        public void setParameterTypes(List<String> parameterTypes) {
+            this.parameterTypes = parameterTypes;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.nfl.glitr.registry.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.TypeRegistry;
+import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
+import com.nfl.glitr.registry.schema.GlitrMetaDefinition;
+import com.nfl.glitr.registry.schema.GraphQLConnectionList;
+import com.nfl.glitr.relay.PageSizeLimit;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.schema.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import static com.nfl.glitr.registry.TypeRegistry.UNUSED_FIELDS_DEAD_OBJECT;
+import static com.nfl.glitr.util.NodeUtil.MAX_PAGE_SIZE_KEY;
+import static graphql.schema.FieldCoordinates.coordinates;
+import static graphql.schema.GraphQLArgument.newArgument;
+import static graphql.schema.GraphQLEnumType.newEnum;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+import static graphql.schema.GraphQLInputObjectField.newInputObjectField;
+import static graphql.schema.GraphQLInputObjectType.newInputObject;
+import static graphql.schema.GraphQLInterfaceType.newInterface;
+import static graphql.schema.GraphQLObjectType.newObject;
+
+/**
+ * Restores the types and data fetchers of a {@link SchemaSnapshot} into a {@link TypeRegistry}, so that the schema can
+ * be built without introspecting the schema classes.
+ */
+public class SchemaSnapshotReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaSnapshotReader.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    private SchemaSnapshotReader() {
+    }
+
+    public static SchemaSnapshot read(InputStream in) throws IOException {
+        return objectMapper.readValue(in, SchemaSnapshot.class);
+    }
+
+    /**
+     * Restore the snapshot into the type registry, nothing is registered unless the whole snapshot can be restored
+     *
+     * @param snapshot snapshot to restore
+     * @param typeRegistry registry to restore into
+     * @param queryRoot query root the schema is built for
+     * @param mutationRoot mutation root the schema is built for, if any
+     * @param subscriptionRoot subscription root the schema is built for, if any
+     * @return true if the snapshot has been restored, false if it doesn't match the classes, roots or configuration
+     * at hand, in which case the schema should be introspected as usual
+     */
+    public static boolean restore(SchemaSnapshot snapshot, TypeRegistry typeRegistry, Class queryRoot, Class mutationRoot, Class subscriptionRoot) {
+        if (snapshot.getVersion() != SchemaSnapshot.FORMAT_VERSION
+                || snapshot.isRelay() != (typeRegistry.getNodeInterface() != null)
+                || !Objects.equals(snapshot.getQueryRoot(), queryRoot.getName())
+                || !Objects.equals(snapshot.getMutationRoot(), mutationRoot != null ? mutationRoot.getName() : null)
+                || !Objects.equals(snapshot.getSubscriptionRoot(), subscriptionRoot != null ? subscriptionRoot.getName() : null)) {
+            logger.info("Schema snapshot doesn't match the schema configuration, falling back to introspection");
+            return false;
+        }
+
+        String fingerprint = ClassFingerprint.compute(snapshot, typeRegistry, queryRoot.getClassLoader());
+        if (fingerprint == null || !fingerprint.equals(snapshot.getFingerprint())) {
+            logger.info("Schema snapshot fingerprint doesn't match the classpath, falling back to introspection");
+            return false;
+        }
+
+        Map<String, GraphQLScalarType> scalars = typeRegistry.getKnownScalars();
+        if (!scalars.keySet().containsAll(snapshot.getScalars())) {
+            logger.info("Schema snapshot uses unknown scalars, falling back to introspection");
+            return false;
+        }
+
+        RestoredSchema restored;
+        try {
+            restored = new RestoredSchema(typeRegistry, scalars, mutationRoot, queryRoot.getClassLoader());
+            for (SchemaSnapshot.TypeSnapshot type : snapshot.getTypes()) {
+                restored.restoreType(type);
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Unable to restore the schema snapshot, falling back to introspection", e);
+            return false;
+        }
+
+        restored.register();
+        return true;
+    }
+
+    /**
+     * Types and data fetchers restored so far, only registered once all of them have been restored
+     */
+    private static class RestoredSchema {
+
+        private final TypeRegistry typeRegistry;
+        private final Map<String, GraphQLScalarType> scalars;
+        private final Class mutationRoot;
+        private final ClassLoader classLoader;
+        private final Map<GraphQLType, Class> types = new LinkedHashMap<>();
+        private final Map<FieldCoordinates, DataFetcher> dataFetchers = new LinkedHashMap<>();
+        private final List<String> interfaces = new ArrayList<>();
+
+
+        RestoredSchema(TypeRegistry typeRegistry, Map<String, GraphQLScalarType> scalars, Class mutationRoot, ClassLoader classLoader) {
+            this.typeRegistry = typeRegistry;
+            this.scalars = scalars;
+            this.mutationRoot = mutationRoot;
+            this.classLoader = classLoader;
+        }
+
+        void restoreType(SchemaSnapshot.TypeSnapshot type) throws ReflectiveOperationException {
+            Class clazz = type.getJavaClass() != null ? classForName(type.getJavaClass()) : null;
+
+            switch (type.getKind()) {
+                case OBJECT:
+                    GraphQLObjectType.Builder objectBuilder = newObject()
+                            .name(type.getName())
+                            .description(type.getDescription());
+                    type.getInterfaces().forEach(name -> objectBuilder.withInterface(GraphQLTypeReference.typeRef(name)));
+                    for (SchemaSnapshot.FieldSnapshot field : type.getFields()) {
+                        objectBuilder.field(restoreField(field));
+                        restoreDataFetcher(type.getName(), field);
+                    }
+                    types.put(objectBuilder.build(), clazz);
+                    break;
+                case INTERFACE:
+                    interfaces.add(type.getName());
+                    // the relay Node interface is created by the type registry itself
+                    if (typeRegistry.getNodeInterface() != null && typeRegistry.getNodeInterface().getName().equals(type.getName())) {
+                        break;
+                    }
+                    GraphQLInterfaceType.Builder interfaceBuilder = newInterface()
+                            .name(type.getName())
+                            .description(type.getDescription());
+                    if (type.getDefinitionName() != null) {
+                        interfaceBuilder.definition(new InterfaceTypeDefinition(type.getDefinitionName()));
+                    }
+                    for (SchemaSnapshot.FieldSnapshot field : type.getFields()) {
+                        interfaceBuilder.field(restoreField(field));
+                    }
+                    types.put(interfaceBuilder.build(), clazz);
+                    break;
+                case INPUT_OBJECT:
+                    GraphQLInputObjectType.Builder inputBuilder = newInputObject()
+                            .name(type.getName())
+                            .description(type.getDescription());
+                    for (SchemaSnapshot.FieldSnapshot field : type.getFields()) {
+                        inputBuilder.field(newInputObjectField()
+                                .name(field.getName())
+                                .description(field.getDescription())
+                                .type((GraphQLInputType) parseType(field.getType(), false))
+                                .defaultValue(restoreValue(field.getDefaultValue()))
+                                .build());
+                    }
+                    types.put(inputBuilder.build(), clazz);
+                    break;
+                case ENUM:
+                    GraphQLEnumType.Builder enumBuilder = newEnum()
+                            .name(type.getName())
+                            .description(type.getDescription());
+                    for (SchemaSnapshot.EnumValueSnapshot value : type.getEnumValues()) {
+                        enumBuilder.value(value.getName(), restoreValue(value.getValue()), value.getDescription(), value.getDeprecationReason());
+                    }
+                    types.put(enumBuilder.build(), clazz);
+                    break;
+                default:
+                    throw new GlitrException("Unsupported type kind " + type.getKind());
+            }
+        }
+
+        private GraphQLFieldDefinition restoreField(SchemaSnapshot.FieldSnapshot field) throws ReflectiveOperationException {
+            GraphQLFieldDefinition.Builder builder = newFieldDefinition()
+                    .name(field.getName())
+                    .description(field.getDescription())
+                    .type((GraphQLOutputType) parseType(field.getType(), field.isConnectionList()))
+                    .deprecate(field.getDeprecationReason());
+
+            for (SchemaSnapshot.FieldSnapshot argument : field.getArguments()) {
+                builder.argument(newArgument()
+                        .name(argument.getName())
+                        .description(argument.getDescription())
+                        .type((GraphQLInputType) parseType(argument.getType(), false))
+                        .defaultValue(restoreValue(argument.getDefaultValue()))
+                        .build());
+            }
+
+            if (field.getMetaDefinitions() != null) {
+                Set<GlitrMetaDefinition> metaDefinitions = new HashSet<>();
+                field.getMetaDefinitions().stream()
+                        // the max page size is configuration rather than code, it's taken from the current one
+                        .filter(meta -> field.getFetcher() == null || !MAX_PAGE_SIZE_KEY.equals(meta.getName()))
+                        .forEach(meta -> metaDefinitions.add(new GlitrMetaDefinition(meta.getName(), meta.getValue())));
+                if (field.getFetcher() != null) {
+                    SchemaSnapshot.FetcherSnapshot fetcher = field.getFetcher();
+                    int maxPageSize = typeRegistry.getMaxPageSize(classForName(fetcher.getInspectedClass()), classForName(fetcher.getDeclaringClass()), getMethod(fetcher));
+                    if (maxPageSize != PageSizeLimit.UNLIMITED) {
+                        metaDefinitions.add(new GlitrMetaDefinition(MAX_PAGE_SIZE_KEY, maxPageSize));
+                    }
+                }
+                builder.definition(new GlitrFieldDefinition(field.getDefinitionName(), metaDefinitions));
+            }
+            return builder.build();
+        }
+
+        private Method getMethod(SchemaSnapshot.FetcherSnapshot fetcher) throws ReflectiveOperationException {
+            Class declaringClass = classForName(fetcher.getDeclaringClass());
+            Class[] parameterTypes = new Class[fetcher.getParameterTypes().size()];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = classForName(fetcher.getParameterTypes().get(i));
+            }
+            return declaringClass.getMethod(fetcher.getMethod(), parameterTypes);
+        }
+
+        private void restoreDataFetcher(String typeName, SchemaSnapshot.FieldSnapshot field) throws ReflectiveOperationException {
+            SchemaSnapshot.FetcherSnapshot fetcher = field.getFetcher();
+            if (fetcher != null) {
+                Class inspectedClass = classForName(fetcher.getInspectedClass());
+                Class declaringClass = classForName(fetcher.getDeclaringClass());
+                dataFetchers.put(coordinates(typeName, field.getName()), typeRegistry.createDataFetcher(inspectedClass, declaringClass, getMethod(fetcher)));
+            } else if (field.getName().equals(UNUSED_FIELDS_DEAD_OBJECT)) {
+                dataFetchers.put(coordinates(typeName, field.getName()), (DataFetcher) env -> false);
+            }
+        }
+
+        /**
+         * Parse a type in SDL notation, e.g: {@code [Video!]!}, named types other than scalars are type references
+         * replaced when building the schema
+         */
+        private GraphQLType parseType(String type, boolean connectionList) {
+            if (type.endsWith("!")) {
+                return GraphQLNonNull.nonNull(parseType(type.substring(0, type.length() - 1), connectionList));
+            }
+            if (type.startsWith("[") && type.endsWith("]")) {
+                GraphQLType wrappedType = parseType(type.substring(1, type.length() - 1), false);
+                return connectionList ? new GraphQLConnectionList(wrappedType) : GraphQLList.list(wrappedType);
+            }
+            GraphQLScalarType scalar = scalars.get(type);
+            return scalar != null ? scalar : GraphQLTypeReference.typeRef(type);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object restoreValue(SchemaSnapshot.ValueSnapshot value) throws ReflectiveOperationException {
+            if (value == null) {
+                return null;
+            }
+            if (value.getEnumClass() != null) {
+                return Enum.valueOf(classForName(value.getEnumClass()), (String) value.getValue());
+            }
+            return value.getValue();
+        }
+
+        private Class classForName(String name) throws ClassNotFoundException {
+            return Class.forName(name, false, classLoader);
+        }
+
+        void register() {
+            types.forEach((type, clazz) -> {
+                if (mutationRoot != null && mutationRoot.equals(clazz)) {
+                    typeRegistry.registerSnapshotMutationType(clazz, (GraphQLObjectType) type);
+                } else {
+                    typeRegistry.registerSnapshotType(clazz, type);
+                }
+            });
+            GraphQLCodeRegistry.Builder codeRegistryBuilder = typeRegistry.getCodeRegistryBuilder();
+            dataFetchers.forEach(codeRegistryBuilder::dataFetcher);
+            interfaces.forEach(name -> codeRegistryBuilder.typeResolver(name, typeRegistry));
+        }
+    }
+}
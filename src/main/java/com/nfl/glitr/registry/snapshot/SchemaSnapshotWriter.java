@@ -0,0 +1,213 @@
+package com.nfl.glitr.registry.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nfl.glitr.Glitr;
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.TypeRegistry;
+import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
+import com.nfl.glitr.registry.schema.GraphQLConnectionList;
+import graphql.schema.*;
+import graphql.schema.idl.SchemaPrinter;
+import org.apache.commons.lang3.tuple.Triple;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.nfl.glitr.registry.TypeRegistry.UNUSED_FIELDS_DEAD_OBJECT;
+
+/**
+ * Captures the schema built by a {@link Glitr} instance into a {@link SchemaSnapshot}
+ */
+public class SchemaSnapshotWriter {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+
+    private SchemaSnapshotWriter() {
+    }
+
+    public static void write(Glitr glitr, OutputStream out) throws IOException {
+        objectMapper.writeValue(out, capture(glitr));
+    }
+
+    /**
+     * @param glitr Glitr instance whose schema to capture
+     * @return the snapshot
+     * @throws GlitrException if a field uses a data fetcher that wasn't created by Glitr, since it couldn't be restored
+     */
+    public static SchemaSnapshot capture(Glitr glitr) {
+        TypeRegistry typeRegistry = glitr.getTypeRegistry();
+        GraphQLSchema schema = glitr.getSchema();
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry();
+        Map<String, Class> classByTypeName = getClassByTypeName(typeRegistry);
+        Set<String> knownScalars = typeRegistry.getKnownScalars().keySet();
+
+        SchemaSnapshot snapshot = new SchemaSnapshot();
+        snapshot.setRelay(typeRegistry.getNodeInterface() != null);
+        snapshot.setQueryRoot(glitr.getQueryRoot().getName());
+        if (glitr.getMutationRoot() != null) {
+            snapshot.setMutationRoot(glitr.getMutationRoot().getName());
+            classByTypeName.put(glitr.getMutationRoot().getSimpleName(), glitr.getMutationRoot());
+        }
+        if (glitr.getSubscriptionRoot() != null) {
+            snapshot.setSubscriptionRoot(glitr.getSubscriptionRoot().getName());
+        }
+
+        List<GraphQLType> types = schema.getAllTypesAsList().stream()
+                .filter(type -> !type.getName().startsWith("__"))
+                .sorted(Comparator.comparing(GraphQLType::getName))
+                .collect(Collectors.toList());
+
+        for (GraphQLType type : types) {
+            if (type instanceof GraphQLScalarType) {
+                if (!knownScalars.contains(type.getName())) {
+                    throw new GlitrException("Unable to snapshot the schema, scalar [" + type.getName() + "] isn't known to the type registry");
+                }
+                snapshot.getScalars().add(type.getName());
+                continue;
+            }
+
+            SchemaSnapshot.TypeSnapshot typeSnapshot = new SchemaSnapshot.TypeSnapshot();
+            typeSnapshot.setName(type.getName());
+            Class clazz = classByTypeName.get(type.getName());
+            typeSnapshot.setJavaClass(clazz != null ? clazz.getName() : null);
+
+            if (type instanceof GraphQLObjectType) {
+                GraphQLObjectType objectType = (GraphQLObjectType) type;
+                typeSnapshot.setKind(SchemaSnapshot.Kind.OBJECT);
+                typeSnapshot.setDescription(objectType.getDescription());
+                objectType.getInterfaces().forEach(i -> typeSnapshot.getInterfaces().add(i.getName()));
+                for (GraphQLFieldDefinition field : objectType.getFieldDefinitions()) {
+                    SchemaSnapshot.FieldSnapshot fieldSnapshot = captureField(field);
+                    fieldSnapshot.setFetcher(captureFetcher(typeRegistry, codeRegistry, objectType, field));
+                    typeSnapshot.getFields().add(fieldSnapshot);
+                }
+            } else if (type instanceof GraphQLInterfaceType) {
+                GraphQLInterfaceType interfaceType = (GraphQLInterfaceType) type;
+                typeSnapshot.setKind(SchemaSnapshot.Kind.INTERFACE);
+                typeSnapshot.setDescription(interfaceType.getDescription());
+                if (interfaceType.getDefinition() != null) {
+                    typeSnapshot.setDefinitionName(interfaceType.getDefinition().getName());
+                }
+                interfaceType.getFieldDefinitions().forEach(field -> typeSnapshot.getFields().add(captureField(field)));
+            } else if (type instanceof GraphQLInputObjectType) {
+                GraphQLInputObjectType inputType = (GraphQLInputObjectType) type;
+                typeSnapshot.setKind(SchemaSnapshot.Kind.INPUT_OBJECT);
+                typeSnapshot.setDescription(inputType.getDescription());
+                for (GraphQLInputObjectField field : inputType.getFieldDefinitions()) {
+                    SchemaSnapshot.FieldSnapshot fieldSnapshot = new SchemaSnapshot.FieldSnapshot();
+                    fieldSnapshot.setName(field.getName());
+                    fieldSnapshot.setDescription(field.getDescription());
+                    fieldSnapshot.setType(GraphQLTypeUtil.simplePrint(field.getType()));
+                    fieldSnapshot.setDefaultValue(captureValue(field.getDefaultValue()));
+                    typeSnapshot.getFields().add(fieldSnapshot);
+                }
+            } else if (type instanceof GraphQLEnumType) {
+                GraphQLEnumType enumType = (GraphQLEnumType) type;
+                typeSnapshot.setKind(SchemaSnapshot.Kind.ENUM);
+                typeSnapshot.setDescription(enumType.getDescription());
+                for (GraphQLEnumValueDefinition value : enumType.getValues()) {
+                    SchemaSnapshot.EnumValueSnapshot valueSnapshot = new SchemaSnapshot.EnumValueSnapshot();
+                    valueSnapshot.setName(value.getName());
+                    valueSnapshot.setDescription(value.getDescription());
+                    valueSnapshot.setDeprecationReason(value.getDeprecationReason());
+                    valueSnapshot.setValue(captureValue(value.getValue()));
+                    typeSnapshot.getEnumValues().add(valueSnapshot);
+                }
+            } else {
+                throw new GlitrException("Unable to snapshot the schema, unsupported type [" + type.getName() + "]");
+            }
+
+            snapshot.getTypes().add(typeSnapshot);
+        }
+
+        snapshot.setFingerprint(ClassFingerprint.compute(snapshot, typeRegistry, glitr.getQueryRoot().getClassLoader()));
+        snapshot.setSdl(new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeDirectives(false)).print(schema));
+        return snapshot;
+    }
+
+    private static SchemaSnapshot.FieldSnapshot captureField(GraphQLFieldDefinition field) {
+        SchemaSnapshot.FieldSnapshot fieldSnapshot = new SchemaSnapshot.FieldSnapshot();
+        fieldSnapshot.setName(field.getName());
+        fieldSnapshot.setDescription(field.getDescription());
+        fieldSnapshot.setType(GraphQLTypeUtil.simplePrint(field.getType()));
+        fieldSnapshot.setConnectionList(GraphQLTypeUtil.unwrapNonNull(field.getType()) instanceof GraphQLConnectionList);
+        fieldSnapshot.setDeprecationReason(field.getDeprecationReason());
+
+        for (GraphQLArgument argument : field.getArguments()) {
+            SchemaSnapshot.FieldSnapshot argumentSnapshot = new SchemaSnapshot.FieldSnapshot();
+            argumentSnapshot.setName(argument.getName());
+            argumentSnapshot.setDescription(argument.getDescription());
+            argumentSnapshot.setType(GraphQLTypeUtil.simplePrint(argument.getType()));
+            argumentSnapshot.setDefaultValue(captureValue(argument.getDefaultValue()));
+            fieldSnapshot.getArguments().add(argumentSnapshot);
+        }
+
+        if (field.getDefinition() instanceof GlitrFieldDefinition) {
+            GlitrFieldDefinition definition = (GlitrFieldDefinition) field.getDefinition();
+            fieldSnapshot.setDefinitionName(definition.getName());
+            fieldSnapshot.setMetaDefinitions(definition.getMetaDefinitions() == null ? new ArrayList<>() : definition.getMetaDefinitions().stream()
+                    .map(metaDefinition -> {
+                        SchemaSnapshot.MetaDefinitionSnapshot metaDefinitionSnapshot = new SchemaSnapshot.MetaDefinitionSnapshot();
+                        metaDefinitionSnapshot.setName(metaDefinition.getName());
+                        metaDefinitionSnapshot.setValue(metaDefinition.getValue());
+                        return metaDefinitionSnapshot;
+                    })
+                    .sorted(Comparator.comparing(SchemaSnapshot.MetaDefinitionSnapshot::getName))
+                    .collect(Collectors.toList()));
+        }
+        return fieldSnapshot;
+    }
+
+    private static SchemaSnapshot.FetcherSnapshot captureFetcher(TypeRegistry typeRegistry, GraphQLCodeRegistry codeRegistry, GraphQLObjectType type, GraphQLFieldDefinition field) {
+        Triple<Class, Class, Method> wiring = typeRegistry.getFieldWirings().get(type.getName() + "." + field.getName());
+        if (wiring != null) {
+            SchemaSnapshot.FetcherSnapshot fetcherSnapshot = new SchemaSnapshot.FetcherSnapshot();
+            fetcherSnapshot.setInspectedClass(wiring.getLeft().getName());
+            fetcherSnapshot.setDeclaringClass(wiring.getMiddle().getName());
+            fetcherSnapshot.setMethod(wiring.getRight().getName());
+            for (Class parameterType : wiring.getRight().getParameterTypes()) {
+                fetcherSnapshot.getParameterTypes().add(parameterType.getName());
+            }
+            return fetcherSnapshot;
+        }
+
+        // fields without a Glitr created data fetcher must resolve with the default one to be restorable
+        DataFetcher dataFetcher = codeRegistry.getDataFetcher(type, field);
+        if (!field.getName().equals(UNUSED_FIELDS_DEAD_OBJECT) && !(dataFetcher instanceof PropertyDataFetcher)) {
+            throw new GlitrException("Unable to snapshot the schema, field [" + type.getName() + "." + field.getName() + "] uses a custom data fetcher");
+        }
+        return null;
+    }
+
+    private static SchemaSnapshot.ValueSnapshot captureValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        SchemaSnapshot.ValueSnapshot valueSnapshot = new SchemaSnapshot.ValueSnapshot();
+        if (value instanceof Enum) {
+            valueSnapshot.setValue(((Enum) value).name());
+            valueSnapshot.setEnumClass(((Enum) value).getDeclaringClass().getName());
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            valueSnapshot.setValue(value);
+        } else {
+            throw new GlitrException("Unable to snapshot the schema, unsupported value [" + value + "]");
+        }
+        return valueSnapshot;
+    }
+
+    private static Map<String, Class> getClassByTypeName(TypeRegistry typeRegistry) {
+        Map<String, Class> classByTypeName = new HashMap<>();
+        typeRegistry.getRegistry().forEach((clazz, type) -> {
+            // prefer the class the type is named after when several classes map to the same type
+            if (!classByTypeName.containsKey(type.getName()) || clazz.getSimpleName().equals(type.getName())) {
+                classByTypeName.put(type.getName(), clazz);
+            }
+        });
+        return classByTypeName;
+    }
+}
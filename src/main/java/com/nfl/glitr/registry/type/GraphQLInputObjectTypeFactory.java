@@ -41,7 +41,7 @@ public class GraphQLInputObjectTypeFactory implements DelegateTypeFactory {
      * @return {@link GraphQLInputObjectType} object exposed via graphQL
      */
     public GraphQLInputObjectType createInputObjectType(Class clazz) {
-        Map<String, Pair<Method, Class>> methods = ReflectionUtil.getMethodMap(clazz);
+        Map<String, Pair<Method, Class>> methods = typeRegistry.getMethodMap(clazz);
 
         List<GraphQLInputObjectField> fields = methods.values().stream()
                 .map(this::getGraphQLInputObjectField)
@@ -75,11 +75,9 @@ public class GraphQLInputObjectTypeFactory implements DelegateTypeFactory {
 
         boolean nullable = ReflectionUtil.isAnnotatedElementNullable(method);
         if (nullable) { // check the field too
-            try {
-                Field field = declaringClass.getDeclaredField(name);
+            Field field = ReflectionUtil.getClassMetadata(declaringClass).getDeclaredField(name);
+            if (field != null) {
                 nullable = ReflectionUtil.isAnnotatedElementNullable(field);
-            } catch (NoSuchFieldException e) {
-                // do nothing
             }
         }
 
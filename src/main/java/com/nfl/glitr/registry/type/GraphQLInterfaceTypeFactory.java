@@ -7,6 +7,7 @@ import com.nfl.glitr.annotation.GlitrQueryComplexity;
 import com.nfl.glitr.registry.TypeRegistry;
 import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
 import com.nfl.glitr.registry.schema.GlitrMetaDefinition;
+import com.nfl.glitr.relay.PageSizeLimit;
 import com.nfl.glitr.util.ReflectionUtil;
 import graphql.language.InterfaceTypeDefinition;
 import graphql.schema.*;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_FORMULA_KEY;
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_IGNORE_KEY;
+import static com.nfl.glitr.util.NodeUtil.MAX_PAGE_SIZE_KEY;
 import static graphql.schema.FieldCoordinates.coordinates;
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
 import static graphql.schema.GraphQLInterfaceType.newInterface;
@@ -74,17 +76,12 @@ public class GraphQLInterfaceTypeFactory implements DelegateTypeFactory {
 
         Type fieldType = GenericTypeReflector.getExactReturnType(method, clazz);
         GraphQLType type = typeRegistry.convertToGraphQLOutputType(fieldType, name, true);
-        if (type instanceof GraphQLTypeReference) {
-            typeRegistry.getRegistry().putIfAbsent((Class) fieldType, type);
-        }
 
         boolean nullable = ReflectionUtil.isAnnotatedElementNullable(method);
         if (nullable) { // check the field too
-            try {
-                Field field = clazz.getDeclaredField(name);
+            Field field = ReflectionUtil.getClassMetadata(clazz).getDeclaredField(name);
+            if (field != null) {
                 nullable = ReflectionUtil.isAnnotatedElementNullable(field);
-            } catch (NoSuchFieldException e) {
-                // do nothing
             }
         }
 
@@ -99,6 +96,11 @@ public class GraphQLInterfaceTypeFactory implements DelegateTypeFactory {
             metaDefinitions.add(new GlitrMetaDefinition(COMPLEXITY_IGNORE_KEY, queryComplexity.ignore()));
         });
 
+        int maxPageSize = typeRegistry.getMaxPageSize(clazz, clazz, method);
+        if (maxPageSize != PageSizeLimit.UNLIMITED) {
+            metaDefinitions.add(new GlitrMetaDefinition(MAX_PAGE_SIZE_KEY, maxPageSize));
+        }
+
         Optional<GlitrDeprecated> glitrDeprecated = ReflectionUtil.getAnnotationOfMethodOrField(clazz, method, GlitrDeprecated.class);
 
         codeRegistryBuilder.dataFetcher(coordinates(clazz.getSimpleName(), name), new PropertyDataFetcher(name));
@@ -6,6 +6,7 @@ import com.nfl.glitr.annotation.GlitrQueryComplexity;
 import com.nfl.glitr.registry.TypeRegistry;
 import com.nfl.glitr.registry.schema.GlitrFieldDefinition;
 import com.nfl.glitr.registry.schema.GlitrMetaDefinition;
+import com.nfl.glitr.relay.PageSizeLimit;
 import com.nfl.glitr.util.ReflectionUtil;
 import graphql.schema.*;
 import org.apache.commons.lang3.tuple.Pair;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_FORMULA_KEY;
 import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_IGNORE_KEY;
+import static com.nfl.glitr.util.NodeUtil.MAX_PAGE_SIZE_KEY;
 import static graphql.Scalars.GraphQLBoolean;
 import static graphql.schema.FieldCoordinates.coordinates;
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
@@ -49,7 +51,7 @@ public class GraphQLObjectTypeFactory implements DelegateTypeFactory {
      * @return {@link GraphQLObjectType} object exposed via graphQL
      */
     private GraphQLObjectType createObjectType(Class clazz) {
-        Map<String, Pair<Method, Class>> methods = ReflectionUtil.getMethodMap(clazz);
+        Map<String, Pair<Method, Class>> methods = typeRegistry.getMethodMap(clazz);
 
         // add extra methods from outside the inspected class coming from an override object
         typeRegistry.addExtraMethodsToTheSchema(clazz, methods);
@@ -147,8 +149,7 @@ public class GraphQLObjectTypeFactory implements DelegateTypeFactory {
 
         // DataFetcher
         Class declaringClass = pair.getRight();
-        List<DataFetcher> fetchers = typeRegistry.retrieveDataFetchers(clazz, declaringClass, method);
-        DataFetcher dataFetcher = TypeRegistry.createDataFetchersFromDataFetcherList(fetchers, declaringClass, name);
+        DataFetcher dataFetcher = typeRegistry.createDataFetcher(clazz, declaringClass, method);
 
         String description = ReflectionUtil.getDescriptionFromAnnotatedElement(method);
         if (description != null && description.equals(GlitrDescription.DEFAULT_DESCRIPTION)) {
@@ -162,6 +163,11 @@ public class GraphQLObjectTypeFactory implements DelegateTypeFactory {
             metaDefinitions.add(new GlitrMetaDefinition(COMPLEXITY_IGNORE_KEY, queryComplexity.ignore()));
         });
 
+        int maxPageSize = typeRegistry.getMaxPageSize(clazz, declaringClass, method);
+        if (maxPageSize != PageSizeLimit.UNLIMITED) {
+            metaDefinitions.add(new GlitrMetaDefinition(MAX_PAGE_SIZE_KEY, maxPageSize));
+        }
+
         Optional<GlitrDeprecated> glitrDeprecated = ReflectionUtil.getAnnotationOfMethodOrField(clazz, method, GlitrDeprecated.class);
 
         codeRegistryBuilder.dataFetcher(coordinates(clazz.getSimpleName(), name), dataFetcher);
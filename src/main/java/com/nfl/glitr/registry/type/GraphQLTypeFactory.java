@@ -1,5 +1,6 @@
 package com.nfl.glitr.registry.type;
 
+import com.nfl.glitr.registry.profiler.BuildProfiler;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLOutputType;
 
@@ -16,6 +17,7 @@ public class GraphQLTypeFactory {
 
     private final Map<JavaType, DelegateTypeFactory> delegateFactories = new HashMap<>();
     private final Map<JavaType, DelegateTypeFactory> delegateInputFactories = new HashMap<>();
+    private BuildProfiler profiler;
 
 
     /**
@@ -48,6 +50,17 @@ public class GraphQLTypeFactory {
         return this;
     }
 
+    /**
+     * Record the time and memory spent creating each type, and in each delegate factory
+     *
+     * @param profiler profiler to record into, null to stop profiling
+     * @return {@link GraphQLTypeFactory}
+     */
+    public GraphQLTypeFactory withProfiler(BuildProfiler profiler) {
+        this.profiler = profiler;
+        return this;
+    }
+
     /**
      * Creates a {@link GraphQLOutputType} by inspecting the given a class
      *
@@ -56,7 +69,7 @@ public class GraphQLTypeFactory {
      */
     public GraphQLOutputType createGraphQLOutputType(Class clazz) {
         JavaType javaType = getJavaTypeFromClass(clazz);
-        return (GraphQLOutputType) delegateFactories.get(javaType).create(clazz);
+        return (GraphQLOutputType) create(delegateFactories.get(javaType), clazz, clazz.getName());
     }
 
     /**
@@ -68,9 +81,17 @@ public class GraphQLTypeFactory {
     public GraphQLInputType createGraphQLInputType(Class clazz) {
         JavaType javaType = getJavaTypeFromClass(clazz);
         if (javaType == JavaType.ENUM) {
-            return (GraphQLInputType) delegateFactories.get(JavaType.ENUM).create(clazz);
+            return (GraphQLInputType) create(delegateFactories.get(JavaType.ENUM), clazz, clazz.getName() + " (input)");
+        }
+        return (GraphQLInputType) create(delegateInputFactories.get(javaType), clazz, clazz.getName() + " (input)");
+    }
+
+    private Object create(DelegateTypeFactory factory, Class clazz, String typeName) {
+        if (profiler == null) {
+            return factory.create(clazz);
         }
-        return (GraphQLInputType) delegateInputFactories.get(javaType).create(clazz);
+        return profiler.profile(BuildProfiler.Kind.TYPE, typeName,
+                () -> profiler.profile(BuildProfiler.Kind.FACTORY, factory.getClass().getSimpleName(), () -> factory.create(clazz)));
     }
 
     public static JavaType getJavaTypeFromClass(Class clazz) {
@@ -0,0 +1,288 @@
+package com.nfl.glitr.relay;
+
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.TypeRegistry;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes and decodes the relay global ids of the object types of a {@link TypeRegistry}.
+ * <p>
+ * Compact ids are the url safe Base64, without padding, of a marker byte, the numeric tag of the type as a varint and
+ * the UTF-8 id. A type tag is derived from the hash of the type name, so it doesn't depend on the order the types are
+ * registered in, and can be pinned to keep ids stable, e.g: when two type names collide.
+ * <p>
+ * Legacy ids, the url safe Base64 of {@code Type:id} as produced by graphql-java's Relay, are always decoded. They are also
+ * what is encoded unless compact encoding is enabled, so that switching is a matter of configuration.
+ * <p>
+ * The decoded type names are the instances held by the name registry.
+ * <p>
+ * The tags of the registered types are indexed by {@link #indexTypes()} once the schema is built, which fails when two
+ * types share a tag, and indexed again when an unknown type or tag is met, since types can be added later on.
+ */
+public class GlobalIdCodec {
+
+    private static final byte COMPACT_MARKER = 0x01;
+    private static final int TAG_BITS = 21;
+    private static final int MAX_VARINT_LENGTH = 3;
+    // marker and varint tag fit in the first 8 characters of a compact id
+    private static final int TAG_PREFIX_LENGTH = 8;
+
+    private final TypeRegistry typeRegistry;
+    private final boolean compactEncoding;
+    private final Map<String, Integer> pinnedTags;
+    private volatile TagTable tagTable;
+
+
+    public GlobalIdCodec(TypeRegistry typeRegistry, boolean compactEncoding) {
+        this(typeRegistry, compactEncoding, Collections.emptyMap());
+    }
+
+    /**
+     * @param typeRegistry registry of the types the ids are of
+     * @param compactEncoding whether to encode compact ids, legacy ones otherwise
+     * @param pinnedTags tags to use instead of the ones derived from the type names, by type name
+     */
+    public GlobalIdCodec(TypeRegistry typeRegistry, boolean compactEncoding, Map<String, Integer> pinnedTags) {
+        this.typeRegistry = typeRegistry;
+        this.compactEncoding = compactEncoding;
+        this.pinnedTags = pinnedTags;
+        pinnedTags.forEach((name, tag) -> {
+            if (tag < 0 || tag >= 1 << TAG_BITS) {
+                throw new IllegalArgumentException("Type tag of [" + name + "] must be in [0, " + (1 << TAG_BITS) + "), got " + tag);
+            }
+        });
+        this.tagTable = new TagTable(Collections.emptyMap());
+    }
+
+    public boolean isCompactEncoding() {
+        return compactEncoding;
+    }
+
+    /**
+     * @param relay relay the global ids are declared by
+     * @return whether the global ids of the relay are encoded and decoded by this codec: always in compact encoding,
+     * and in legacy encoding only for the default {@link RelayImpl}, as a custom relay may encode its own way
+     */
+    public boolean handles(Relay relay) {
+        return compactEncoding || relay == null || relay.getClass() == RelayImpl.class;
+    }
+
+    /**
+     * Index the tags of the registered types
+     *
+     * @return this codec
+     * @throws GlitrException if two types share a tag in compact encoding
+     */
+    public GlobalIdCodec indexTypes() {
+        index();
+        return this;
+    }
+
+    public String toGlobalId(String type, String id) {
+        if (!compactEncoding) {
+            return toLegacyGlobalId(type, id);
+        }
+
+        int tag = getTagTable(type, -1).tagOf(type);
+        if (tag < 0) {
+            // not an object type of the registry, can't be tagged
+            return toLegacyGlobalId(type, id);
+        }
+
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[1 + varintLength(tag) + idBytes.length];
+        bytes[0] = COMPACT_MARKER;
+        int offset = 1;
+        while ((tag & ~0x7f) != 0) {
+            bytes[offset++] = (byte) ((tag & 0x7f) | 0x80);
+            tag >>>= 7;
+        }
+        bytes[offset++] = (byte) tag;
+        System.arraycopy(idBytes, 0, bytes, offset, idBytes.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decode the type only, the id bytes aren't turned into a string
+     *
+     * @param globalId compact or legacy global id
+     * @return the type name
+     */
+    public String getType(String globalId) {
+        if (!isCompact(globalId)) {
+            return fromLegacyGlobalId(globalId).getType();
+        }
+        String prefix = globalId.length() > TAG_PREFIX_LENGTH ? globalId.substring(0, TAG_PREFIX_LENGTH) : globalId;
+        byte[] bytes = Base64.getUrlDecoder().decode(prefix);
+        return typeOf(readTag(bytes, globalId), globalId);
+    }
+
+    public String getId(String globalId) {
+        return fromGlobalId(globalId).getId();
+    }
+
+    public graphql.relay.Relay.ResolvedGlobalId fromGlobalId(String globalId) {
+        if (!isCompact(globalId)) {
+            return fromLegacyGlobalId(globalId);
+        }
+        byte[] bytes = Base64.getUrlDecoder().decode(globalId);
+        int tag = readTag(bytes, globalId);
+        int idOffset = 1 + varintLength(tag);
+        String id = new String(bytes, idOffset, bytes.length - idOffset, StandardCharsets.UTF_8);
+        return new graphql.relay.Relay.ResolvedGlobalId(typeOf(tag, globalId), id);
+    }
+
+    private static boolean isCompact(String globalId) {
+        // the marker byte encodes as 'A', legacy ids start with the Base64 of a letter
+        return !globalId.isEmpty() && globalId.charAt(0) == 'A';
+    }
+
+    private static int readTag(byte[] bytes, String globalId) {
+        if (bytes.length < 2 || bytes[0] != COMPACT_MARKER) {
+            throw new IllegalArgumentException("Invalid global id [" + globalId + "]");
+        }
+        int tag = 0;
+        for (int i = 0; i < MAX_VARINT_LENGTH && i + 1 < bytes.length; i++) {
+            byte b = bytes[i + 1];
+            tag |= (b & 0x7f) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return tag;
+            }
+        }
+        throw new IllegalArgumentException("Invalid global id [" + globalId + "]");
+    }
+
+    private String typeOf(int tag, String globalId) {
+        String type = getTagTable(null, tag).typeOf(tag);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown type of global id [" + globalId + "]");
+        }
+        return type;
+    }
+
+    private graphql.relay.Relay.ResolvedGlobalId fromLegacyGlobalId(String globalId) {
+        byte[] bytes = Base64.getUrlDecoder().decode(globalId);
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == ':') {
+                String type = new String(bytes, 0, i, StandardCharsets.UTF_8);
+                String id = new String(bytes, i + 1, bytes.length - i - 1, StandardCharsets.UTF_8);
+                return new graphql.relay.Relay.ResolvedGlobalId(getTagTable(type, -1).intern(type), id);
+            }
+        }
+        throw new IllegalArgumentException("Invalid global id [" + globalId + "]");
+    }
+
+    private static String toLegacyGlobalId(String type, String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((type + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int varintLength(int tag) {
+        return tag < 1 << 7 ? 1 : tag < 1 << 14 ? 2 : 3;
+    }
+
+    static int defaultTag(String typeName) {
+        int h = typeName.hashCode();
+        return (h ^ (h >>> TAG_BITS)) & ((1 << TAG_BITS) - 1);
+    }
+
+    /**
+     * The table of the registered types, indexed again when a type or tag isn't found, since types can be added to
+     * the registry after the schema is built, e.g: when loaded lazily
+     */
+    private TagTable getTagTable(String type, int tag) {
+        TagTable table = tagTable;
+        boolean found = type != null ? table.tagOf(type) >= 0 : table.typeOf(tag) != null;
+        if (!found && table.size != typeRegistry.getNameRegistry().size()) {
+            table = index();
+        }
+        return table;
+    }
+
+    private synchronized TagTable index() {
+        Map<String, GraphQLType> nameRegistry = typeRegistry.getNameRegistry();
+        if (tagTable.size == nameRegistry.size()) {
+            return tagTable;
+        }
+        tagTable = new TagTable(nameRegistry);
+        return tagTable;
+    }
+
+
+    /**
+     * Open addressing tables of the object type tags, by name and by tag
+     */
+    private class TagTable {
+
+        private final int size;
+        private final Map<String, Integer> tagsByName = new HashMap<>();
+        private final int[] tags;
+        private final String[] types;
+        private final int mask;
+
+
+        TagTable(Map<String, GraphQLType> nameRegistry) {
+            this.size = nameRegistry.size();
+
+            int capacity = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+            this.tags = new int[capacity];
+            this.types = new String[capacity];
+            this.mask = capacity - 1;
+
+            for (GraphQLType type : nameRegistry.values()) {
+                if (!(type instanceof GraphQLObjectType)) {
+                    continue;
+                }
+                String name = type.getName();
+                int tag = pinnedTags.getOrDefault(name, defaultTag(name));
+                tagsByName.put(name, tag);
+                String other = typeOf(tag);
+                if (other != null) {
+                    if (!compactEncoding) {
+                        // legacy ids don't carry the tag, the type is only interned by name
+                        continue;
+                    }
+                    throw new GlitrException("Types [" + other + "] and [" + name + "] have the same global id tag " + tag
+                            + ", pin the tag of one of them");
+                }
+                int index = index(tag);
+                while (types[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                tags[index] = tag;
+                types[index] = name;
+            }
+        }
+
+        private int index(int tag) {
+            int h = tag * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        int tagOf(String type) {
+            Integer tag = tagsByName.get(type);
+            return tag == null ? -1 : tag;
+        }
+
+        String typeOf(int tag) {
+            for (int index = index(tag); types[index] != null; index = (index + 1) & mask) {
+                if (tags[index] == tag) {
+                    return types[index];
+                }
+            }
+            return null;
+        }
+
+        String intern(String type) {
+            int tag = tagOf(type);
+            String interned = tag < 0 ? null : typeOf(tag);
+            return type.equals(interned) ? interned : type;
+        }
+    }
+}
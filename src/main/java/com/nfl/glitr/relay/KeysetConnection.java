@@ -0,0 +1,145 @@
+package com.nfl.glitr.relay;
+
+import com.nfl.glitr.relay.cursor.KeysetCursorCodec;
+import graphql.relay.Connection;
+import graphql.relay.ConnectionCursor;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * {@link Connection} whose cursors carry the sort key values of the edges, see {@link KeysetCursorCodec}. The source
+ * is expected to hold up to {@code first + 1} items, the extra one only telling whether there is a next page.
+ * <p>
+ * A backward page holds the items right before the {@code before} cursor, in reverse order as fetched with a
+ * descending sort, the extra one then telling whether there is a previous page. The edges are returned in order.
+ */
+public class KeysetConnection<T> implements Connection<T> {
+
+    private final Iterable<T> source;
+    private final Function<? super T, List<?>> keyExtractor;
+    private final int limit;
+    private final boolean backward;
+
+    private List<Edge<T>> edges;
+    private boolean hasPreviousPage;
+    private boolean hasNextPage;
+    private PageInfoWithTotal pageInfo;
+
+
+    /**
+     * @param source - items to be returned, fetched with a limit of {@code first + 1}
+     * @param keyExtractor - sort key values of an item
+     * @param first - the limit of items that should be returned per request
+     * @param hasPreviousPage - whether the items were fetched after a cursor
+     */
+    public KeysetConnection(Iterable<T> source, Function<? super T, List<?>> keyExtractor, int first, boolean hasPreviousPage) {
+        this(source, keyExtractor, first, false, hasPreviousPage);
+    }
+
+    private KeysetConnection(Iterable<T> source, Function<? super T, List<?>> keyExtractor, int limit, boolean backward, boolean hasOtherPage) {
+        this.source = source;
+        this.keyExtractor = keyExtractor;
+        this.limit = limit;
+        this.backward = backward;
+        this.hasPreviousPage = !backward && hasOtherPage;
+        this.hasNextPage = backward && hasOtherPage;
+    }
+
+    /**
+     * @param source - items to be returned, fetched in reverse order with a limit of {@code last + 1}
+     * @param keyExtractor - sort key values of an item
+     * @param last - the limit of items that should be returned per request
+     * @param hasNextPage - whether the items were fetched before a cursor
+     * @param <T> - type of the items
+     * @return the connection
+     */
+    public static <T> KeysetConnection<T> backward(Iterable<T> source, Function<? super T, List<?>> keyExtractor, int last, boolean hasNextPage) {
+        return new KeysetConnection<>(source, keyExtractor, last, true, hasNextPage);
+    }
+
+    @Override
+    public synchronized List<Edge<T>> getEdges() {
+        if (edges == null) {
+            List<Edge<T>> list = new ArrayList<>();
+            for (T node : source) {
+                if (list.size() == limit) {
+                    if (backward) {
+                        hasPreviousPage = true;
+                    } else {
+                        hasNextPage = true;
+                    }
+                    break;
+                }
+                list.add(new LazyConnection.LazyEdge<>(node, new KeysetCursor<>(node, keyExtractor)));
+            }
+            if (backward) {
+                Collections.reverse(list);
+            }
+            edges = Collections.unmodifiableList(list);
+        }
+        return edges;
+    }
+
+    @Override
+    public synchronized PageInfo getPageInfo() {
+        if (pageInfo == null) {
+            List<Edge<T>> edges = getEdges();
+            ConnectionCursor startCursor = edges.isEmpty() ? null : edges.get(0).getCursor();
+            ConnectionCursor endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+            pageInfo = new PageInfoWithTotal(startCursor, endCursor, hasPreviousPage, hasNextPage);
+        }
+        return pageInfo;
+    }
+
+
+    /**
+     * Keyset cursor, encoded on first read
+     */
+    static class KeysetCursor<T> implements ConnectionCursor {
+
+        private final T node;
+        private final Function<? super T, List<?>> keyExtractor;
+        private String value;
+
+
+        KeysetCursor(T node, Function<? super T, List<?>> keyExtractor) {
+            this.node = node;
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        public String getValue() {
+            if (value == null) {
+                value = KeysetCursorCodec.encode(keyExtractor.apply(node));
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConnectionCursor)) {
+                return false;
+            }
+            return Objects.equals(getValue(), ((ConnectionCursor) o).getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getValue();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.nfl.glitr.relay;
+
+import com.nfl.glitr.relay.cursor.CursorCodec;
+import com.nfl.glitr.relay.cursor.OffsetCursorCodec;
+import graphql.relay.Connection;
+import graphql.relay.ConnectionCursor;
+import graphql.relay.Edge;
+import graphql.relay.PageInfo;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link Connection} built on demand from its source: the edges are only created when requested, and their cursors
+ * only encoded when read.
+ */
+public class LazyConnection<T> implements Connection<T> {
+
+    private final Iterable<T> source;
+    private final int offset;
+    private final int itemsPerPage;
+    private final int totalCount;
+    private final Supplier<CompletableFuture<Integer>> deferredTotalCount;
+    private final Integer beforeOffset;
+    private final CursorCodec cursorCodec;
+
+    private List<Edge<T>> edges;
+    private boolean hasNextPage;
+    private PageInfoWithTotal pageInfo;
+
+
+    /**
+     * @param source - items to be returned
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     */
+    public LazyConnection(Iterable<T> source, int offset, int itemsPerPage, int totalCount) {
+        this(source, offset, itemsPerPage, totalCount, OffsetCursorCodec.INSTANCE);
+    }
+
+    /**
+     * @param source - items to be returned
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     * @param cursorCodec - codec of the cursors
+     */
+    public LazyConnection(Iterable<T> source, int offset, int itemsPerPage, int totalCount, CursorCodec cursorCodec) {
+        this(source, offset, itemsPerPage, totalCount, null, null, cursorCodec);
+    }
+
+    /**
+     * Connection whose total is only counted if selected. The source is then expected to hold up to
+     * {@code itemsPerPage + 1} items, the extra one only telling whether there is a next page.
+     *
+     * @param source - items to be returned, fetched with a limit of {@code itemsPerPage + 1}
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items, invoked at most once
+     * @param cursorCodec - codec of the cursors
+     */
+    public LazyConnection(Iterable<T> source, int offset, int itemsPerPage, Supplier<CompletableFuture<Integer>> totalCount, CursorCodec cursorCodec) {
+        this(source, offset, itemsPerPage, 0, totalCount, null, cursorCodec);
+    }
+
+    private LazyConnection(Iterable<T> source, int offset, int itemsPerPage, int totalCount, @Nullable Supplier<CompletableFuture<Integer>> deferredTotalCount,
+                           @Nullable Integer beforeOffset, CursorCodec cursorCodec) {
+        this.source = source;
+        this.offset = offset;
+        this.itemsPerPage = itemsPerPage;
+        this.totalCount = totalCount;
+        this.deferredTotalCount = deferredTotalCount;
+        this.beforeOffset = beforeOffset;
+        this.cursorCodec = cursorCodec;
+    }
+
+    /**
+     * Backward page: the {@code last} items right before {@code beforeOffset}, or the {@code last} items of the result
+     * set if there is no {@code before} cursor
+     *
+     * @param source - items to be returned, in order, starting at {@code max(0, beforeOffset - last)}
+     * @param beforeOffset - offset of the {@code before} cursor, the total count if there is none
+     * @param last - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     * @param cursorCodec - codec of the cursors
+     * @param <T> - type of the items
+     * @return the connection
+     */
+    public static <T> LazyConnection<T> backward(Iterable<T> source, int beforeOffset, int last, int totalCount, CursorCodec cursorCodec) {
+        int offset = Math.max(0, beforeOffset - last);
+        return new LazyConnection<>(source, offset, last, totalCount, null, beforeOffset, cursorCodec);
+    }
+
+    @Override
+    public synchronized List<Edge<T>> getEdges() {
+        if (edges == null) {
+            List<Edge<T>> list = source instanceof Collection ? new ArrayList<>(((Collection) source).size()) : new ArrayList<>();
+            int ix = offset;
+            for (T node : source) {
+                if (deferredTotalCount != null && list.size() == itemsPerPage) {
+                    hasNextPage = true;
+                    break;
+                }
+                if (beforeOffset != null && ix >= beforeOffset) {
+                    break;
+                }
+                list.add(new LazyEdge<>(node, new OffsetCursor(ix, cursorCodec)));
+                ix++;
+            }
+            edges = Collections.unmodifiableList(list);
+        }
+        return edges;
+    }
+
+    @Override
+    public synchronized PageInfo getPageInfo() {
+        if (pageInfo == null) {
+            int size = size();
+
+            ConnectionCursor startCursor = null;
+            ConnectionCursor endCursor = null;
+            ConnectionCursor previousPageStartCursor = null;
+
+            boolean hasPreviousPage;
+            boolean hasNextPage;
+            if (deferredTotalCount != null) {
+                hasPreviousPage = offset > 0;
+                hasNextPage = this.hasNextPage;
+            } else if (beforeOffset != null) {
+                hasPreviousPage = offset > 0;
+                hasNextPage = beforeOffset < totalCount;
+            } else {
+                hasPreviousPage = offset > 0 && totalCount > 0;
+                hasNextPage = offset + size + 1 < totalCount;
+            }
+
+            if (size > 0) {
+                startCursor = new OffsetCursor(offset, cursorCodec);
+                endCursor = new OffsetCursor(offset + size - 1, cursorCodec);
+
+                if (offset - itemsPerPage > 0) {
+                    previousPageStartCursor = new OffsetCursor(offset - itemsPerPage - 1, cursorCodec);
+                }
+            }
+
+            pageInfo = new PageInfoWithTotal(startCursor, endCursor, hasPreviousPage, hasNextPage);
+            if (deferredTotalCount != null) {
+                pageInfo.setTotalSupplier(deferredTotalCount);
+            } else {
+                pageInfo.setTotal(totalCount);
+            }
+            pageInfo.setPreviousPageStartCursor(previousPageStartCursor);
+        }
+        return pageInfo;
+    }
+
+    private int size() {
+        if (edges == null && source instanceof Collection && deferredTotalCount == null && beforeOffset == null) {
+            return ((Collection) source).size();
+        }
+        return getEdges().size();
+    }
+
+
+    /**
+     * Edge of a lazy connection, its cursor being encoded on first read
+     */
+    static class LazyEdge<T> implements Edge<T> {
+
+        private final T node;
+        private final ConnectionCursor cursor;
+
+
+        LazyEdge(T node, ConnectionCursor cursor) {
+            this.node = node;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public T getNode() {
+            return node;
+        }
+
+        @Override
+        public ConnectionCursor getCursor() {
+            return cursor;
+        }
+    }
+
+    /**
+     * Offset cursor, encoded on first read
+     */
+    static class OffsetCursor implements ConnectionCursor {
+
+        private final int offset;
+        private final CursorCodec cursorCodec;
+        private String value;
+
+
+        OffsetCursor(int offset, CursorCodec cursorCodec) {
+            this.offset = offset;
+            this.cursorCodec = cursorCodec;
+        }
+
+        @Override
+        public String getValue() {
+            if (value == null) {
+                value = cursorCodec.encode(offset);
+            }
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ConnectionCursor)) {
+                return false;
+            }
+            return getValue().equals(((ConnectionCursor) o).getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getValue();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.nfl.glitr.relay;
+
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads the nodes of one type at once, see {@link RelayConfig.RelayConfigBuilder#withNodeBatchLoader}
+ *
+ * @param <T> node type
+ */
+@FunctionalInterface
+public interface NodeBatchLoader<T> {
+
+    /**
+     * @param ids ids of the nodes, decoded from their global ids
+     * @param env environment of the {@code node} or {@code nodes} field
+     * @return the nodes found, by id
+     */
+    CompletableFuture<Map<String, T>> load(List<String> ids, DataFetchingEnvironment env);
+}
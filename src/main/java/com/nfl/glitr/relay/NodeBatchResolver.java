@@ -0,0 +1,176 @@
+package com.nfl.glitr.relay;
+
+import com.nfl.glitr.annotation.GlitrIgnore;
+import com.nfl.glitr.exception.GlitrException;
+import com.nfl.glitr.registry.TypeRegistry;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLType;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Query root override fetching the relay {@code node(id:)} and {@code nodes(ids:)} fields declared by the query root.
+ * The global ids of a {@code nodes} field are decoded once, grouped by type and each type is loaded by a single call
+ * to its {@link NodeBatchLoader}, the loaders of the different types running concurrently.
+ * <p>
+ * To also batch the ids of separate fields, e.g: several {@code node(id:)} fields of a query, register the data loaders
+ * of the node types in the {@link DataLoaderRegistry} of each request, see {@link #registerDataLoaders(DataLoaderRegistry)}.
+ * <p>
+ * Nodes of a type without loader, or not found by their loader, resolve to null.
+ */
+public class NodeBatchResolver {
+
+    private static final String DATA_LOADER_PREFIX = "glitr.node.";
+
+    private final Relay relay;
+    private final Map<Class, NodeBatchLoader> loaders;
+    private volatile Map<String, NodeBatchLoader> loadersByTypeName;
+    private volatile TypeRegistry typeRegistry;
+    private volatile GlobalIdCodec globalIdCodec;
+
+
+    public NodeBatchResolver(Relay relay, Map<Class, NodeBatchLoader> loaders) {
+        this.relay = relay;
+        this.loaders = loaders;
+    }
+
+    // the node types don't have to implement Node, these only fetch the fields of the query root
+    @GlitrIgnore
+    public CompletableFuture<Object> getNode(DataFetchingEnvironment env) {
+        String globalId = env.getArgument("id");
+        return resolve(Collections.singletonList(globalId), env).thenApply(nodes -> nodes.get(0));
+    }
+
+    @GlitrIgnore
+    public CompletableFuture<List<Object>> getNodes(DataFetchingEnvironment env) {
+        List<String> globalIds = env.getArgument("ids");
+        return resolve(globalIds, env);
+    }
+
+    /**
+     * @param globalIds global ids of the nodes
+     * @param env environment of the field
+     * @return the nodes, in the order of the given global ids
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<List<Object>> resolve(List<String> globalIds, DataFetchingEnvironment env) {
+        // decode once, group by type
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        List<graphql.relay.Relay.ResolvedGlobalId> resolvedIds = new ArrayList<>(globalIds.size());
+        for (String globalId : globalIds) {
+            graphql.relay.Relay.ResolvedGlobalId resolvedId = globalId == null ? null : fromGlobalId(globalId);
+            resolvedIds.add(resolvedId);
+            if (resolvedId != null && getLoader(resolvedId.getType()) != null) {
+                idsByType.computeIfAbsent(resolvedId.getType(), type -> new ArrayList<>()).add(resolvedId.getId());
+            }
+        }
+
+        // one call per type, all of them running at once, or queued on the data loader of the request
+        Map<String, CompletableFuture<Map<String, Object>>> nodesByType = new HashMap<>();
+        idsByType.forEach((type, ids) -> {
+            DataLoader<String, Object> dataLoader = env != null ? env.getDataLoader(DATA_LOADER_PREFIX + type) : null;
+            nodesByType.put(type, dataLoader != null ? load(dataLoader, ids, env) : getLoader(type).load(ids, env));
+        });
+
+        return CompletableFuture.allOf(nodesByType.values().toArray(new CompletableFuture[0]))
+                .thenApply(done -> {
+                    List<Object> nodes = new ArrayList<>(globalIds.size());
+                    for (graphql.relay.Relay.ResolvedGlobalId resolvedId : resolvedIds) {
+                        CompletableFuture<Map<String, Object>> typeNodes = resolvedId == null ? null : nodesByType.get(resolvedId.getType());
+                        nodes.add(typeNodes == null ? null : typeNodes.join().get(resolvedId.getId()));
+                    }
+                    return nodes;
+                });
+    }
+
+    /**
+     * Register a data loader per node type, to be done for each request, so that the ids of all the {@code node} and
+     * {@code nodes} fields of the request are loaded by a single call per type. The loaders are then handed the
+     * environment of one of those fields.
+     *
+     * @param registry data loader registry of the request
+     * @return the given registry
+     */
+    @SuppressWarnings("unchecked")
+    public DataLoaderRegistry registerDataLoaders(DataLoaderRegistry registry) {
+        Map<String, NodeBatchLoader> index = loadersByTypeName;
+        if (index == null) {
+            index = indexLoaders();
+        }
+        index.forEach((type, loader) -> registry.register(DATA_LOADER_PREFIX + type,
+                DataLoader.newMappedDataLoader((Set<String> ids, BatchLoaderEnvironment batchEnv) -> {
+                    DataFetchingEnvironment env = (DataFetchingEnvironment) batchEnv.getKeyContexts().get(ids.iterator().next());
+                    return loader.load(new ArrayList<>(ids), env);
+                })));
+        return registry;
+    }
+
+    private static CompletableFuture<Map<String, Object>> load(DataLoader<String, Object> dataLoader, List<String> ids, DataFetchingEnvironment env) {
+        List<Object> keyContexts = Collections.nCopies(ids.size(), env);
+        return dataLoader.loadMany(ids, keyContexts).thenApply(nodes -> {
+            Map<String, Object> nodesById = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                nodesById.put(ids.get(i), nodes.get(i));
+            }
+            return nodesById;
+        });
+    }
+
+    public NodeBatchResolver setTypeRegistry(TypeRegistry typeRegistry) {
+        this.typeRegistry = typeRegistry;
+        this.loadersByTypeName = null;
+        return this;
+    }
+
+    /**
+     * @param globalIdCodec codec decoding the global ids, instead of the {@link Relay} when it {@link GlobalIdCodec#handles} it
+     * @return this resolver
+     */
+    public NodeBatchResolver setGlobalIdCodec(GlobalIdCodec globalIdCodec) {
+        this.globalIdCodec = globalIdCodec;
+        return this;
+    }
+
+    private graphql.relay.Relay.ResolvedGlobalId fromGlobalId(String globalId) {
+        GlobalIdCodec codec = globalIdCodec;
+        return codec != null && codec.handles(relay) ? codec.fromGlobalId(globalId) : relay.fromGlobalId(globalId);
+    }
+
+    private NodeBatchLoader getLoader(String typeName) {
+        Map<String, NodeBatchLoader> index = loadersByTypeName;
+        if (index == null) {
+            index = indexLoaders();
+        }
+        return index.get(typeName);
+    }
+
+    /**
+     * Index the loaders by type name, once the types are known
+     */
+    private synchronized Map<String, NodeBatchLoader> indexLoaders() {
+        if (loadersByTypeName != null) {
+            return loadersByTypeName;
+        }
+        if (typeRegistry == null) {
+            throw new GlitrException("NodeBatchResolver isn't bound to a TypeRegistry");
+        }
+
+        String nodeInterfaceName = typeRegistry.getNodeInterface().getName();
+        Map<String, NodeBatchLoader> index = new HashMap<>();
+        loaders.forEach((clazz, loader) -> {
+            GraphQLType type = typeRegistry.getRegistry().get(clazz);
+            if (!(type instanceof GraphQLObjectType) || ((GraphQLObjectType) type).getInterfaces().stream()
+                    .noneMatch(anInterface -> anInterface.getName().equals(nodeInterfaceName))) {
+                throw new GlitrException("Node batch loader registered for [" + clazz.getSimpleName() + "] which isn't a type of the schema implementing " + nodeInterfaceName);
+            }
+            index.put(type.getName(), loader);
+        });
+        loadersByTypeName = index;
+        return index;
+    }
+}
@@ -3,9 +3,13 @@ package com.nfl.glitr.relay;
 import graphql.relay.ConnectionCursor;
 import graphql.relay.DefaultPageInfo;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public class PageInfoWithTotal extends DefaultPageInfo {
 
-    private int total;
+    private CompletableFuture<Integer> total = CompletableFuture.completedFuture(0);
+    private Supplier<CompletableFuture<Integer>> totalSupplier;
     private ConnectionCursor previousPageStartCursor;
 
 
@@ -15,11 +19,32 @@ public class PageInfoWithTotal extends DefaultPageInfo {
     }
 
     public int getTotal() {
-        return total;
+        return getTotalFuture().join();
     }
 
     public void setTotal(int total) {
-        this.total = total;
+        this.total = CompletableFuture.completedFuture(total);
+        this.totalSupplier = null;
+    }
+
+    /**
+     * @return the total, computed on first call when deferred with {@link #setTotalSupplier(Supplier)}
+     */
+    public synchronized CompletableFuture<Integer> getTotalFuture() {
+        if (totalSupplier != null) {
+            total = totalSupplier.get();
+            totalSupplier = null;
+        }
+        return total;
+    }
+
+    /**
+     * Defer the count of the elements until the total is actually selected
+     *
+     * @param totalSupplier count of the elements, invoked at most once
+     */
+    public synchronized void setTotalSupplier(Supplier<CompletableFuture<Integer>> totalSupplier) {
+        this.totalSupplier = totalSupplier;
     }
 
     public ConnectionCursor getPreviousPageStartCursor() {
@@ -0,0 +1,50 @@
+package com.nfl.glitr.relay;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maximum page size of the connection fields, i.e: the largest {@code first} or {@code last} a client may ask for.
+ * A field level maximum, keyed by field coordinate e.g: {@code QueryType.videos}, overrides the global one.
+ * <p>
+ * Larger pages are clamped to the maximum, or rejected when rejection is enabled.
+ */
+public class PageSizeLimit {
+
+    public static final int UNLIMITED = 0;
+
+    private final int maxPageSize;
+    private final Map<String, Integer> maxPageSizeByField;
+    private final boolean rejecting;
+
+
+    public PageSizeLimit(int maxPageSize, Map<String, Integer> maxPageSizeByField, boolean rejecting) {
+        if (maxPageSize < 0) {
+            throw new IllegalArgumentException("Max page size can't be negative, got " + maxPageSize);
+        }
+        maxPageSizeByField.forEach((coordinate, max) -> {
+            if (max < 0) {
+                throw new IllegalArgumentException("Max page size of [" + coordinate + "] can't be negative, got " + max);
+            }
+        });
+        this.maxPageSize = maxPageSize;
+        this.maxPageSizeByField = new HashMap<>(maxPageSizeByField);
+        this.rejecting = rejecting;
+    }
+
+    /**
+     * @param coordinate coordinate of the connection field, e.g: {@code QueryType.videos}
+     * @return the maximum page size of the field, {@link #UNLIMITED} if none
+     */
+    public int getMaxPageSize(String coordinate) {
+        return maxPageSizeByField.getOrDefault(coordinate, maxPageSize);
+    }
+
+    public boolean isRejecting() {
+        return rejecting;
+    }
+
+    public boolean isEmpty() {
+        return maxPageSize == UNLIMITED && maxPageSizeByField.values().stream().allMatch(max -> max == UNLIMITED);
+    }
+}
@@ -0,0 +1,70 @@
+package com.nfl.glitr.relay;
+
+import rx.Observable;
+import rx.Subscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads a page out of an {@link Observable}: requests exactly {@code limit} elements, and unsubscribes from the
+ * source as soon as they are received, instead of letting it emit the rest of the result set.
+ */
+class PageSubscriber<T> extends Subscriber<T> {
+
+    // initial capacity of the page, the limit being possibly much larger than the source
+    private static final int MAX_INITIAL_CAPACITY = 64;
+
+    private final int limit;
+    private final List<T> elements;
+    private final CompletableFuture<List<T>> page = new CompletableFuture<>();
+
+
+    private PageSubscriber(int limit) {
+        this.limit = limit;
+        this.elements = new ArrayList<>(Math.min(limit, MAX_INITIAL_CAPACITY));
+    }
+
+    /**
+     * @param source - elements of the page, in order
+     * @param limit - maximum amount of elements to read
+     * @param <T> - type of the elements
+     * @return up to {@code limit} first elements of the source, completed once read
+     */
+    static <T> CompletableFuture<List<T>> read(Observable<T> source, int limit) {
+        if (limit <= 0) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        PageSubscriber<T> subscriber = new PageSubscriber<>(limit);
+        source.subscribe(subscriber);
+        return subscriber.page;
+    }
+
+    @Override
+    public void onStart() {
+        request(limit);
+    }
+
+    @Override
+    public void onNext(T element) {
+        if (page.isDone()) {
+            return;
+        }
+        elements.add(element);
+        if (elements.size() == limit) {
+            unsubscribe();
+            page.complete(elements);
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        page.complete(elements);
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        page.completeExceptionally(e);
+    }
+}
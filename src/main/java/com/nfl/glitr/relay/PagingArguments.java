@@ -0,0 +1,125 @@
+package com.nfl.glitr.relay;
+
+import com.nfl.glitr.annotation.GlitrForwardPagingArguments;
+import com.nfl.glitr.relay.cursor.CursorCodec;
+import com.nfl.glitr.relay.cursor.KeysetCursorCodec;
+import com.nfl.glitr.relay.cursor.OffsetCursorCodec;
+import graphql.schema.DataFetchingEnvironment;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Paging arguments of a {@link GlitrForwardPagingArguments} field, with its {@code after} and {@code before} cursors
+ * decoded either as an offset or as the sort key values of a keyset cursor.
+ */
+public class PagingArguments {
+
+    public static final String FIRST = GlitrForwardPagingArguments.FIRST;
+    public static final String AFTER = GlitrForwardPagingArguments.AFTER;
+    public static final String LAST = "last";
+    public static final String BEFORE = "before";
+
+    private final Integer first;
+    private final String after;
+    private final Integer last;
+    private final String before;
+
+
+    private PagingArguments(@Nullable Integer first, @Nullable String after, @Nullable Integer last, @Nullable String before) {
+        this.first = first;
+        this.after = after;
+        this.last = last;
+        this.before = before;
+    }
+
+    public static PagingArguments from(DataFetchingEnvironment env) {
+        return new PagingArguments(env.getArgument(FIRST), env.getArgument(AFTER), env.getArgument(LAST), env.getArgument(BEFORE));
+    }
+
+    @Nullable
+    public Integer getFirst() {
+        return first;
+    }
+
+    public int getFirst(int defaultValue) {
+        return first != null ? first : defaultValue;
+    }
+
+    @Nullable
+    public String getAfter() {
+        return after;
+    }
+
+    @Nullable
+    public Integer getLast() {
+        return last;
+    }
+
+    public int getLast(int defaultValue) {
+        return last != null ? last : defaultValue;
+    }
+
+    @Nullable
+    public String getBefore() {
+        return before;
+    }
+
+    /**
+     * @return true if the page is requested backward, with {@code last} or {@code before}
+     */
+    public boolean isBackward() {
+        return last != null || before != null;
+    }
+
+    /**
+     * @return true if the {@code after} cursor is a keyset cursor
+     */
+    public boolean isKeyset() {
+        return KeysetCursorCodec.isKeysetCursor(after);
+    }
+
+    /**
+     * @return the sort key values of the {@code after} cursor, null if there is no cursor
+     * @throws IllegalArgumentException if the cursor isn't a keyset cursor
+     */
+    @Nullable
+    public List<Object> getAfterKey() {
+        return after != null ? KeysetCursorCodec.decode(after) : null;
+    }
+
+    /**
+     * @param defaultValue offset to use if there is no cursor
+     * @return the offset of the {@code after} cursor
+     */
+    public int getAfterOffset(int defaultValue) {
+        return getAfterOffset(OffsetCursorCodec.INSTANCE, defaultValue);
+    }
+
+    /**
+     * @param cursorCodec codec the cursor was encoded with
+     * @param defaultValue offset to use if there is no cursor
+     * @return the offset of the {@code after} cursor
+     */
+    public int getAfterOffset(CursorCodec cursorCodec, int defaultValue) {
+        return after != null ? cursorCodec.decode(after) : defaultValue;
+    }
+
+    /**
+     * @return the sort key values of the {@code before} cursor, null if there is no cursor
+     * @throws IllegalArgumentException if the cursor isn't a keyset cursor
+     */
+    @Nullable
+    public List<Object> getBeforeKey() {
+        return before != null ? KeysetCursorCodec.decode(before) : null;
+    }
+
+    /**
+     * @param cursorCodec codec the cursor was encoded with
+     * @param defaultValue offset to use if there is no cursor, usually the total count
+     * @return the offset of the {@code before} cursor
+     */
+    public int getBeforeOffset(CursorCodec cursorCodec, int defaultValue) {
+        return before != null ? cursorCodec.decode(before) : defaultValue;
+    }
+}
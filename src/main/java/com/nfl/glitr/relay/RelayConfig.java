@@ -1,15 +1,35 @@
 package com.nfl.glitr.relay;
 
+import com.nfl.glitr.relay.cursor.CursorCodec;
+import com.nfl.glitr.relay.cursor.OffsetCursorCodec;
+
+import java.util.HashMap;
+import java.util.Map;
+
 public class RelayConfig {
 
     public static final boolean EXPLICIT_RELAY_NODE_SCAN_DEFAULT = false;
     private final Relay relay;
     private final boolean explicitRelayNodeScanEnabled;
+    private final CursorCodec cursorCodec;
+    private final boolean backwardPaginationEnabled;
+    private final Map<Class, NodeBatchLoader> nodeBatchLoaders;
+    private final boolean compactGlobalIdsEnabled;
+    private final Map<String, Integer> globalIdTypeTags;
+    private final PageSizeLimit pageSizeLimit;
 
 
-    private RelayConfig(Relay relay, boolean explicitRelayNodeScanEnabled) {
+    private RelayConfig(Relay relay, boolean explicitRelayNodeScanEnabled, CursorCodec cursorCodec, boolean backwardPaginationEnabled,
+                        Map<Class, NodeBatchLoader> nodeBatchLoaders, boolean compactGlobalIdsEnabled, Map<String, Integer> globalIdTypeTags,
+                        PageSizeLimit pageSizeLimit) {
         this.relay = relay;
         this.explicitRelayNodeScanEnabled = explicitRelayNodeScanEnabled;
+        this.cursorCodec = cursorCodec;
+        this.backwardPaginationEnabled = backwardPaginationEnabled;
+        this.nodeBatchLoaders = nodeBatchLoaders;
+        this.compactGlobalIdsEnabled = compactGlobalIdsEnabled;
+        this.globalIdTypeTags = globalIdTypeTags;
+        this.pageSizeLimit = pageSizeLimit;
     }
 
     public static RelayConfigBuilder newRelayConfig() {
@@ -20,6 +40,14 @@ public class RelayConfig {
 
         private Relay relay = null;
         private boolean explicitRelayNodeScanEnabled = EXPLICIT_RELAY_NODE_SCAN_DEFAULT;
+        private CursorCodec cursorCodec = OffsetCursorCodec.INSTANCE;
+        private boolean backwardPaginationEnabled = false;
+        private Map<Class, NodeBatchLoader> nodeBatchLoaders = new HashMap<>();
+        private boolean compactGlobalIdsEnabled = false;
+        private Map<String, Integer> globalIdTypeTags = new HashMap<>();
+        private int maxPageSize = PageSizeLimit.UNLIMITED;
+        private Map<String, Integer> maxPageSizeByField = new HashMap<>();
+        private boolean oversizedPageRejectionEnabled = false;
 
         public RelayConfigBuilder withRelay(Relay relay) {
             this.relay = relay;
@@ -31,12 +59,93 @@ public class RelayConfig {
             return this;
         }
 
+        public RelayConfigBuilder withCursorCodec(CursorCodec cursorCodec) {
+            this.cursorCodec = cursorCodec;
+            return this;
+        }
+
+        public RelayConfigBuilder withBackwardPagination() {
+            this.backwardPaginationEnabled = true;
+            return this;
+        }
+
+        /**
+         * Resolve the nodes of the given type in batch, through the {@code node} and {@code nodes} query root fields,
+         * see {@link NodeBatchResolver}. Those fields aren't added to the schema, the query root has to declare them,
+         * e.g: {@code @GlitrArgument(name = "ids", type = String[].class, required = true) List<Node> getNodes()}, and
+         * building fails when it doesn't declare a {@code nodes} field.
+         *
+         * @param nodeClass class of the node type
+         * @param nodeBatchLoader loader of the nodes of that type
+         * @return this builder
+         */
+        public RelayConfigBuilder withNodeBatchLoader(Class nodeClass, NodeBatchLoader nodeBatchLoader) {
+            this.nodeBatchLoaders.put(nodeClass, nodeBatchLoader);
+            return this;
+        }
+
+        /**
+         * Encode the global ids with numeric type tags, see {@link GlobalIdCodec}. Legacy ids are still decoded.
+         *
+         * @return this builder
+         */
+        public RelayConfigBuilder withCompactGlobalIds() {
+            this.compactGlobalIdsEnabled = true;
+            return this;
+        }
+
+        /**
+         * Pin the tag of a type in the compact global ids, instead of the one derived from its name
+         *
+         * @param typeName name of the type
+         * @param tag tag of the type, in [0, 2^21)
+         * @return this builder
+         */
+        public RelayConfigBuilder withGlobalIdTypeTag(String typeName, int tag) {
+            this.globalIdTypeTags.put(typeName, tag);
+            return this;
+        }
+
+        /**
+         * Cap the {@code first} and {@code last} arguments of the connection fields, see {@link PageSizeLimit}
+         *
+         * @param maxPageSize maximum page size of any connection field
+         * @return this builder
+         */
+        public RelayConfigBuilder withMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+            return this;
+        }
+
+        /**
+         * Cap the {@code first} and {@code last} arguments of a connection field, overriding the global maximum
+         *
+         * @param fieldCoordinate coordinate of the field, e.g: {@code QueryType.videos}
+         * @param maxPageSize maximum page size of the field, {@link PageSizeLimit#UNLIMITED} for none
+         * @return this builder
+         */
+        public RelayConfigBuilder withMaxPageSize(String fieldCoordinate, int maxPageSize) {
+            this.maxPageSizeByField.put(fieldCoordinate, maxPageSize);
+            return this;
+        }
+
+        /**
+         * Fail the connection fields asked for a page larger than their maximum, instead of clamping it
+         *
+         * @return this builder
+         */
+        public RelayConfigBuilder withOversizedPageRejection() {
+            this.oversizedPageRejectionEnabled = true;
+            return this;
+        }
+
         public RelayConfig build() {
             if (relay == null) {
                 this.relay = new RelayImpl();
             }
 
-            return new RelayConfig(relay, explicitRelayNodeScanEnabled);
+            return new RelayConfig(relay, explicitRelayNodeScanEnabled, cursorCodec, backwardPaginationEnabled, nodeBatchLoaders,
+                    compactGlobalIdsEnabled, globalIdTypeTags, new PageSizeLimit(maxPageSize, maxPageSizeByField, oversizedPageRejectionEnabled));
         }
     }
 
@@ -47,4 +156,28 @@ public class RelayConfig {
     public boolean isExplicitRelayNodeScanEnabled() {
         return explicitRelayNodeScanEnabled;
     }
-}
\ No newline at end of file
+
+    public CursorCodec getCursorCodec() {
+        return cursorCodec;
+    }
+
+    public boolean isBackwardPaginationEnabled() {
+        return backwardPaginationEnabled;
+    }
+
+    public Map<Class, NodeBatchLoader> getNodeBatchLoaders() {
+        return nodeBatchLoaders;
+    }
+
+    public boolean isCompactGlobalIdsEnabled() {
+        return compactGlobalIdsEnabled;
+    }
+
+    public Map<String, Integer> getGlobalIdTypeTags() {
+        return globalIdTypeTags;
+    }
+
+    public PageSizeLimit getPageSizeLimit() {
+        return pageSizeLimit;
+    }
+}
@@ -1,36 +1,86 @@
 package com.nfl.glitr.relay;
 
 import com.nfl.glitr.registry.TypeRegistry;
-import graphql.relay.*;
+import com.nfl.glitr.relay.cursor.CursorCodec;
+import com.nfl.glitr.relay.cursor.OffsetCursorCodec;
 import graphql.schema.*;
+import org.dataloader.DataLoaderRegistry;
+import rx.Observable;
 
-import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static graphql.Assert.assertNotNull;
 
 public class RelayHelper {
 
     private Relay relay;
-    private static final String DUMMY_CURSOR_PREFIX = "simple-cursor";
 
     private final TypeRegistry typeRegistry;
+    private final CursorCodec cursorCodec;
+    private final GlobalIdCodec globalIdCodec;
+    private NodeBatchResolver nodeBatchResolver;
 
 
     public RelayHelper(Relay relay, TypeRegistry typeRegistry) {
+        this(relay, typeRegistry, OffsetCursorCodec.INSTANCE);
+    }
+
+    public RelayHelper(Relay relay, TypeRegistry typeRegistry, CursorCodec cursorCodec) {
+        this(relay, typeRegistry, cursorCodec, new GlobalIdCodec(typeRegistry, false));
+    }
+
+    public RelayHelper(Relay relay, TypeRegistry typeRegistry, CursorCodec cursorCodec, GlobalIdCodec globalIdCodec) {
         assertNotNull(typeRegistry, "TypeRegistry can't be null");
         assertNotNull(typeRegistry.getNodeInterface(), "NodeInterface can't be null");
+        assertNotNull(cursorCodec, "CursorCodec can't be null");
+        assertNotNull(globalIdCodec, "GlobalIdCodec can't be null");
         this.relay = relay;
         this.typeRegistry = typeRegistry;
+        this.cursorCodec = cursorCodec;
+        this.globalIdCodec = globalIdCodec;
     }
 
     public GraphQLInterfaceType getNodeInterface() {
         return typeRegistry.getNodeInterface();
     }
 
+    public CursorCodec getCursorCodec() {
+        return cursorCodec;
+    }
+
+    public GlobalIdCodec getGlobalIdCodec() {
+        return globalIdCodec;
+    }
+
+    public RelayHelper setNodeBatchResolver(NodeBatchResolver nodeBatchResolver) {
+        this.nodeBatchResolver = nodeBatchResolver;
+        return this;
+    }
+
+    /**
+     * Register the data loaders of the node types in the registry of a request, see
+     * {@link NodeBatchResolver#registerDataLoaders(DataLoaderRegistry)}. Nothing is registered without node batch loaders.
+     *
+     * @param registry data loader registry of the request
+     * @return the given registry
+     */
+    public DataLoaderRegistry registerNodeDataLoaders(DataLoaderRegistry registry) {
+        return nodeBatchResolver != null ? nodeBatchResolver.registerDataLoaders(registry) : registry;
+    }
+
+    public String toGlobalId(String type, String id) {
+        return globalIdCodec.handles(relay) ? globalIdCodec.toGlobalId(type, id) : relay.toGlobalId(type, id);
+    }
+
+    public graphql.relay.Relay.ResolvedGlobalId fromGlobalId(String globalId) {
+        return globalIdCodec.handles(relay) ? globalIdCodec.fromGlobalId(globalId) : relay.fromGlobalId(globalId);
+    }
+
     public List<GraphQLArgument> getConnectionFieldArguments() {
         return relay.getConnectionFieldArguments();
     }
@@ -45,6 +95,8 @@ public class RelayHelper {
     }
 
     /**
+     * Legacy helper, the cursors are always encoded with the default {@link OffsetCursorCodec}: use
+     * {@link #newConnection(Iterable, int, int, int)} to honor the configured {@link CursorCodec}
      *
      * @param col - items to be returned
      * @param offset - identifier of the starting point to return items from a result set
@@ -52,48 +104,219 @@ public class RelayHelper {
      * @param totalCount - total amount of items
      * @return {@link graphql.relay.Connection}
      */
+    @SuppressWarnings("unchecked")
     public static graphql.relay.Connection buildConnection(Iterable<?> col, int offset, int itemsPerPage, int totalCount) {
-        List<Edge<Object>> edges = new ArrayList<>();
-        int ix = offset;
+        return new LazyConnection(col, offset, itemsPerPage, totalCount);
+    }
 
-        for (Object object : col) {
-            edges.add(new DefaultEdge<>(object, new DefaultConnectionCursor(createCursor(ix++))));
-        }
+    /**
+     * Same as {@link #buildConnection(Iterable, int, int, int)}, only counting the total when it's selected. The items
+     * are fetched with a limit of {@code itemsPerPage + 1}, the extra one telling whether there is a next page.
+     * Legacy helper, the cursors are always encoded with the default {@link OffsetCursorCodec}: use
+     * {@link #newConnection(Iterable, int, int, Supplier)} to honor the configured
+     * {@link CursorCodec}
+     *
+     * @param col - items to be returned, fetched with a limit of {@code itemsPerPage + 1}
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items, invoked at most once if {@code pageInfo.total} is selected
+     * @return {@link graphql.relay.Connection}
+     */
+    @SuppressWarnings("unchecked")
+    public static graphql.relay.Connection buildConnection(Iterable<?> col, int offset, int itemsPerPage, Supplier<CompletableFuture<Integer>> totalCount) {
+        return new LazyConnection(col, offset, itemsPerPage, totalCount, OffsetCursorCodec.INSTANCE);
+    }
 
-        ConnectionCursor startCursor = null;
-        ConnectionCursor endCursor = null ;
-        ConnectionCursor previousPageStartCursor = null ;
+    /**
+     * Build a connection whose cursors carry the sort key values of the edges, to be decoded with
+     * {@link PagingArguments#getAfterKey()} so that the next page is fetched by seeking past the key rather than by
+     * skipping an offset
+     *
+     * @param col - items to be returned, fetched with a limit of {@code first + 1}
+     * @param keyExtractor - sort key values of an item
+     * @param first - the limit of items that should be returned per request
+     * @param hasPreviousPage - whether the items were fetched after a cursor
+     * @param <T> - type of the items
+     * @return {@link graphql.relay.Connection}
+     */
+    public static <T> graphql.relay.Connection<T> buildConnection(Iterable<T> col, Function<? super T, List<?>> keyExtractor, int first, boolean hasPreviousPage) {
+        return new KeysetConnection<>(col, keyExtractor, first, hasPreviousPage);
+    }
+
+    /**
+     * Same as {@link #buildConnection(Iterable, int, int, Supplier)}, reading the page out of a reactive source: exactly
+     * {@code itemsPerPage + 1} items are requested, and the source is unsubscribed from once they are received.
+     * Legacy helper, the cursors are always encoded with the default {@link OffsetCursorCodec}: use
+     * {@link #newConnection(Observable, int, int, Supplier)} to honor the configured
+     * {@link CursorCodec}
+     *
+     * @param source - items to be returned, starting at the offset
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items, invoked at most once if {@code pageInfo.total} is selected
+     * @param <T> - type of the items
+     * @return {@link graphql.relay.Connection}, completed once the page is read
+     */
+    public static <T> CompletableFuture<graphql.relay.Connection<T>> buildConnection(Observable<T> source, int offset, int itemsPerPage, Supplier<CompletableFuture<Integer>> totalCount) {
+        return PageSubscriber.read(source, withNextPageItem(itemsPerPage))
+                .<graphql.relay.Connection<T>>thenApply(items -> new LazyConnection<>(items, offset, itemsPerPage, totalCount, OffsetCursorCodec.INSTANCE));
+    }
 
-        boolean hasPreviousPage = offset > 0 && totalCount > 0;
-        boolean hasNextPage = offset + edges.size() + 1 < totalCount;
+    /**
+     * Same as {@link #buildConnection(Iterable, Function, int, boolean)}, reading the page out of a reactive source:
+     * exactly {@code first + 1} items are requested, and the source is unsubscribed from once they are received
+     *
+     * @param source - items to be returned, after the cursor
+     * @param keyExtractor - sort key values of an item
+     * @param first - the limit of items that should be returned per request
+     * @param hasPreviousPage - whether the items were fetched after a cursor
+     * @param <T> - type of the items
+     * @return {@link graphql.relay.Connection}, completed once the page is read
+     */
+    public static <T> CompletableFuture<graphql.relay.Connection<T>> buildConnection(Observable<T> source, Function<? super T, List<?>> keyExtractor, int first, boolean hasPreviousPage) {
+        return PageSubscriber.read(source, withNextPageItem(first))
+                .<graphql.relay.Connection<T>>thenApply(items -> new KeysetConnection<>(items, keyExtractor, first, hasPreviousPage));
+    }
 
-        if (!edges.isEmpty()) {
-            Edge firstEdge = edges.get(0);
-            Edge lastEdge = edges.get(edges.size() - 1);
-            startCursor = firstEdge.getCursor();
-            endCursor = lastEdge.getCursor();
+    /**
+     * Build a backward page, made of the {@code last} items right before the {@code before} cursor. Legacy helper, the
+     * cursors are always encoded with the default {@link OffsetCursorCodec}: use
+     * {@link #newBackwardConnection(Iterable, int, int, int)} to honor the configured
+     * {@link CursorCodec}
+     *
+     * @param col - items to be returned, in order, starting at {@code max(0, beforeOffset - last)}
+     * @param beforeOffset - offset of the {@code before} cursor, the total count if there is none
+     * @param last - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     * @return {@link graphql.relay.Connection}
+     */
+    public static graphql.relay.Connection buildBackwardConnection(Iterable<?> col, int beforeOffset, int last, int totalCount) {
+        return LazyConnection.backward(col, beforeOffset, last, totalCount, OffsetCursorCodec.INSTANCE);
+    }
 
-            if (offset - itemsPerPage > 0) {
-                String cursor = createCursor(offset - itemsPerPage - 1);
-                previousPageStartCursor = new DefaultConnectionCursor(cursor);
-            }
-        }
+    /**
+     * Build a backward page whose cursors carry the sort key values of the edges, see
+     * {@link PagingArguments#getBeforeKey()}
+     *
+     * @param col - items to be returned, fetched in reverse order with a limit of {@code last + 1}
+     * @param keyExtractor - sort key values of an item
+     * @param last - the limit of items that should be returned per request
+     * @param hasNextPage - whether the items were fetched before a cursor
+     * @param <T> - type of the items
+     * @return {@link graphql.relay.Connection}
+     */
+    public static <T> graphql.relay.Connection<T> buildBackwardConnection(Iterable<T> col, Function<? super T, List<?>> keyExtractor, int last, boolean hasNextPage) {
+        return KeysetConnection.backward(col, keyExtractor, last, hasNextPage);
+    }
+
+    /**
+     * Same as {@link #buildConnection(Iterable, int, int, int)}, encoding the cursors with the configured
+     * {@link CursorCodec}
+     *
+     * @param col - items to be returned
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     * @return {@link graphql.relay.Connection}
+     */
+    @SuppressWarnings("unchecked")
+    public graphql.relay.Connection newConnection(Iterable<?> col, int offset, int itemsPerPage, int totalCount) {
+        return new LazyConnection(col, offset, itemsPerPage, totalCount, cursorCodec);
+    }
+
+    /**
+     * Same as {@link #buildConnection(Iterable, int, int, Supplier)}, encoding the cursors with the configured
+     * {@link CursorCodec}
+     *
+     * @param col - items to be returned, fetched with a limit of {@code itemsPerPage + 1}
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items, invoked at most once if {@code pageInfo.total} is selected
+     * @return {@link graphql.relay.Connection}
+     */
+    @SuppressWarnings("unchecked")
+    public graphql.relay.Connection newConnection(Iterable<?> col, int offset, int itemsPerPage, Supplier<CompletableFuture<Integer>> totalCount) {
+        return new LazyConnection(col, offset, itemsPerPage, totalCount, cursorCodec);
+    }
+
+    /**
+     * Same as {@link #buildConnection(Observable, int, int, Supplier)}, encoding the cursors with the configured
+     * {@link CursorCodec}
+     *
+     * @param source - items to be returned, starting at the offset
+     * @param offset - identifier of the starting point to return items from a result set
+     * @param itemsPerPage - the limit of items that should be returned per request
+     * @param totalCount - total amount of items, invoked at most once if {@code pageInfo.total} is selected
+     * @param <T> - type of the items
+     * @return {@link graphql.relay.Connection}, completed once the page is read
+     */
+    public <T> CompletableFuture<graphql.relay.Connection<T>> newConnection(Observable<T> source, int offset, int itemsPerPage, Supplier<CompletableFuture<Integer>> totalCount) {
+        return PageSubscriber.read(source, withNextPageItem(itemsPerPage))
+                .<graphql.relay.Connection<T>>thenApply(items -> new LazyConnection<>(items, offset, itemsPerPage, totalCount, cursorCodec));
+    }
 
-        PageInfoWithTotal pageInfoWithTotal = new PageInfoWithTotal(startCursor, endCursor, hasPreviousPage, hasNextPage);
-        pageInfoWithTotal.setTotal(totalCount);
-        pageInfoWithTotal.setPreviousPageStartCursor(previousPageStartCursor);
+    /**
+     * Same as {@link #buildBackwardConnection(Iterable, int, int, int)}, encoding the cursors with the configured
+     * {@link CursorCodec}
+     *
+     * @param col - items to be returned, in order, starting at {@code max(0, beforeOffset - last)}
+     * @param beforeOffset - offset of the {@code before} cursor, the total count if there is none
+     * @param last - the limit of items that should be returned per request
+     * @param totalCount - total amount of items
+     * @return {@link graphql.relay.Connection}
+     */
+    public graphql.relay.Connection newBackwardConnection(Iterable<?> col, int beforeOffset, int last, int totalCount) {
+        return LazyConnection.backward(col, beforeOffset, last, totalCount, cursorCodec);
+    }
+
+    /**
+     * @param offset - offset of the edge
+     * @return the cursor of the edge, encoded with the configured {@link CursorCodec}
+     */
+    public String encodeCursor(int offset) {
+        return cursorCodec.encode(offset);
+    }
 
-        return new DefaultConnection<>(edges, pageInfoWithTotal);
+    /**
+     * @param cursor - cursor encoded with the configured {@link CursorCodec}, may be null
+     * @param defaultValue - offset to return when there is no cursor
+     * @return the offset of the cursor
+     */
+    public int decodeCursor(String cursor, int defaultValue) {
+        return cursor == null ? defaultValue : cursorCodec.decode(cursor);
     }
 
+    /**
+     * Legacy helper, always encoding with the default {@link OffsetCursorCodec}: use {@link #encodeCursor(int)} to
+     * honor the configured {@link CursorCodec}
+     *
+     * @param offset - offset of the edge
+     * @return the cursor of the edge
+     */
     public static String createCursor(int offset) {
-        return Base64Helper.toBase64(DUMMY_CURSOR_PREFIX + offset);
+        return OffsetCursorCodec.INSTANCE.encode(offset);
     }
 
+    /**
+     * Legacy helper, always decoding with the default {@link OffsetCursorCodec}: use {@link #decodeCursor(String, int)}
+     * to honor the configured {@link CursorCodec}
+     *
+     * @param cursor - cursor of an edge, may be null
+     * @param defaultValue - offset to return when there is no cursor
+     * @return the offset of the cursor
+     */
     public static int getOffsetFromCursor(String cursor, int defaultValue) {
         if (cursor == null) return defaultValue;
-        String string = Base64Helper.fromBase64(cursor);
-        return Integer.parseInt(string.substring(DUMMY_CURSOR_PREFIX.length()));
+        return OffsetCursorCodec.INSTANCE.decode(cursor);
+    }
+
+
+    /**
+     * @param pageSize - the limit of items that should be returned per request
+     * @return the amount of items to read, one more than the page size to tell whether there is a next page
+     */
+    private static int withNextPageItem(int pageSize) {
+        return pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1;
     }
 
 
@@ -107,7 +330,7 @@ public class RelayHelper {
         }
 
         public static String fromBase64(String string) {
-            return new String(Base64.getDecoder().decode(string), Charset.forName("UTF-8"));
+            return new String(Base64.getDecoder().decode(string), StandardCharsets.UTF_8);
         }
     }
 }
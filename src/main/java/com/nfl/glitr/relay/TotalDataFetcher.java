@@ -0,0 +1,24 @@
+package com.nfl.glitr.relay;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.PropertyDataFetcher;
+
+/**
+ * Only computes the total when selected, without blocking on a deferred count, see
+ * {@link PageInfoWithTotal#setTotalSupplier}
+ */
+public class TotalDataFetcher extends PropertyDataFetcher<Object> {
+
+    public TotalDataFetcher() {
+        super("total");
+    }
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) {
+        Object source = environment.getSource();
+        if (source instanceof PageInfoWithTotal) {
+            return ((PageInfoWithTotal) source).getTotalFuture();
+        }
+        return super.get(environment);
+    }
+}
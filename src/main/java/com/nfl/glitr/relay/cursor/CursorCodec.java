@@ -0,0 +1,20 @@
+package com.nfl.glitr.relay.cursor;
+
+/**
+ * Turns the offset of an edge into the opaque cursor handed to clients, and back.
+ */
+public interface CursorCodec {
+
+    /**
+     * @param offset position of the edge in the result set
+     * @return the cursor of the edge
+     */
+    String encode(int offset);
+
+    /**
+     * @param cursor cursor previously returned by {@link #encode(int)}
+     * @return the position of the edge in the result set
+     * @throws IllegalArgumentException if the cursor can't be decoded
+     */
+    int decode(String cursor);
+}
@@ -0,0 +1,141 @@
+package com.nfl.glitr.relay.cursor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque keyset (seek) cursors, carrying the sort key values of an edge rather than its offset, so that the next
+ * page can be fetched with a {@code WHERE key > :after} predicate instead of an {@code OFFSET}.
+ * <p>
+ * The key values can be null, {@link Boolean}, {@link Integer}, {@link Long}, {@link Double} or {@link String}. A
+ * cursor starts with two marker bytes telling it apart from the offset cursors of {@link OffsetCursorCodec} and
+ * {@link VarintCursorCodec}.
+ */
+public class KeysetCursorCodec {
+
+    private static final byte[] MARKER = {0x00, 'K'};
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte STRING = 5;
+
+
+    private KeysetCursorCodec() {
+    }
+
+    /**
+     * @param keys sort key values of the edge
+     * @return the cursor of the edge
+     * @throws IllegalArgumentException if a key value is of an unsupported type
+     */
+    public static String encode(List<?> keys) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 * (keys.size() + 1));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MARKER);
+            for (Object key : keys) {
+                writeKey(out, key);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't encode keyset cursor", e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param cursor cursor previously returned by {@link #encode(List)}
+     * @return the sort key values of the edge
+     * @throws IllegalArgumentException if the cursor isn't a keyset cursor
+     */
+    public static List<Object> decode(String cursor) {
+        byte[] bytes = decodeBytes(cursor);
+        if (!hasMarker(bytes)) {
+            throw new IllegalArgumentException("Invalid keyset cursor [" + cursor + "]");
+        }
+
+        List<Object> keys = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, MARKER.length, bytes.length - MARKER.length))) {
+            while (in.available() > 0) {
+                keys.add(readKey(in));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor [" + cursor + "]", e);
+        }
+        return Collections.unmodifiableList(keys);
+    }
+
+    /**
+     * @param cursor any cursor
+     * @return true if the cursor was produced by {@link #encode(List)}
+     */
+    public static boolean isKeysetCursor(String cursor) {
+        if (cursor == null) {
+            return false;
+        }
+        try {
+            return hasMarker(decodeBytes(cursor));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] decodeBytes(String cursor) {
+        return Base64.getUrlDecoder().decode(cursor);
+    }
+
+    private static boolean hasMarker(byte[] bytes) {
+        return bytes.length >= MARKER.length && bytes[0] == MARKER[0] && bytes[1] == MARKER[1];
+    }
+
+    private static void writeKey(DataOutputStream out, Object key) throws IOException {
+        if (key == null) {
+            out.writeByte(NULL);
+        } else if (key instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) key);
+        } else if (key instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) key);
+        } else if (key instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) key);
+        } else if (key instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) key);
+        } else if (key instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) key);
+        } else {
+            throw new IllegalArgumentException("Unsupported keyset cursor value type [" + key.getClass().getName() + "]");
+        }
+    }
+
+    private static Object readKey(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return in.readUTF();
+            default:
+                throw new IllegalArgumentException("Unknown keyset cursor value type [" + type + "]");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.nfl.glitr.relay.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Default codec, producing the Base64 encoded {@code simple-cursor<offset>} cursors GLiTR has always used. The
+ * offset digits and their Base64 encoding are written straight into small fixed-size buffers, sparing the
+ * intermediate strings.
+ */
+public class OffsetCursorCodec implements CursorCodec {
+
+    public static final OffsetCursorCodec INSTANCE = new OffsetCursorCodec();
+
+    static final String PREFIX = "simple-cursor";
+
+    private static final byte[] PREFIX_BYTES = PREFIX.getBytes(StandardCharsets.US_ASCII);
+    // the prefix, a sign and the 10 digits of an int
+    private static final int MAX_LENGTH = PREFIX_BYTES.length + 11;
+    private static final char[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+
+    @Override
+    public String encode(int offset) {
+        byte[] bytes = new byte[MAX_LENGTH];
+        System.arraycopy(PREFIX_BYTES, 0, bytes, 0, PREFIX_BYTES.length);
+        int length = writeDigits(offset, bytes, PREFIX_BYTES.length);
+
+        char[] chars = new char[(length + 2) / 3 * 4];
+        int c = 0;
+        for (int i = 0; i < length; i += 3) {
+            int b0 = bytes[i] & 0xff;
+            int b1 = i + 1 < length ? bytes[i + 1] & 0xff : 0;
+            int b2 = i + 2 < length ? bytes[i + 2] & 0xff : 0;
+            chars[c++] = BASE64[b0 >>> 2];
+            chars[c++] = BASE64[((b0 & 0x03) << 4) | (b1 >>> 4)];
+            chars[c++] = i + 1 < length ? BASE64[((b1 & 0x0f) << 2) | (b2 >>> 6)] : '=';
+            chars[c++] = i + 2 < length ? BASE64[b2 & 0x3f] : '=';
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public int decode(String cursor) {
+        byte[] bytes = Base64.getDecoder().decode(cursor);
+        if (bytes.length <= PREFIX_BYTES.length || bytes.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+        }
+        for (int i = 0; i < PREFIX_BYTES.length; i++) {
+            if (bytes[i] != PREFIX_BYTES[i]) {
+                throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+            }
+        }
+
+        int i = PREFIX_BYTES.length;
+        boolean negative = bytes[i] == '-';
+        if (negative && ++i == bytes.length) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+        }
+        // accumulate negatively to cover Integer.MIN_VALUE
+        long value = 0;
+        for (; i < bytes.length; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+            }
+            value = value * 10 - digit;
+        }
+        value = negative ? value : -value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+        }
+        return (int) value;
+    }
+
+    private static int writeDigits(int value, byte[] bytes, int start) {
+        long remaining = value;
+        if (remaining < 0) {
+            bytes[start++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long bound = 10; bound <= remaining; bound *= 10) {
+            digits++;
+        }
+        int end = start + digits;
+        for (int i = end - 1; i >= start; i--) {
+            bytes[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        return end;
+    }
+}
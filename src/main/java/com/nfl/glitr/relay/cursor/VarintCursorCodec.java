@@ -0,0 +1,59 @@
+package com.nfl.glitr.relay.cursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Compact codec writing the offset as a zigzag varint, Base64 url encoded without padding: a cursor is 2 to 7
+ * characters long instead of 20 to 32. Cursors produced by {@link OffsetCursorCodec} are still accepted, so that
+ * clients holding one keep paging across the switch.
+ */
+public class VarintCursorCodec implements CursorCodec {
+
+    public static final VarintCursorCodec INSTANCE = new VarintCursorCodec();
+
+    // Base64 of the first 12 bytes of the legacy prefix, shared by every legacy cursor
+    private static final String LEGACY_CURSOR_START = "c2ltcGxlLWN1cnNv";
+    private static final int MAX_VARINT_LENGTH = 5;
+
+
+    @Override
+    public String encode(int offset) {
+        byte[] bytes = new byte[MAX_VARINT_LENGTH];
+        int length = 0;
+        int value = (offset << 1) ^ (offset >> 31);
+        while ((value & ~0x7f) != 0) {
+            bytes[length++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+
+        byte[] encoded = new byte[(length * 4 + 2) / 3];
+        Base64.getUrlEncoder().withoutPadding().encode(length == bytes.length ? bytes : Arrays.copyOf(bytes, length), encoded);
+        return new String(encoded, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public int decode(String cursor) {
+        if (cursor.startsWith(LEGACY_CURSOR_START)) {
+            return OffsetCursorCodec.INSTANCE.decode(cursor);
+        }
+
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length == 0 || bytes.length > MAX_VARINT_LENGTH) {
+            throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+        }
+        int value = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            value |= (bytes[i] & 0x7f) << (7 * i);
+            if ((bytes[i] & 0x80) == 0) {
+                if (i != bytes.length - 1) {
+                    throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+                }
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+        throw new IllegalArgumentException("Invalid cursor [" + cursor + "]");
+    }
+}
@@ -2,6 +2,7 @@ package com.nfl.glitr.relay.type;
 
 import com.googlecode.gentyref.GenericTypeReflector;
 import com.nfl.glitr.annotation.GlitrForwardPagingArguments;
+import com.nfl.glitr.relay.PagingArguments;
 import graphql.schema.GraphQLArgument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,19 @@ public class CustomFieldArgumentsFunc implements Func4<Field, Method, Class, Ann
     @SuppressWarnings("unused")
     private static final Logger logger = LoggerFactory.getLogger(CustomFieldArgumentsFunc.class);
 
+    private final boolean backwardPaginationEnabled;
+
+
+    public CustomFieldArgumentsFunc() {
+        this(false);
+    }
+
+    /**
+     * @param backwardPaginationEnabled whether to add the {@code last} and {@code before} arguments as well
+     */
+    public CustomFieldArgumentsFunc(boolean backwardPaginationEnabled) {
+        this.backwardPaginationEnabled = backwardPaginationEnabled;
+    }
 
     @Override
     public List<GraphQLArgument> call(@Nullable Field field, Method method, Class declaringClass, Annotation annotation) {
@@ -47,10 +61,19 @@ public class CustomFieldArgumentsFunc implements Func4<Field, Method, Class, Ann
                 List<GraphQLArgument> arguments = new ArrayList<>();
                 arguments.add(newArgument().name(GlitrForwardPagingArguments.FIRST).type(GraphQLInt).build());
                 arguments.add(newArgument().name(GlitrForwardPagingArguments.AFTER).type(GraphQLString).build());
+                if (backwardPaginationEnabled) {
+                    arguments.add(newArgument().name(PagingArguments.LAST).type(GraphQLInt).build());
+                    arguments.add(newArgument().name(PagingArguments.BEFORE).type(GraphQLString).build());
+                }
                 return arguments;
             }
         }
 
         return new ArrayList<>();
     }
+
+    @Override
+    public String toString() {
+        return "CustomFieldArgumentsFunc[backwardPaginationEnabled=" + backwardPaginationEnabled + "]";
+    }
 }
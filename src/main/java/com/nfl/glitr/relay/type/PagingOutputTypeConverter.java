@@ -8,10 +8,14 @@ import com.nfl.glitr.exception.GlitrException;
 import com.nfl.glitr.registry.TypeRegistry;
 import com.nfl.glitr.relay.RelayHelper;
 import com.nfl.glitr.util.ReflectionUtil;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLModifiedType;
 import graphql.schema.GraphQLNonNull;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import org.apache.commons.lang3.tuple.Pair;
 import rx.functions.Func5;
 
 import javax.annotation.Nullable;
@@ -22,6 +26,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *  Output type converter function for paging arguments annotations.
@@ -29,6 +34,7 @@ import java.util.Map;
 public class PagingOutputTypeConverter implements Func5<TypeRegistry, Field, Method, Class, Annotation, GraphQLOutputType> {
 
     private RelayHelper relayHelper;
+    private final Map<Pair<Class, Boolean>, ConnectionTypes> connectionTypesCache = new ConcurrentHashMap<>();
 
 
     @Override
@@ -61,33 +67,91 @@ public class PagingOutputTypeConverter implements Func5<TypeRegistry, Field, Met
             edgeGraphQLOutputType = new GraphQLNonNull(edgeGraphQLOutputType);
         }
 
+        // the connection of an element class is built once per nullability, as long as the registry holds it
+        Map<String, GraphQLType> nameRegistry = typeRegistry.getNameRegistry();
+        Pair<Class, Boolean> cacheKey = Pair.of(endEdgeClass, nullable);
+        ConnectionTypes cached = connectionTypesCache.get(cacheKey);
+        if (cached != null && nameRegistry.get(cached.connectionType.getName()) == cached.connectionType) {
+            return cached.connectionType;
+        }
+
         // build a relay edge
         GraphQLObjectType edgeType = relayHelper.edgeType(endEdgeClass.getSimpleName(),
                                                     edgeGraphQLOutputType,
                                                     relayHelper.getNodeInterface(),
                                                     Collections.emptyList());
         // build the relay connection
-        GraphQLObjectType connectionType = relayHelper.connectionType(endEdgeClass.getSimpleName(), edgeType, Lists.newArrayList());
+        ConnectionTypes connectionTypes = new ConnectionTypes(relayHelper.connectionType(endEdgeClass.getSimpleName(), edgeType, Lists.newArrayList()));
+        GraphQLObjectType connectionType = connectionTypes.connectionType;
 
         // check if a connection with this name already exists
-        Map<String, GraphQLType> nameRegistry = typeRegistry.getNameRegistry();
         GraphQLObjectType qlObjectType = (GraphQLObjectType) nameRegistry.get(connectionType.getName());
         if (qlObjectType != null) {
-            // TODO: better equality function
-            if (!qlObjectType.toString().equals(connectionType.toString())) {
+            if (!fingerprint(qlObjectType).equals(connectionTypes.fingerprint)) {
                 throw new GlitrException("Attempting to create two types with the same name. All types within a GraphQL schema must have unique names. " +
                         "You have defined the type [" + connectionType.getName() + "] as both [" + qlObjectType + "] and [" + connectionType + "]");
             }
+            connectionTypesCache.put(cacheKey, new ConnectionTypes(qlObjectType));
             return qlObjectType;
         }
 
         // add the connection to the registry and return the connection
         nameRegistry.put(connectionType.getName(), connectionType);
+        connectionTypesCache.put(cacheKey, connectionTypes);
         return connectionType;
     }
 
+    /**
+     * Structural fingerprint of a connection type: its fields and those of the edge and page info types it holds,
+     * the element type being identified by name
+     *
+     * @param connectionType connection type
+     * @return the fingerprint, equal for two connections of the same shape
+     */
+    static String fingerprint(GraphQLObjectType connectionType) {
+        StringBuilder fingerprint = new StringBuilder();
+        appendFields(fingerprint, connectionType, 1);
+        return fingerprint.toString();
+    }
+
+    private static void appendFields(StringBuilder fingerprint, GraphQLObjectType type, int depth) {
+        fingerprint.append(type.getName()).append('{');
+        for (GraphQLFieldDefinition field : type.getFieldDefinitions()) {
+            fingerprint.append(field.getName()).append(':').append(GraphQLTypeUtil.simplePrint(field.getType()));
+            GraphQLType fieldType = unwrap(field.getType());
+            if (depth > 0 && fieldType instanceof GraphQLObjectType) {
+                appendFields(fingerprint, (GraphQLObjectType) fieldType, depth - 1);
+            }
+            fingerprint.append(',');
+        }
+        fingerprint.append('}');
+    }
+
     public PagingOutputTypeConverter setRelayHelper(RelayHelper relayHelper) {
         this.relayHelper = relayHelper;
         return this;
     }
+
+
+    private static GraphQLType unwrap(GraphQLType type) {
+        while (type instanceof GraphQLModifiedType) {
+            type = ((GraphQLModifiedType) type).getWrappedType();
+        }
+        return type;
+    }
+
+    /**
+     * Connection type built for an element type, along with its fingerprint
+     */
+    private static class ConnectionTypes {
+
+        private final GraphQLObjectType connectionType;
+        private final String fingerprint;
+
+
+        ConnectionTypes(GraphQLObjectType connectionType) {
+            this.connectionType = connectionType;
+            this.fingerprint = fingerprint(connectionType);
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package com.nfl.glitr.util;
+
+import com.nfl.glitr.annotation.GlitrIgnore;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reflective metadata of a class, computed once and shared by the type factories through {@link ReflectionUtil}:
+ * the getters eligible for the GraphQL schema, the fields by name and the annotations merged from each getter,
+ * its overridden methods and its backing field.
+ */
+public class ClassMetadata {
+
+    private final Class clazz;
+    private final Map<String, Field> declaredFields = new HashMap<>();
+    private final Map<String, List<Method>> declaredMethods = new HashMap<>();
+    private final Map<String, Field> fields = new HashMap<>();
+    private final Map<Method, Map<Class<? extends Annotation>, Annotation>> mergedAnnotations = new ConcurrentHashMap<>();
+    private volatile Map<String, List<Method>> publicMethods;
+    private volatile Map<String, Pair<Method, Class>> eligibleMethods;
+    private volatile Pair<Set<String>, Map<String, Pair<Method, Class>>> indexedEligibleMethods;
+
+
+    ClassMetadata(Class clazz) {
+        this.clazz = clazz;
+
+        for (Field field : clazz.getDeclaredFields()) {
+            declaredFields.put(field.getName(), field);
+        }
+        for (Method method : clazz.getDeclaredMethods()) {
+            declaredMethods.computeIfAbsent(method.getName(), name -> new ArrayList<>(1)).add(method);
+        }
+
+        // same lookup order as FieldUtils.getField: the class and its superclasses first, then the interfaces
+        for (Class aClass = clazz; aClass != null; aClass = aClass.getSuperclass()) {
+            for (Field field : aClass.getDeclaredFields()) {
+                fields.putIfAbsent(field.getName(), field);
+            }
+        }
+        for (Class anInterface : ClassUtils.getAllInterfaces(clazz)) {
+            for (Field field : anInterface.getFields()) {
+                fields.putIfAbsent(field.getName(), field);
+            }
+        }
+    }
+
+    /**
+     * @return alphabetically sorted, unmodifiable map of the eligible method names to the actual Method and
+     * referencing class
+     * @throws IllegalArgumentException if two eligible methods share the same name
+     */
+    public Map<String, Pair<Method, Class>> getEligibleMethods() {
+        Map<String, Pair<Method, Class>> methods = eligibleMethods;
+        if (methods == null) {
+            methods = new TreeMap<>();
+            for (Method method : clazz.getMethods()) {
+                if (!ReflectionUtil.eligibleMethod(method)) {
+                    continue;
+                }
+                if (methods.put(method.getName(), Pair.of(method, method.getDeclaringClass())) != null) {
+                    throw new IllegalArgumentException("Method name duplicate for the given field [" + method.getName() + "] in class [" + clazz.getSimpleName() + "]");
+                }
+            }
+            methods = Collections.unmodifiableMap(methods);
+            eligibleMethods = methods;
+        }
+        return methods;
+    }
+
+    /**
+     * Same as {@link #getEligibleMethods()} but with the eligible methods known ahead of time, e.g: from a
+     * {@link com.nfl.glitr.registry.GlitrSchemaIndex}, the getters are looked up by name instead of inspecting all
+     * the public methods along with their backing fields
+     * @param eligibleMethodNames names of the methods eligible for inclusion in the GraphQL Schema
+     * @return alphabetically sorted, unmodifiable map of the eligible method names to the actual Method and
+     * referencing class
+     * @throws IllegalArgumentException if two eligible methods share the same name
+     */
+    public Map<String, Pair<Method, Class>> getEligibleMethods(Set<String> eligibleMethodNames) {
+        Pair<Set<String>, Map<String, Pair<Method, Class>>> indexed = indexedEligibleMethods;
+        if (indexed != null && indexed.getLeft().equals(eligibleMethodNames)) {
+            return indexed.getRight();
+        }
+
+        Map<String, Pair<Method, Class>> methods = new TreeMap<>();
+        for (String name : eligibleMethodNames) {
+            // a stale index may name a getter which is gone
+            for (Method method : getPublicMethods().getOrDefault(name, Collections.emptyList())) {
+                if (!ReflectionUtil.eligibleMethod(method)) {
+                    continue;
+                }
+                if (methods.put(name, Pair.of(method, method.getDeclaringClass())) != null) {
+                    throw new IllegalArgumentException("Method name duplicate for the given field [" + name + "] in class [" + clazz.getSimpleName() + "]");
+                }
+            }
+        }
+        methods = Collections.unmodifiableMap(methods);
+        indexedEligibleMethods = Pair.of(eligibleMethodNames, methods);
+        return methods;
+    }
+
+    /**
+     * @return the public methods by name, overloads included, e.g: a getter taking a DataFetchingEnvironment
+     */
+    private Map<String, List<Method>> getPublicMethods() {
+        Map<String, List<Method>> methods = publicMethods;
+        if (methods == null) {
+            methods = new HashMap<>();
+            for (Method method : clazz.getMethods()) {
+                methods.computeIfAbsent(method.getName(), name -> new ArrayList<>(1)).add(method);
+            }
+            publicMethods = methods;
+        }
+        return methods;
+    }
+
+    /**
+     * @param name field name
+     * @return the field declared by this very class, null if there is none
+     */
+    public Field getDeclaredField(String name) {
+        return declaredFields.get(name);
+    }
+
+    /**
+     * @param name field name
+     * @return the field declared by this class, one of its superclasses or interfaces, null if there is none
+     */
+    public Field getField(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * @param name method name
+     * @param parameterTypes method parameter types
+     * @return the method declared by this very class, null if there is none
+     */
+    public Method getDeclaredMethod(String name, Class[] parameterTypes) {
+        for (Method method : declaredMethods.getOrDefault(name, Collections.emptyList())) {
+            if (Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param method getter of this class
+     * @return the annotations of the getter, the methods it overrides and its backing field, the closest one winning
+     */
+    public Map<Class<? extends Annotation>, Annotation> getMergedAnnotations(Method method) {
+        Map<Class<? extends Annotation>, Annotation> annotations = mergedAnnotations.get(method);
+        if (annotations == null) {
+            annotations = new HashMap<>();
+            putAllAnnotations(annotations, method.getAnnotations());
+            Class[] parameterTypes = method.getParameterTypes();
+            for (Class aClass : ClassUtils.hierarchy(method.getDeclaringClass(), ClassUtils.Interfaces.INCLUDE)) {
+                Method declared = ReflectionUtil.getClassMetadata(aClass).getDeclaredMethod(method.getName(), parameterTypes);
+                if (declared != null) {
+                    putAllAnnotations(annotations, declared.getAnnotations());
+                }
+            }
+
+            Field field = getField(ReflectionUtil.sanitizeMethodName(method.getName()));
+            if (field != null) {
+                putAllAnnotations(annotations, field.getAnnotations());
+            }
+            mergedAnnotations.putIfAbsent(method, annotations);
+        }
+        return annotations;
+    }
+
+    boolean isIgnored(Method method) {
+        if (method.isAnnotationPresent(GlitrIgnore.class)) {
+            return true;
+        }
+        Field field = getDeclaredField(ReflectionUtil.sanitizeMethodName(method.getName()));
+        return field != null && field.isAnnotationPresent(GlitrIgnore.class);
+    }
+
+    private static void putAllAnnotations(Map<Class<? extends Annotation>, Annotation> annotations, Annotation[] toAdd) {
+        for (Annotation annotation : toAdd) {
+            annotations.putIfAbsent(annotation.annotationType(), annotation);
+        }
+    }
+}
@@ -10,6 +10,7 @@ public class NodeUtil {
 
     public static final String COMPLEXITY_FORMULA_KEY = "complexity_formula";
     public static final String COMPLEXITY_IGNORE_KEY = "complexity_ignore";
+    public static final String MAX_PAGE_SIZE_KEY = "max_page_size";
     public static final String PATH_SEPARATOR = "->";
 
 
@@ -4,8 +4,6 @@ import com.nfl.glitr.annotation.*;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.reflect.FieldUtils;
-import org.apache.commons.lang3.reflect.MethodUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +17,7 @@ public class ReflectionUtil {
 
     private final static Logger logger = LoggerFactory.getLogger(ReflectionUtil.class);
     public final static String NAME_PREFIX = "class ";
+    private static volatile ClassValue<ClassMetadata> classMetadataCache = newClassMetadataCache();
 
 
     public static  String getClassName(Type type) {
@@ -43,26 +42,11 @@ public class ReflectionUtil {
      * @return true if the method name starts with `get` or `is` and false otherwise or if the method or the corresponding field is annotated with GlitrIgnore
      */
     public static Boolean eligibleMethod(Method method) {
-        Annotation glitrIgnore = method.getAnnotation(GlitrIgnore.class);
-        if (glitrIgnore != null) {
+        if (getClassMetadata(method.getDeclaringClass()).isIgnored(method)) {
             return false;
         }
 
         String methodName = method.getName();
-        String fieldName = sanitizeMethodName(methodName);
-
-        Field field;
-        try {
-            field = method.getDeclaringClass().getDeclaredField(fieldName);
-            Annotation fieldAnnotations = field.getAnnotation(GlitrIgnore.class);
-            if (fieldAnnotations != null) {
-                return false;
-            }
-        } catch (NoSuchFieldException e) {
-            // there is no field existing for the given method
-            logger.debug("Field not found: {}", fieldName);
-        }
-
         return (methodName.startsWith("is") || methodName.startsWith("get"))
                 && method.getDeclaringClass() != Object.class;
     }
@@ -73,14 +57,44 @@ public class ReflectionUtil {
      * @return method map
      */
     public static Map<String, Pair<Method, Class>> getMethodMap(Class clazz) {
-        List<Method> methods = Arrays.asList(clazz.getMethods());
-        methods.stream()
-                .filter(method -> Collections.frequency(methods, method.getName()) > 1)
-                .forEach(duplicateMethodName -> { throw new IllegalArgumentException("Method name duplicate for the given field [" + duplicateMethodName.getName() + "] in class [" + clazz.getSimpleName() + "]"); });
+        return new TreeMap<>(getClassMetadata(clazz).getEligibleMethods());
+    }
+
+    /**
+     * Returns the reflective metadata of the given class, computed on first access. The metadata is attached to the
+     * class itself, so it goes away along with its class loader
+     * @param clazz to inspect
+     * @return class metadata
+     */
+    public static ClassMetadata getClassMetadata(Class clazz) {
+        return classMetadataCache.get(clazz);
+    }
+
+    /**
+     * Drop the cached class metadata. Not needed to reload the schema, recompiled classes get their own metadata
+     */
+    public static void clearCache() {
+        classMetadataCache = newClassMetadataCache();
+    }
 
-        return new TreeMap<>(methods.stream()
-                .filter(ReflectionUtil::eligibleMethod)
-                .collect(Collectors.toMap(Method::getName, eligibleMethod -> Pair.of(eligibleMethod, eligibleMethod.getDeclaringClass()))));
+    private static ClassValue<ClassMetadata> newClassMetadataCache() {
+        return new ClassValue<ClassMetadata>() {
+            @Override
+            protected ClassMetadata computeValue(Class<?> type) {
+                return new ClassMetadata(type);
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #getMethodMap(Class)} but with the eligible methods known ahead of time, e.g: from a
+     * {@link com.nfl.glitr.registry.GlitrSchemaIndex}, sparing the inspection of each getter and its backing field
+     * @param clazz to inspect
+     * @param eligibleMethodNames names of the methods eligible for inclusion in the GraphQL Schema
+     * @return method map
+     */
+    public static Map<String, Pair<Method, Class>> getMethodMap(Class clazz, Set<String> eligibleMethodNames) {
+        return new TreeMap<>(getClassMetadata(clazz).getEligibleMethods(eligibleMethodNames));
     }
 
     /**
@@ -132,10 +146,8 @@ public class ReflectionUtil {
     }
 
     public static Field getFieldByName(Class declaringClass, String name) {
-        Field field = null;
-        try {
-            field = declaringClass.getDeclaredField(name);
-        } catch (NoSuchFieldException e) {
+        Field field = getClassMetadata(declaringClass).getDeclaredField(name);
+        if (field == null) {
             // that's fine
             logger.debug("Field not found: {} for class {} ", name, declaringClass);
         }
@@ -153,16 +165,7 @@ public class ReflectionUtil {
      * @return - {@code Optional} contains annotation, or empty if not found
      */
     public static <A extends Annotation> Optional<A> getAnnotationOfMethodOrField(Class declaringClass, Method method, Class<A> aClass) {
-        A annotation = MethodUtils.getAnnotation(method, aClass, true, true);
-        if (annotation == null) {
-            String fieldName = ReflectionUtil.sanitizeMethodName(method.getName());
-            Field field = FieldUtils.getField(declaringClass, fieldName, true);
-            if (field != null) {
-                annotation = field.getAnnotation(aClass);
-            }
-        }
-
-        return Optional.ofNullable(annotation);
+        return Optional.ofNullable(aClass.cast(getClassMetadata(declaringClass).getMergedAnnotations(method).get(aClass)));
     }
 
     public static Class getSanitizedMethodReturnType(Method method) {
@@ -202,13 +205,12 @@ public class ReflectionUtil {
     }
 
     public static String getDescriptionFromAnnotatedField(Class clazz, Method method) {
-        try {
-            Field field = FieldUtils.getField(clazz, ReflectionUtil.sanitizeMethodName(method.getName()), true);
-            return ReflectionUtil.getDescriptionFromAnnotatedElement(field);
-        } catch (Exception e) {
+        Field field = getClassMetadata(clazz).getField(ReflectionUtil.sanitizeMethodName(method.getName()));
+        if (field == null) {
             logger.debug("Could not find a Field associated to the Method [{}]", method.getName());
+            return null;
         }
-        return null;
+        return ReflectionUtil.getDescriptionFromAnnotatedElement(field);
     }
 
     public static boolean isAnnotatedElementNullable(AnnotatedElement element) {
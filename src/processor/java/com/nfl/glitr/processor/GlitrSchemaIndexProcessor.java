@@ -0,0 +1,190 @@
+package com.nfl.glitr.processor;
+
+import com.nfl.glitr.registry.GlitrSchemaIndex;
+import com.nfl.glitr.registry.annotation.GlitrSchemaRoot;
+import com.nfl.glitr.util.ReflectionUtil;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@link GlitrSchemaIndex} for each class annotated with {@link GlitrSchemaRoot}, named after the root
+ * class with a {@code _GlitrIndex} suffix and registered as a service so it can be found by
+ * {@link GlitrSchemaIndex#find(Class)}.
+ * The class graph is walked the same way {@link com.nfl.glitr.registry.TypeRegistry} does at runtime (getter return
+ * types and their type arguments, super classes and interfaces) and the getters eligible for the schema are selected
+ * with the same rules as {@link ReflectionUtil#eligibleMethod(java.lang.reflect.Method)}.
+ */
+@SupportedAnnotationTypes("com.nfl.glitr.registry.annotation.GlitrSchemaRoot")
+public class GlitrSchemaIndexProcessor extends AbstractProcessor {
+
+    private static final String GLITR_IGNORE = "com.nfl.glitr.annotation.GlitrIgnore";
+    private static final String INDEX_SUFFIX = "_GlitrIndex";
+
+    private final Set<String> generatedIndexes = new TreeSet<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(GlitrSchemaRoot.class)) {
+            if (!(element instanceof TypeElement)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@GlitrSchemaRoot must be put on a class", element);
+                continue;
+            }
+
+            TypeElement root = (TypeElement) element;
+            try {
+                generatedIndexes.add(writeIndex(root, index(root)));
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to generate the Glitr schema index: " + e.getMessage(), root);
+            }
+        }
+
+        if (roundEnv.processingOver() && !generatedIndexes.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private Map<String, Set<String>> index(TypeElement root) {
+        Map<String, Set<String>> index = new TreeMap<>();
+        Deque<TypeElement> queue = new ArrayDeque<>();
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            TypeElement type = queue.poll();
+            String binaryName = binaryName(type);
+            if (index.containsKey(binaryName)) {
+                continue;
+            }
+
+            Set<String> eligibleMethodNames = new TreeSet<>();
+            Set<TypeElement> referencedTypes = new LinkedHashSet<>();
+            for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+                if (!eligibleMethod(method)) {
+                    continue;
+                }
+                eligibleMethodNames.add(method.getSimpleName().toString());
+                addReferencedTypes(method.getReturnType(), referencedTypes);
+            }
+            index.put(binaryName, eligibleMethodNames);
+
+            addReferencedTypes(type.getSuperclass(), referencedTypes);
+            type.getInterfaces().forEach(i -> addReferencedTypes(i, referencedTypes));
+            referencedTypes.stream()
+                    .filter(this::isIntrospectable)
+                    .forEach(queue::add);
+        }
+        return index;
+    }
+
+    private boolean eligibleMethod(ExecutableElement method) {
+        TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+        String name = method.getSimpleName().toString();
+
+        if (!method.getModifiers().contains(Modifier.PUBLIC)
+                || declaringType.getQualifiedName().contentEquals(Object.class.getName())
+                || !(name.startsWith("is") || name.startsWith("get"))
+                || isIgnored(method)) {
+            return false;
+        }
+
+        String fieldName = ReflectionUtil.sanitizeMethodName(name);
+        return ElementFilter.fieldsIn(declaringType.getEnclosedElements()).stream()
+                .filter(field -> field.getSimpleName().contentEquals(fieldName))
+                .noneMatch(this::isIgnored);
+    }
+
+    private boolean isIgnored(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(GLITR_IGNORE));
+    }
+
+    private void addReferencedTypes(TypeMirror typeMirror, Set<TypeElement> referencedTypes) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        DeclaredType declaredType = (DeclaredType) typeMirror;
+        referencedTypes.add((TypeElement) declaredType.asElement());
+        declaredType.getTypeArguments().forEach(typeArgument -> addReferencedTypes(typeArgument, referencedTypes));
+    }
+
+    /**
+     * Mirror of the runtime check, only classes which may become object, interface or input types are indexed
+     */
+    private boolean isIntrospectable(TypeElement type) {
+        String name = type.getQualifiedName().toString();
+        return type.getKind() != ElementKind.ENUM
+                && type.getKind() != ElementKind.ANNOTATION_TYPE
+                && !name.equals(Object.class.getName())
+                && !name.startsWith("java.")
+                && !name.startsWith("javax.");
+    }
+
+    private String writeIndex(TypeElement root, Map<String, Set<String>> index) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(root).getQualifiedName().toString();
+        String rootBinaryName = binaryName(root);
+        String simpleName = (packageName.isEmpty() ? rootBinaryName : rootBinaryName.substring(packageName.length() + 1)).replace('$', '_') + INDEX_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, root);
+        try (Writer writer = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+            writer.write("import java.util.*;\n\n");
+            writer.write("/**\n * Generated by " + GlitrSchemaIndexProcessor.class.getName() + ", do not edit.\n */\n");
+            writer.write("public final class " + simpleName + " implements " + GlitrSchemaIndex.class.getName() + " {\n\n");
+            writer.write("    private static final Map<String, Set<String>> ELIGIBLE_METHOD_NAMES = new HashMap<>();\n\n");
+            writer.write("    static {\n");
+            for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                writer.write("        ELIGIBLE_METHOD_NAMES.put(\"" + entry.getKey() + "\", Collections.unmodifiableSet(new HashSet<>(Arrays.asList(");
+                StringJoiner names = new StringJoiner(", ");
+                entry.getValue().forEach(name -> names.add("\"" + name + "\""));
+                writer.write(names + "))));\n");
+            }
+            writer.write("    }\n\n");
+            writer.write("    @Override\n    public String getRootClassName() {\n        return \"" + rootBinaryName + "\";\n    }\n\n");
+            writer.write("    @Override\n    public Map<String, Set<String>> getEligibleMethodNames() {\n        return Collections.unmodifiableMap(ELIGIBLE_METHOD_NAMES);\n    }\n");
+            writer.write("}\n");
+        }
+        return qualifiedName;
+    }
+
+    private void writeServiceFile() {
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    "META-INF/services/" + GlitrSchemaIndex.class.getName());
+            try (Writer writer = file.openWriter()) {
+                for (String index : generatedIndexes) {
+                    writer.write(index + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to register the Glitr schema indexes: " + e.getMessage());
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+}
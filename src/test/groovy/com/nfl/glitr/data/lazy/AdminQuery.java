@@ -0,0 +1,8 @@
+package com.nfl.glitr.data.lazy;
+
+public class AdminQuery {
+
+    public AuditLog getAuditLog() {
+        return new AuditLog();
+    }
+}
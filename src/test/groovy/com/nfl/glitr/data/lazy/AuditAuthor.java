@@ -0,0 +1,8 @@
+package com.nfl.glitr.data.lazy;
+
+public class AuditAuthor {
+
+    public String getName() {
+        return "admin";
+    }
+}
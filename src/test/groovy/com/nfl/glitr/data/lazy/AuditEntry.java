@@ -0,0 +1,12 @@
+package com.nfl.glitr.data.lazy;
+
+public class AuditEntry {
+
+    public String getMessage() {
+        return "login";
+    }
+
+    public AuditAuthor getAuthor() {
+        return new AuditAuthor();
+    }
+}
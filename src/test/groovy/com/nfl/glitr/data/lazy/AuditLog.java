@@ -0,0 +1,15 @@
+package com.nfl.glitr.data.lazy;
+
+import java.util.Collections;
+import java.util.List;
+
+public class AuditLog {
+
+    public String getName() {
+        return "audit";
+    }
+
+    public List<AuditEntry> getEntries() {
+        return Collections.singletonList(new AuditEntry());
+    }
+}
@@ -0,0 +1,14 @@
+package com.nfl.glitr.data.query;
+
+import com.nfl.glitr.registry.annotation.GlitrBlocking;
+
+public class BlockingType {
+
+    private String title = "Title";
+
+
+    @GlitrBlocking(maxConcurrency = 1)
+    public String getTitle() {
+        return title;
+    }
+}
@@ -0,0 +1,35 @@
+package com.nfl.glitr.data.query;
+
+import com.nfl.glitr.registry.annotation.GlitrCache;
+import com.nfl.glitr.relay.PagingArguments;
+import com.nfl.glitr.relay.RelayHelper;
+import graphql.relay.Connection;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachedVideosConnectionOverride {
+
+    private final AtomicInteger countCalls = new AtomicInteger();
+
+
+    @GlitrCache(ttl = 60)
+    public Connection getVideos(DataFetchingEnvironment env) {
+        countCalls.incrementAndGet();
+        int first = PagingArguments.from(env).getFirst(10);
+
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < first; i++) {
+            Video video = new Video();
+            video.setId(String.valueOf(i));
+            videos.add(video);
+        }
+        return RelayHelper.buildConnection(videos, 0, first, first);
+    }
+
+    public int countCalls() {
+        return countCalls.get();
+    }
+}
@@ -63,6 +63,13 @@ public class QueryType {
         return null;
     }
 
+    // 'last' is the amount of hours to look back, not a page size
+    @GlitrArgument(name = "last", type = Integer.class)
+    @GlitrQueryComplexity("#{currentCollectionSize}")
+    public List<Video> getZZZWatched() {
+        return null;
+    }
+
     @GlitrQueryComplexity("incorrectVariableDeclaration + 5")
     public List<Video> getIncorrectVariableDeclaration() {
         return null;
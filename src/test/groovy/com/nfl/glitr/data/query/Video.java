@@ -21,6 +21,10 @@ public class Video extends AbstractContent implements Playable {
         return id;
     }
 
+    public void setId(String id) {
+        this.id = id;
+    }
+
     public String getUrl() {
         return url;
     }
@@ -0,0 +1,10 @@
+package com.nfl.glitr.data.query;
+
+import graphql.schema.DataFetchingEnvironment;
+
+public class VideoPreviewOverride {
+
+    public String getPreviewUrl(DataFetchingEnvironment env) {
+        return "preview";
+    }
+}
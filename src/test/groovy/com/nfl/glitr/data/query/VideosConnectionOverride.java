@@ -0,0 +1,39 @@
+package com.nfl.glitr.data.query;
+
+import com.nfl.glitr.relay.PagingArguments;
+import com.nfl.glitr.relay.RelayHelper;
+import graphql.relay.Connection;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class VideosConnectionOverride {
+
+    private static final int TOTAL = 3;
+
+    private final AtomicInteger countCalls = new AtomicInteger();
+
+
+    public Connection getVideos(DataFetchingEnvironment env) {
+        int first = PagingArguments.from(env).getFirst(10);
+
+        // fetch one more item than requested to tell whether there is a next page
+        List<Video> videos = new ArrayList<>();
+        for (int i = 0; i < Math.min(first + 1, TOTAL); i++) {
+            Video video = new Video();
+            video.setId(String.valueOf(i));
+            videos.add(video);
+        }
+        return RelayHelper.buildConnection(videos, 0, first, () -> {
+            countCalls.incrementAndGet();
+            return CompletableFuture.completedFuture(TOTAL);
+        });
+    }
+
+    public int countCalls() {
+        return countCalls.get();
+    }
+}
@@ -0,0 +1,142 @@
+package com.nfl.glitr.processor
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.registry.GlitrSchemaIndex
+import com.nfl.glitr.util.SerializationUtil
+import graphql.schema.idl.SchemaPrinter
+import spock.lang.Specification
+
+import javax.tools.JavaFileObject
+import javax.tools.SimpleJavaFileObject
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.file.Files
+
+class GlitrSchemaIndexProcessorTest extends Specification {
+
+    static final String ROOT_SOURCE = """
+        package com.nfl.glitr.generated;
+
+        import com.nfl.glitr.annotation.GlitrIgnore;
+        import com.nfl.glitr.registry.annotation.GlitrSchemaRoot;
+
+        @GlitrSchemaRoot
+        public class IndexedQueryType extends com.nfl.glitr.data.query.QueryType {
+
+            @GlitrIgnore
+            private String hidden;
+
+            public Author getAuthor() {
+                return null;
+            }
+
+            public String getHidden() {
+                return null;
+            }
+
+            @GlitrIgnore
+            public String getIgnored() {
+                return null;
+            }
+
+            public static class Author {
+                public String getName() {
+                    return null;
+                }
+
+                public String getComputed(graphql.schema.DataFetchingEnvironment env) {
+                    return null;
+                }
+            }
+        }
+        """
+
+    def "Should generate and register an index of the classes reachable from the schema root"() {
+        setup:
+        def output = Files.createTempDirectory("glitr-index")
+        def index = compileAndLoadIndex(output)
+
+        expect:
+        index.rootClassName == "com.nfl.glitr.generated.IndexedQueryType"
+        index.eligibleMethodNames["com.nfl.glitr.generated.IndexedQueryType"].containsAll(["getAuthor", "getVideo", "getVideos"])
+        !index.eligibleMethodNames["com.nfl.glitr.generated.IndexedQueryType"].contains("getHidden")
+        !index.eligibleMethodNames["com.nfl.glitr.generated.IndexedQueryType"].contains("getIgnored")
+        !index.eligibleMethodNames["com.nfl.glitr.generated.IndexedQueryType"].contains("getClass")
+        index.eligibleMethodNames["com.nfl.glitr.generated.IndexedQueryType\$Author"] == ["getComputed", "getName"] as Set
+        index.eligibleMethodNames["com.nfl.glitr.data.query.Video"].containsAll(["getId", "getUrl", "getChildren"])
+        index.eligibleMethodNames.containsKey("com.nfl.glitr.data.query.QueryType")
+        index.eligibleMethodNames.containsKey("com.nfl.glitr.data.query.Playable")
+        !index.eligibleMethodNames.containsKey("java.lang.String")
+        output.resolve("META-INF/services/com.nfl.glitr.registry.GlitrSchemaIndex").toFile().text.trim() == "com.nfl.glitr.generated.IndexedQueryType_GlitrIndex"
+
+        cleanup:
+        output.toFile().deleteDir()
+    }
+
+    def "Schema built from the generated index should be identical to the reflective one"() {
+        setup:
+        def output = Files.createTempDirectory("glitr-index")
+        def index = compileAndLoadIndex(output)
+        def reflective = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build()
+        def indexed = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .addSchemaIndex(index)
+                .build()
+        def printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeDirectives(false))
+
+        expect:
+        printer.print(indexed.schema) == printer.print(reflective.schema)
+
+        cleanup:
+        output.toFile().deleteDir()
+    }
+
+    def "Indexed getters taking the environment should be part of the schema"() {
+        setup:
+        def output = Files.createTempDirectory("glitr-index")
+        def index = compileAndLoadIndex(output)
+        def queryRoot = index.getClass().getClassLoader().loadClass(index.rootClassName).newInstance()
+        def build = { List<GlitrSchemaIndex> indexes ->
+            def builder = GlitrBuilder.newGlitr()
+                    .withRelay()
+                    .withObjectMapper(SerializationUtil.objectMapper)
+                    .withQueryRoot(queryRoot)
+            indexes.each { builder.addSchemaIndex(it) }
+            builder.build().schema.getObjectType("Author").fieldDefinitions*.name
+        }
+
+        expect:
+        build([]) == ["computed", "name"]
+        build([index]) == ["computed", "name"]
+
+        cleanup:
+        output.toFile().deleteDir()
+    }
+
+    private GlitrSchemaIndex compileAndLoadIndex(java.nio.file.Path output) {
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        def fileManager = compiler.getStandardFileManager(null, null, null)
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [output.toFile()])
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, [output.toFile()])
+
+        def source = new SimpleJavaFileObject(URI.create("string:///com/nfl/glitr/generated/IndexedQueryType.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return ROOT_SOURCE
+            }
+        }
+        def task = compiler.getTask(null, fileManager, null, ["-classpath", System.getProperty("java.class.path")], null, [source])
+        task.setProcessors([new GlitrSchemaIndexProcessor()])
+        assert task.call()
+
+        def classLoader = new URLClassLoader([output.toUri().toURL()] as URL[], getClass().getClassLoader())
+        return (GlitrSchemaIndex) GlitrSchemaIndex.find(classLoader.loadClass("com.nfl.glitr.generated.IndexedQueryType")).get()
+    }
+}
@@ -0,0 +1,67 @@
+package com.nfl.glitr.registry
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.calculator.QueryComplexityCalculator
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.data.query.Video
+import com.nfl.glitr.data.query.VideoPreviewOverride
+import com.nfl.glitr.util.SerializationUtil
+import graphql.schema.GraphQLObjectType
+import graphql.schema.PropertyDataFetcher
+import spock.lang.Specification
+
+class IncrementalReloadTest extends Specification {
+
+    def "Replacing overrides should only rebuild the affected types"() {
+        setup:
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build()
+        def oldSchema = glitr.schema
+
+        when:
+        def newSchema = glitr.replaceOverrides(Video.class, [new VideoPreviewOverride()])
+        def video = (GraphQLObjectType) newSchema.getType("Video")
+
+        then: "the schema is swapped, the old one is left untouched"
+        glitr.schema.is(newSchema)
+        !newSchema.is(oldSchema)
+        ((GraphQLObjectType) oldSchema.getType("Video")).getFieldDefinition("previewUrl") == null
+        video.getFieldDefinition("previewUrl") != null
+        !(newSchema.codeRegistry.getDataFetcher(video, video.getFieldDefinition("previewUrl")) instanceof PropertyDataFetcher)
+
+        and: "Video and the types referencing it are rebuilt, the others are reused"
+        !newSchema.getType("QueryType").is(oldSchema.getType("QueryType"))
+        !newSchema.getType("VideoConnection").is(oldSchema.getType("VideoConnection"))
+        newSchema.getType("Bitrate").is(oldSchema.getType("Bitrate"))
+        newSchema.getType("Playable").is(oldSchema.getType("Playable"))
+        newSchema.getType("Node").is(oldSchema.getType("Node"))
+
+        when: "the override is removed"
+        def revertedSchema = glitr.replaceOverrides(Video.class, [])
+
+        then:
+        ((GraphQLObjectType) revertedSchema.getType("Video")).getFieldDefinition("previewUrl") == null
+    }
+
+    def "Reloading should publish a new complexity calculator along with the schema"() {
+        setup:
+        def calculator = new QueryComplexityCalculator(1000, 10, 1000, 1)
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .withQueryComplexityCalculator(calculator)
+                .build()
+
+        when:
+        glitr.replaceOverrides(Video.class, [new VideoPreviewOverride()])
+
+        then: "the calculator of the previous schema is left untouched"
+        glitr.queryComplexityCalculator != null
+        !glitr.queryComplexityCalculator.is(calculator)
+        glitr.queryComplexityCalculator.depthScore("{ video { id } }") == calculator.depthScore("{ video { id } }")
+    }
+}
@@ -0,0 +1,92 @@
+package com.nfl.glitr.registry
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.lazy.AdminQuery
+import com.nfl.glitr.data.lazy.AuditAuthor
+import com.nfl.glitr.data.lazy.AuditEntry
+import com.nfl.glitr.util.SerializationUtil
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+import static com.nfl.glitr.registry.TypeRegistry.UNUSED_FIELDS_DEAD_OBJECT
+
+class LazyTypesTest extends Specification {
+
+    def "Types below the lazy depth should be stubs until a query references them"() {
+        setup:
+        def glitr = GlitrBuilder.newGlitr()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new AdminQuery())
+                .withLazyTypes(1)
+                .build()
+        def startupSchema = glitr.schema
+        def query = "{ auditLog { entries { message author { name } } } }"
+
+        expect: "the entries are a stub and the author isn't even introspected"
+        glitr.typeRegistry.isStub("AuditEntry")
+        ((GraphQLObjectType) startupSchema.getType("AuditEntry")).fieldDefinitions*.name == [UNUSED_FIELDS_DEAD_OBJECT]
+        !glitr.typeRegistry.registry.containsKey(AuditAuthor)
+
+        and: "queries not referencing a stub use the current schema"
+        glitr.ensureMaterialized("{ auditLog { name } }").is(startupSchema)
+
+        when:
+        def schema = glitr.ensureMaterialized(query)
+        def result = GraphQL.newGraphQL(schema).build().execute(ExecutionInput.newExecutionInput().query(query).root(new AdminQuery()).build())
+
+        then: "the stubs are materialized one level at a time until the query is covered"
+        !glitr.typeRegistry.isStub("AuditEntry")
+        !glitr.typeRegistry.isStub("AuditAuthor")
+        glitr.typeRegistry.registry.containsKey(AuditEntry)
+        glitr.schema.is(schema)
+        result.errors.isEmpty()
+        result.data == [auditLog: [entries: [[message: "login", author: [name: "admin"]]]]]
+
+        and: "the startup schema is left untouched"
+        ((GraphQLObjectType) startupSchema.getType("AuditEntry")).fieldDefinitions*.name == [UNUSED_FIELDS_DEAD_OBJECT]
+    }
+
+    def "Types of a lazy package should be stubs whatever their depth"() {
+        setup:
+        def glitr = GlitrBuilder.newGlitr()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new AdminQuery())
+                .addLazyPackage("com.nfl.glitr.data.lazy")
+                .build()
+
+        expect:
+        glitr.typeRegistry.isStub("AuditLog")
+        !glitr.typeRegistry.isStub("AdminQuery")
+    }
+
+    def "Queries executed through the instrumentation should be materialized before they are validated"() {
+        setup:
+        def glitr = GlitrBuilder.newGlitr()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new AdminQuery())
+                .withLazyTypes(1)
+                .build()
+        def graphQL = GraphQL.newGraphQL(glitr.schema)
+                .instrumentation(glitr.lazyTypesInstrumentation)
+                .preparsedDocumentProvider(glitr.lazyTypesInstrumentation)
+                .build()
+        def query = "{ auditLog { entries { message author { name } } } }"
+
+        when:
+        def result = graphQL.execute(ExecutionInput.newExecutionInput().query(query).root(new AdminQuery()).build())
+
+        then:
+        result.errors.isEmpty()
+        result.data == [auditLog: [entries: [[message: "login", author: [name: "admin"]]]]]
+        !glitr.typeRegistry.isStub("AuditEntry")
+
+        when: "the query is invalid against the materialized schema"
+        def invalid = graphQL.execute(ExecutionInput.newExecutionInput().query("{ auditLog { entries { unknown } } }").root(new AdminQuery()).build())
+
+        then:
+        invalid.errors.size() == 1
+        invalid.errors[0].errorType.toString() == "ValidationError"
+    }
+}
@@ -0,0 +1,39 @@
+package com.nfl.glitr.registry
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.mutation.MutationType
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.util.SerializationUtil
+import graphql.schema.idl.SchemaPrinter
+import spock.lang.Specification
+
+import java.util.concurrent.ForkJoinPool
+
+class ParallelIntrospectionTest extends Specification {
+
+    def "Parallel introspection should build the same schema as the sequential build"() {
+        setup:
+        def pool = new ForkJoinPool(4)
+        def sequential = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .withMutationRoot(new MutationType())
+                .build()
+        def parallel = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .withMutationRoot(new MutationType())
+                .withParallelIntrospection(pool)
+                .build()
+        def printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeDirectives(false))
+
+        expect:
+        printer.print(parallel.schema) == printer.print(sequential.schema)
+        parallel.typeRegistry.registry.keySet() == sequential.typeRegistry.registry.keySet()
+
+        cleanup:
+        pool.shutdown()
+    }
+}
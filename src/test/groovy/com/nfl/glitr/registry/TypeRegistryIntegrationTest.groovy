@@ -264,4 +264,40 @@ class TypeRegistryIntegrationTest extends Specification {
         then: "Make sure it implements the interfaces"
         type.interfaces.name as Set == [AbstractContent.class.simpleName, AbstractTimestamped.class.simpleName, Identifiable.simpleName, Playable.class.simpleName] as Set
     }
+
+    def "Lookup should leave no type reference behind and report the introspection"() {
+        setup:
+        Glitr glitr = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build()
+        def stats = glitr.typeRegistry.introspectionStats
+
+        expect:
+        glitr.typeRegistry.registry.values().findAll { it instanceof GraphQLTypeReference }.isEmpty()
+        stats.introspectedClasses > 0
+        stats.introspectedClasses == glitr.typeRegistry.registry.size() - 1 // Node is built by the relay support
+        stats.getIntrospectionTime(java.util.concurrent.TimeUnit.NANOSECONDS) > 0
+    }
+
+    static class VideoProxy extends Video {
+    }
+
+    def "Subclasses and proxies should resolve to the type of their nearest registered ancestor"() {
+        setup:
+        Glitr glitr = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build()
+        def env = new graphql.TypeResolutionEnvironment(new VideoProxy(), null, null, null, null, glitr.schema)
+
+        expect:
+        glitr.typeRegistry.getType(env).is(glitr.schema.getType("Video"))
+        glitr.typeRegistry.resolveObjectType(VideoProxy).name == "Video"
+        glitr.typeRegistry.resolveObjectType(Object) == null
+        // interfaces have no object type of their own
+        glitr.typeRegistry.resolveObjectType(Playable) == null
+    }
 }
@@ -0,0 +1,101 @@
+package com.nfl.glitr.registry.datafetcher.instrumentation
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.QueryType
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.Scalars
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironmentImpl
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class FetcherInstrumentationTest extends Specification {
+
+    def execCtx = ExecutionContextBuilder.newExecutionContextBuilder()
+            .executionId(ExecutionId.generate())
+            .build();
+    def env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment(execCtx)
+            .fieldType(Scalars.GraphQLString)
+            .build()
+
+    def "Should record latencies and errors per coordinate and kind"() {
+        given:
+        def instrumentation = new FetcherInstrumentation()
+        def ok = instrumentation.instrument({ e -> "Title" } as DataFetcher, "Video.title", FetcherKind.OVERRIDE)
+        def ko = instrumentation.instrument({ e -> throw new IllegalStateException("boom") } as DataFetcher, "Video.title", FetcherKind.PROPERTY)
+
+        when:
+        ok.get(env)
+        ok.get(env)
+        try {
+            ko.get(env)
+        } catch (IllegalStateException ignored) {
+        }
+        def snapshots = instrumentation.snapshot().collectEntries { [(it.kind): it] }
+
+        then:
+        snapshots[FetcherKind.OVERRIDE].coordinate == "Video.title"
+        snapshots[FetcherKind.OVERRIDE].count == 2
+        snapshots[FetcherKind.OVERRIDE].errors == 0
+        snapshots[FetcherKind.PROPERTY].count == 1
+        snapshots[FetcherKind.PROPERTY].errors == 1
+    }
+
+    def "Should time asynchronous results until they complete"() {
+        given:
+        def instrumentation = new FetcherInstrumentation()
+        def future = new CompletableFuture()
+        def fetcher = instrumentation.instrument({ e -> future } as DataFetcher, "Video.title", FetcherKind.FIELD)
+
+        when:
+        fetcher.get(env)
+
+        then:
+        instrumentation.snapshot()[0].count == 0
+
+        when:
+        future.completeExceptionally(new IllegalStateException("boom"))
+
+        then:
+        instrumentation.snapshot()[0].count == 1
+        instrumentation.snapshot()[0].errors == 1
+    }
+
+    def "Should approximate percentiles within a factor of 2"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        (1..100).each { histogram.record(it * 1000L) }
+        def snapshot = histogram.snapshot()
+
+        then:
+        snapshot.count == 100
+        snapshot.maxNanos == 100_000
+        snapshot.getPercentileNanos(50) >= 50_000
+        snapshot.getPercentileNanos(50) < 100_000
+        snapshot.getPercentileNanos(100) == 100_000
+    }
+
+    def "Should instrument every generated data fetcher once registered"() {
+        given:
+        def instrumentation = new FetcherInstrumentation()
+        def glitr = GlitrBuilder.newGlitr()
+                .withQueryRoot(new QueryType())
+                .withFetcherInstrumentation(instrumentation)
+                .build()
+
+        when:
+        def result = GraphQL.newGraphQL(glitr.getSchema()).build()
+                .execute(ExecutionInput.newExecutionInput().query("{ video(id: \"1\") { id } }").build())
+        def kinds = instrumentation.snapshot().findAll { it.coordinate == "QueryType.video" }*.kind
+
+        then:
+        result.errors.isEmpty()
+        kinds.sort() == [FetcherKind.PROPERTY, FetcherKind.FIELD]
+    }
+}
@@ -0,0 +1,133 @@
+package com.nfl.glitr.registry.datafetcher.query
+
+import graphql.Scalars
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironmentImpl
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class CachingDataFetcherTest extends Specification {
+
+    def execCtx = ExecutionContextBuilder.newExecutionContextBuilder()
+            .executionId(ExecutionId.generate())
+            .build();
+
+    def env(Map<String, Object> arguments) {
+        return env(null, arguments)
+    }
+
+    def env(Object source, Map<String, Object> arguments) {
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment(execCtx)
+                .source(source)
+                .arguments(arguments)
+                .fieldType(Scalars.GraphQLString)
+                .build()
+    }
+
+    def "Should share results across requests per arguments and report the hit ratio"() {
+        given:
+        def calls = 0
+        def fetcher = new CachingDataFetcher({ e -> calls++; "Week " + e.getArgument("week") } as DataFetcher, "QueryType.schedule", 1, TimeUnit.MINUTES, 10)
+
+        when:
+        def results = [fetcher.get(env([week: 1])), fetcher.get(env([week: 1])), fetcher.get(env([week: 2]))]
+
+        then:
+        results*.get() == ["Week 1", "Week 1", "Week 2"]
+        calls == 2
+        fetcher.getStats().hitCount() == 1
+        fetcher.getStats().missCount() == 2
+    }
+
+    def "Should coalesce identical misses while the result is pending"() {
+        given:
+        def calls = 0
+        def future = new CompletableFuture()
+        def fetcher = new CachingDataFetcher({ e -> calls++; future } as DataFetcher, "QueryType.schedule", 1, TimeUnit.MINUTES, 10)
+
+        when:
+        def first = fetcher.get(env([:]))
+        def second = fetcher.get(env([:]))
+        future.complete("Schedule")
+
+        then:
+        calls == 1
+        first.get() == "Schedule"
+        second.get() == "Schedule"
+    }
+
+    def "Should not cache failures"() {
+        given:
+        def calls = 0
+        def fetcher = new CachingDataFetcher({ e ->
+            if (calls++ == 0) {
+                throw new IllegalStateException("boom")
+            }
+            "Schedule"
+        } as DataFetcher, "QueryType.schedule", 1, TimeUnit.MINUTES, 10)
+
+        when:
+        fetcher.get(env([:]))
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        def result = fetcher.get(env([:]))
+
+        then:
+        result.get() == "Schedule"
+        calls == 2
+    }
+
+    def "Should expire results after the ttl"() {
+        given:
+        def calls = 0
+        def fetcher = new CachingDataFetcher({ e -> calls++ } as DataFetcher, "QueryType.schedule", 1, TimeUnit.MILLISECONDS, 10)
+
+        when:
+        fetcher.get(env([:]))
+        Thread.sleep(20)
+        fetcher.get(env([:]))
+
+        then:
+        calls == 2
+    }
+
+    def "Should count the ttl from the time the result completed"() {
+        given:
+        def calls = 0
+        def future = new CompletableFuture()
+        def fetcher = new CachingDataFetcher({ e -> calls++; future } as DataFetcher, "QueryType.schedule", 200, TimeUnit.MILLISECONDS, 10)
+
+        when: "the result takes longer than the ttl to complete"
+        def first = fetcher.get(env([:]))
+        Thread.sleep(300)
+        future.complete("Schedule")
+        def second = fetcher.get(env([:]))
+
+        then:
+        calls == 1
+        second.get() == "Schedule"
+        first.get() == "Schedule"
+    }
+
+    def "Should not share results between the parents of a cached field"() {
+        given:
+        def calls = 0
+        def fetcher = new CachingDataFetcher({ e -> calls++; e.getSource().title } as DataFetcher, "Video.title", 1, TimeUnit.MINUTES, 10)
+        def first = [title: "First"]
+        def second = [title: "Second"]
+
+        when:
+        def results = [fetcher.get(env(first, [:])), fetcher.get(env(second, [:])), fetcher.get(env(first, [:]))]
+
+        then:
+        results*.get() == ["First", "Second", "First"]
+        calls == 2
+    }
+}
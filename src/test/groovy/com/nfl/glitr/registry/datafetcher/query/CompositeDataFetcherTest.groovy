@@ -28,7 +28,23 @@ class CompositeDataFetcherTest extends Specification {
         new CompositeDataFetcher([propertyDataFetcher, overrideDataFetcher]).get(env) == "Title"
     }
 
+    def "Should only fall back on NOT_HANDLED when explicit fallback is enabled"() {
+        given:
+        def nameFetcher = new PropertyDataFetcher("name")
+
+        expect:
+        new CompositeDataFetcher(new OverrideDataFetcher("title", new Override(), true), nameFetcher).get(env) == "Title"
+        new CompositeDataFetcher(new OverrideDataFetcher("notfound", new Override(), true), nameFetcher).get(env) == "Name"
+        new CompositeDataFetcher(new OverrideDataFetcher("nullTitle", new Override(), true), nameFetcher).get(env) == null
+        new CompositeDataFetcher(new OverrideDataFetcher("nullTitle", new Override()), nameFetcher).get(env) == "Name"
+    }
+
     class Override {
+        public String getNullTitle(DataFetchingEnvironment environment) {
+            return null;
+        }
+
+
         public String getTitle(DataFetchingEnvironment environment) {
             return "Title";
         }
@@ -0,0 +1,204 @@
+package com.nfl.glitr.registry.datafetcher.query
+
+import com.nfl.glitr.data.query.BlockingType
+import com.nfl.glitr.data.query.Video
+import com.nfl.glitr.registry.TypeRegistryBuilder
+import graphql.Scalars
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironmentImpl
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ExecutorDataFetcherTest extends Specification {
+
+    def execCtx = ExecutionContextBuilder.newExecutionContextBuilder()
+            .executionId(ExecutionId.generate())
+            .build();
+    def env = DataFetchingEnvironmentImpl.newDataFetchingEnvironment(execCtx)
+            .fieldType(Scalars.GraphQLString)
+            .build()
+    def pool = Executors.newFixedThreadPool(8)
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+    def "Should run the delegate on the executor and complete the future with its result"() {
+        given:
+        def callerThread = Thread.currentThread()
+        def fetcherThread = null
+        def fetcher = new ExecutorDataFetcher({ e -> fetcherThread = Thread.currentThread(); "Title" } as DataFetcher, pool)
+
+        expect:
+        fetcher.get(env).get(1, TimeUnit.SECONDS) == "Title"
+        fetcherThread != null
+        fetcherThread != callerThread
+    }
+
+    def "Should unwrap asynchronous results of the delegate"() {
+        given:
+        def fetcher = new ExecutorDataFetcher({ e -> CompletableFuture.completedFuture("Title") } as DataFetcher, pool)
+
+        expect:
+        fetcher.get(env).get(1, TimeUnit.SECONDS) == "Title"
+    }
+
+    def "Should complete the future exceptionally when the delegate throws"() {
+        given:
+        def fetcher = new ExecutorDataFetcher({ e -> throw new IllegalStateException("boom") } as DataFetcher, pool)
+
+        when:
+        fetcher.get(env).get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IllegalStateException
+    }
+
+    def "Should never run more than maxConcurrency tasks at a time"() {
+        given:
+        def executor = new ConcurrencyLimitedExecutor(pool, 2)
+        def running = new AtomicInteger()
+        def maxSeen = new AtomicInteger()
+        def done = new CountDownLatch(20)
+
+        when:
+        20.times {
+            executor.execute({
+                def now = running.incrementAndGet()
+                maxSeen.accumulateAndGet(now, { a, b -> Math.max(a, b) })
+                Thread.sleep(5)
+                running.decrementAndGet()
+                done.countDown()
+            })
+        }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        maxSeen.get() <= 2
+        executor.getPendingCount() == 0
+    }
+
+    def "Should reject a non positive maxConcurrency"() {
+        when:
+        new ConcurrencyLimitedExecutor(pool, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Should keep a rejected task queued and fail only the submitter's future"() {
+        given:
+        def reject = true
+        def executor = new ConcurrencyLimitedExecutor({ r -> if (reject) throw new RejectedExecutionException("full"); pool.execute(r) } as Executor, 1)
+        def fetcher = new ExecutorDataFetcher({ e -> "Title" } as DataFetcher, executor)
+
+        when:
+        def rejected = fetcher.get(env)
+        reject = false
+        def accepted = fetcher.get(env)
+
+        then:
+        rejected.isCompletedExceptionally()
+        accepted.get(1, TimeUnit.SECONDS) == "Title"
+        executor.getPendingCount() == 0
+    }
+
+    def "Should fail a queued task rejected once nothing is left running"() {
+        given:
+        def reject = false
+        def release = new CountDownLatch(1)
+        def executor = new ConcurrencyLimitedExecutor({ r -> if (reject) throw new RejectedExecutionException("full"); pool.execute(r) } as Executor, 1)
+        def running = new ExecutorDataFetcher({ e -> release.await(); "Running" } as DataFetcher, executor).get(env)
+        def queued = new ExecutorDataFetcher({ e -> "Queued" } as DataFetcher, executor).get(env)
+
+        when:
+        reject = true
+        release.countDown()
+        queued.get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof RejectedExecutionException
+        running.get(1, TimeUnit.SECONDS) == "Running"
+        executor.getPendingCount() == 0
+    }
+
+    def "Should retry a rejected task once a running task completes"() {
+        given:
+        def rejections = new AtomicInteger()
+        def release = new CountDownLatch(1)
+        def executor = new ConcurrencyLimitedExecutor({ r ->
+            if (rejections.get() == 1 && rejections.incrementAndGet() == 2) throw new RejectedExecutionException("full")
+            pool.execute(r)
+        } as Executor, 2)
+        def running = new ExecutorDataFetcher({ e -> release.await(); "Running" } as DataFetcher, executor).get(env)
+
+        when:
+        rejections.set(1)
+        def retried = new ExecutorDataFetcher({ e -> "Retried" } as DataFetcher, executor).get(env)
+
+        then:
+        !retried.isDone()
+        executor.getPendingCount() == 1
+
+        when:
+        release.countDown()
+
+        then:
+        running.get(1, TimeUnit.SECONDS) == "Running"
+        retried.get(1, TimeUnit.SECONDS) == "Retried"
+        executor.getPendingCount() == 0
+    }
+
+    def "Should offload the fields of a blocking class through the registry"() {
+        given:
+        def typeRegistry = TypeRegistryBuilder.newTypeRegistry()
+                .withBlockingExecutor(pool)
+                .addBlockingClass(Video.class)
+                .build()
+        def video = new Video()
+        video.setId("1")
+        def fetcher = typeRegistry.createDataFetcher(Video.class, Video.class, Video.class.getMethod("getId"))
+
+        when:
+        def result = fetcher.get(DataFetchingEnvironmentImpl.newDataFetchingEnvironment(env).source(video).build())
+
+        then:
+        result instanceof CompletableFuture
+        result.get(1, TimeUnit.SECONDS) == "1"
+    }
+
+    def "Should fail the field when the blocking executor rejects it and recover once it accepts again"() {
+        given:
+        def reject = true
+        def typeRegistry = TypeRegistryBuilder.newTypeRegistry()
+                .withBlockingExecutor({ r -> if (reject) throw new RejectedExecutionException("full"); pool.execute(r) } as Executor)
+                .build()
+        def fetcher = typeRegistry.createDataFetcher(BlockingType.class, BlockingType.class, BlockingType.class.getMethod("getTitle"))
+        def sourceEnv = DataFetchingEnvironmentImpl.newDataFetchingEnvironment(env).source(new BlockingType()).build()
+
+        when:
+        fetcher.get(sourceEnv).get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof RejectedExecutionException
+
+        when:
+        reject = false
+
+        then:
+        fetcher.get(sourceEnv).get(1, TimeUnit.SECONDS) == "Title"
+    }
+}
@@ -0,0 +1,94 @@
+package com.nfl.glitr.registry.datafetcher.query
+
+import graphql.Scalars
+import graphql.execution.ExecutionContextBuilder
+import graphql.execution.ExecutionId
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironmentImpl
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class MemoizingDataFetcherTest extends Specification {
+
+    def execCtx = ExecutionContextBuilder.newExecutionContextBuilder()
+            .executionId(ExecutionId.generate())
+            .build();
+    def source = new Object()
+
+    def env(Object context, Object source, Map<String, Object> arguments) {
+        return DataFetchingEnvironmentImpl.newDataFetchingEnvironment(execCtx)
+                .context(context)
+                .source(source)
+                .arguments(arguments)
+                .fieldType(Scalars.GraphQLString)
+                .build()
+    }
+
+    def "Should resolve duplicate selections once per request"() {
+        given:
+        def calls = 0
+        def fetcher = new MemoizingDataFetcher({ e -> calls++; "Title" } as DataFetcher, "Video.title")
+        def memo = new FieldResultMemo()
+
+        when:
+        def first = fetcher.get(env(memo, source, [first: 10]))
+        def second = fetcher.get(env(memo, source, [first: 10]))
+
+        then:
+        first.get() == "Title"
+        second.get() == "Title"
+        calls == 1
+        memo.size() == 1
+    }
+
+    def "Should resolve again for a different source, arguments or request"() {
+        given:
+        def calls = 0
+        def fetcher = new MemoizingDataFetcher({ e -> calls++; null } as DataFetcher, "Video.title")
+        def memo = new FieldResultMemo()
+
+        when:
+        fetcher.get(env(memo, source, [first: 10]))
+        fetcher.get(env(memo, source, [first: 20]))
+        fetcher.get(env(memo, new Object(), [first: 10]))
+        fetcher.get(env(new FieldResultMemo(), source, [first: 10]))
+
+        then:
+        calls == 4
+    }
+
+    def "Should find the memo through a context provider and share pending results"() {
+        given:
+        def calls = 0
+        def future = new CompletableFuture()
+        def fetcher = new MemoizingDataFetcher({ e -> calls++; future } as DataFetcher, "Video.title")
+        def memo = new FieldResultMemo()
+        def context = [getFieldResultMemo: { memo }] as FieldResultMemo.Provider
+
+        when:
+        def first = fetcher.get(env(context, source, [:]))
+        def second = fetcher.get(env(context, source, [:]))
+        future.complete("Title")
+
+        then:
+        calls == 1
+        first.get() == "Title"
+        second.get() == "Title"
+    }
+
+    def "Should simply delegate when no memo is attached to the context"() {
+        given:
+        def calls = 0
+        def fetcher = new MemoizingDataFetcher({ e -> calls++; "Title" } as DataFetcher, "Video.title")
+
+        when:
+        def first = fetcher.get(env(null, source, [:]))
+        def second = fetcher.get(env(null, source, [:]))
+
+        then:
+        first == "Title"
+        second == "Title"
+        calls == 2
+    }
+}
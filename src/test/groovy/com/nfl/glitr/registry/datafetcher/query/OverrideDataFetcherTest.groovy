@@ -30,7 +30,20 @@ class OverrideDataFetcherTest extends Specification {
         new OverrideDataFetcher("notFound", DummyClass.class).get(env) == null
     }
 
+    def "explicit fallback returns NOT_HANDLED when the override can't handle the field"() {
+        expect:
+        new OverrideDataFetcher("title", new Override(), true).get(env) == "Title"
+        new OverrideDataFetcher("notfound", new Override(), true).get(env) == OverrideDataFetcher.NOT_HANDLED
+        new OverrideDataFetcher("title", Override.class, true).get(env) == OverrideDataFetcher.NOT_HANDLED
+        new OverrideDataFetcher("nullTitle", new Override(), true).get(env) == null
+    }
+
     public class Override {
+        public String getNullTitle(DataFetchingEnvironment environment) {
+            return null;
+        }
+
+
         public String getTitle(DataFetchingEnvironment environment) {
             return "Title";
         }
@@ -0,0 +1,49 @@
+package com.nfl.glitr.registry.profiler
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.data.query.Video
+import com.nfl.glitr.util.SerializationUtil
+import spock.lang.Specification
+
+class BuildProfilerTest extends Specification {
+
+    def "Nested calls of the same kind should be excluded from the self figures"() {
+        setup:
+        def profiler = new BuildProfiler()
+
+        when:
+        profiler.profile(BuildProfiler.Kind.TYPE, "outer", {
+            profiler.profile(BuildProfiler.Kind.TYPE, "inner", { Thread.sleep(20) })
+        })
+        def entries = profiler.report.entries.collectEntries { [(it.name): it] }
+
+        then:
+        entries.outer.calls == 1
+        entries.outer.totalNanos >= entries.inner.totalNanos
+        entries.outer.selfNanos == entries.outer.totalNanos - entries.inner.totalNanos
+        profiler.report.entries[0].name == "inner"
+    }
+
+    def "Build should record types, factories and providers"() {
+        setup:
+        def profiler = new BuildProfiler()
+        GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .withBuildProfiler(profiler)
+                .build()
+        def report = profiler.report
+
+        expect:
+        report.entries.find { it.kind == BuildProfiler.Kind.TYPE && it.name == Video.name }.calls == 1
+        report.entries.find { it.kind == BuildProfiler.Kind.FACTORY && it.name == "GraphQLObjectTypeFactory" }.calls > 1
+        report.entries.find { it.kind == BuildProfiler.Kind.PROVIDER && it.name.startsWith("@GlitrForwardPagingArguments output type") } != null
+        report.entries*.selfNanos == report.entries*.selfNanos.sort(false).reverse()
+
+        report.toText().readLines().size() == report.entries.size() + 1
+        new ObjectMapper().readValue(report.toJson(), Map).entries.size() == report.entries.size()
+    }
+}
@@ -0,0 +1,143 @@
+package com.nfl.glitr.registry.snapshot
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.mutation.MutationType
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.registry.schema.GlitrFieldDefinition
+import com.nfl.glitr.registry.schema.GraphQLConnectionList
+import com.nfl.glitr.relay.RelayConfig
+import com.nfl.glitr.relay.TotalDataFetcher
+import com.nfl.glitr.util.SerializationUtil
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLTypeUtil
+import graphql.schema.idl.SchemaPrinter
+import spock.lang.Specification
+
+import static com.nfl.glitr.util.NodeUtil.COMPLEXITY_FORMULA_KEY
+
+class SchemaSnapshotTest extends Specification {
+
+    def printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeDirectives(false))
+
+    def "Schema restored from a snapshot should match the introspected one"() {
+        setup:
+        def introspected = newGlitr().build()
+        def out = new ByteArrayOutputStream()
+        introspected.exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+
+        when:
+        def restored = newGlitr().withSchemaSnapshot(snapshot).build()
+        def queryType = (GraphQLObjectType) restored.schema.getType("QueryType")
+
+        then:
+        printer.print(restored.schema) == printer.print(introspected.schema)
+        printer.print(restored.schema) == snapshot.sdl
+
+        and: "the complexity metadata and connection lists are kept"
+        ((GlitrFieldDefinition) queryType.getFieldDefinition("videosDepth").definition).metaDefinitions
+                .find { it.name == COMPLEXITY_FORMULA_KEY }.value == "#{depth}"
+        def edges = (GraphQLObjectType) restored.schema.getType("VideoConnection")
+        GraphQLTypeUtil.unwrapNonNull(edges.getFieldDefinition("edges").type) instanceof GraphQLConnectionList
+
+        when:
+        def result = GraphQL.newGraphQL(restored.schema).build()
+                .execute(ExecutionInput.newExecutionInput().query("{ video(id: \"1\") { id } }").build())
+
+        then:
+        result.errors.isEmpty()
+    }
+
+    def "Schema restored from a snapshot should resolve the connection total without blocking"() {
+        setup:
+        def out = new ByteArrayOutputStream()
+        newGlitr().build().exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+
+        when:
+        def restored = newGlitr().withSchemaSnapshot(snapshot).build()
+        def pageInfo = (GraphQLObjectType) restored.schema.getType("PageInfoWithTotal")
+
+        then:
+        restored.schema.codeRegistry.getDataFetcher(pageInfo, pageInfo.getFieldDefinition("total")) instanceof TotalDataFetcher
+    }
+
+    def "Schema should be built from the snapshot rather than introspected"() {
+        setup:
+        def out = new ByteArrayOutputStream()
+        newGlitr().build().exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+        snapshot.types.find { it.name == "QueryType" }.description = "restored"
+
+        when:
+        def glitr = newGlitr().withSchemaSnapshot(snapshot).build()
+
+        then:
+        glitr.schema.queryType.description == "restored"
+    }
+
+    def "Stale snapshot should fall back to introspection"() {
+        setup:
+        def out = new ByteArrayOutputStream()
+        newGlitr().build().exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+        snapshot.types.find { it.name == "QueryType" }.description = "restored"
+        snapshot.fingerprint = "0-0"
+
+        when:
+        def glitr = newGlitr().withSchemaSnapshot(snapshot).build()
+
+        then:
+        glitr.schema.queryType.description != "restored"
+        printer.print(glitr.schema) == snapshot.sdl
+    }
+
+    def "Snapshot should be stale once an option shaping the schema changes"() {
+        setup:
+        def out = new ByteArrayOutputStream()
+        newGlitr().build().exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+        snapshot.types.find { it.name == "QueryType" }.description = "restored"
+
+        when:
+        def glitr = newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withBackwardPagination().build())
+                .withSchemaSnapshot(snapshot)
+                .build()
+
+        then:
+        glitr.schema.queryType.description != "restored"
+        glitr.schema.queryType.getFieldDefinition("videos").getArgument("last") != null
+    }
+
+    def "Snapshot fingerprint should cover the superclasses and interfaces of its classes"() {
+        setup:
+        def glitr = newGlitr().build()
+        def out = new ByteArrayOutputStream()
+        glitr.exportSchemaSnapshot(out)
+        def snapshot = SchemaSnapshotReader.read(new ByteArrayInputStream(out.toByteArray()))
+
+        when: "the superclass of the relay implementation is recompiled differently"
+        def recompiled = graphql.relay.Relay.name.replace('.', '/') + ".class"
+        def classLoader = new ClassLoader(getClass().classLoader) {
+            @Override
+            InputStream getResourceAsStream(String name) {
+                return name == recompiled ? new ByteArrayInputStream([0] as byte[]) : super.getResourceAsStream(name)
+            }
+        }
+
+        then:
+        ClassFingerprint.compute(snapshot, glitr.typeRegistry, getClass().classLoader) == snapshot.fingerprint
+        ClassFingerprint.compute(snapshot, glitr.typeRegistry, classLoader) != snapshot.fingerprint
+    }
+
+    private static GlitrBuilder newGlitr() {
+        return GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .withMutationRoot(new MutationType())
+    }
+}
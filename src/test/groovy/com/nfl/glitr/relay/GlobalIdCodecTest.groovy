@@ -0,0 +1,139 @@
+package com.nfl.glitr.relay
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.exception.GlitrException
+import com.nfl.glitr.util.SerializationUtil
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class GlobalIdCodecTest extends Specification {
+
+    def typeRegistry = GlitrBuilder.newGlitr()
+            .withRelay()
+            .withObjectMapper(SerializationUtil.objectMapper)
+            .withQueryRoot(new QueryType()).build().typeRegistry
+
+
+    @Unroll
+    def "compact global id of #type should round trip"() {
+        setup:
+        def codec = new GlobalIdCodec(typeRegistry, true)
+
+        when:
+        def globalId = codec.toGlobalId(type, id)
+        def resolved = codec.fromGlobalId(globalId)
+
+        then:
+        globalId.startsWith("A")
+        globalId.length() < new RelayImpl().toGlobalId(type, id).length()
+        resolved.type == type
+        resolved.type.is(typeRegistry.nameRegistry.get(type).name)
+        resolved.id == id
+        codec.getType(globalId).is(resolved.type)
+        codec.getId(globalId) == id
+
+        where:
+        type    | id
+        "Video" | "1"
+        "Video" | "b7f5a1c2-0d3e-4f6a-9b8c-7d6e5f4a3b2c"
+        "Video" | "é"
+        "Video" | ""
+    }
+
+    def "legacy global ids should be decoded and still be encoded by default"() {
+        setup:
+        def relay = new RelayImpl()
+        def legacyId = relay.toGlobalId("Video", "42")
+
+        expect:
+        new GlobalIdCodec(typeRegistry, false).toGlobalId("Video", "42") == legacyId
+        [true, false].every {
+            def resolved = new GlobalIdCodec(typeRegistry, it).fromGlobalId(legacyId)
+            resolved.type == "Video" && resolved.id == "42"
+        }
+        new GlobalIdCodec(typeRegistry, true).getType(legacyId) == "Video"
+    }
+
+    def "types out of the registry should fall back to legacy ids"() {
+        setup:
+        def codec = new GlobalIdCodec(typeRegistry, true)
+
+        expect:
+        codec.toGlobalId("Unknown", "1") == new RelayImpl().toGlobalId("Unknown", "1")
+        codec.fromGlobalId(codec.toGlobalId("Unknown", "1")).type == "Unknown"
+    }
+
+    def "pinned type tags should be encoded and colliding tags rejected"() {
+        when:
+        def codec = new GlobalIdCodec(typeRegistry, true, [Video: 3])
+
+        then:
+        codec.toGlobalId("Video", "1") == Base64.urlEncoder.withoutPadding().encodeToString([1, 3, '1' as char] as byte[])
+
+        when:
+        new GlobalIdCodec(typeRegistry, true, [Video: GlobalIdCodec.defaultTag("QueryType")]).toGlobalId("Video", "1")
+
+        then:
+        thrown(GlitrException)
+
+        when:
+        new GlobalIdCodec(typeRegistry, true, [Video: 1 << 21])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "an unknown type tag should be rejected"() {
+        setup:
+        def codec = new GlobalIdCodec(typeRegistry, true, [Video: 3])
+        def globalId = Base64.urlEncoder.withoutPadding().encodeToString([1, 4, '1' as char] as byte[])
+
+        when:
+        codec.fromGlobalId(globalId)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "colliding type tags should fail the build in compact encoding only"() {
+        setup:
+        def build = { RelayConfig relayConfig ->
+            GlitrBuilder.newGlitr()
+                    .withRelay(relayConfig)
+                    .withObjectMapper(SerializationUtil.objectMapper)
+                    .withQueryRoot(new QueryType()).build()
+        }
+        def collidingTag = GlobalIdCodec.defaultTag("QueryType")
+
+        when:
+        build(RelayConfig.newRelayConfig().withCompactGlobalIds().withGlobalIdTypeTag("Video", collidingTag).build())
+
+        then:
+        thrown(GlitrException)
+
+        when:
+        def glitr = build(RelayConfig.newRelayConfig().withGlobalIdTypeTag("Video", collidingTag).build())
+        def resolved = glitr.relayHelper.fromGlobalId(new RelayImpl().toGlobalId("Video", "1"))
+
+        then:
+        resolved.type == "Video"
+        resolved.id == "1"
+    }
+
+    def "legacy global ids of a custom relay should be left to the relay"() {
+        setup:
+        def customRelay = new RelayImpl() {
+            @Override
+            String toGlobalId(String type, String id) {
+                return type + "/" + id
+            }
+        }
+
+        expect:
+        new GlobalIdCodec(typeRegistry, false).handles(new RelayImpl())
+        !new GlobalIdCodec(typeRegistry, false).handles(customRelay)
+        new GlobalIdCodec(typeRegistry, true).handles(customRelay)
+        new RelayHelper(customRelay, typeRegistry).toGlobalId("Video", "1") == "Video/1"
+    }
+}
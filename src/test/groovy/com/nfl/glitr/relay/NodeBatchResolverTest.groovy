@@ -0,0 +1,121 @@
+package com.nfl.glitr.relay
+
+import com.nfl.glitr.Glitr
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.BlockingType
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.data.query.Video
+import com.nfl.glitr.exception.GlitrException
+import com.nfl.glitr.util.SerializationUtil
+import graphql.ExecutionInput
+import graphql.GraphQL
+import org.dataloader.DataLoaderRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class NodeBatchResolverTest extends Specification {
+
+    def relay = new RelayImpl()
+
+
+    def "nodes should be loaded with one call per type, in the order of the ids"() {
+        setup:
+        def calls = []
+        NodeBatchLoader<Video> loader = { ids, env ->
+            calls << ids
+            CompletableFuture.completedFuture(ids.findAll { it != "404" }.collectEntries { [(it): video(it)] })
+        }
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withRelay(relay).withNodeBatchLoader(Video.class, loader).build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType()).build()
+        def ids = ["3", "1", "404", "2"].collect { relay.toGlobalId("Video", it) } + [relay.toGlobalId("Unknown", "1")]
+
+        when:
+        def result = graphQL(glitr).execute("{ nodes(ids: [${ids.collect { '"' + it + '"' }.join(', ')}]) { id } }".toString())
+
+        then:
+        result.errors.isEmpty()
+        result.data.nodes*.id == ["3", "1", null, "2", null]
+        calls == [["3", "1", "404", "2"]]
+
+        when:
+        result = graphQL(glitr).execute("{ node(id: \"${ids[1]}\") { id } }".toString())
+
+        then:
+        result.errors.isEmpty()
+        result.data.node.id == "1"
+        calls.size() == 2
+    }
+
+    def "node fields of a request should share one call per type through its data loaders"() {
+        setup:
+        def calls = []
+        NodeBatchLoader<Video> loader = { ids, env ->
+            calls << ids
+            CompletableFuture.completedFuture(ids.collectEntries { [(it): video(it)] })
+        }
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withRelay(relay).withNodeBatchLoader(Video.class, loader).build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType()).build()
+        def ids = ["1", "2", "3"].collect { '"' + relay.toGlobalId("Video", it) + '"' }
+        def query = "{ a: node(id: ${ids[0]}) { id } b: node(id: ${ids[1]}) { id } c: nodes(ids: [${ids[2]}, ${ids[0]}]) { id } }".toString()
+
+        when:
+        def result = graphQL(glitr).execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .dataLoaderRegistry(glitr.relayHelper.registerNodeDataLoaders(new DataLoaderRegistry()))
+                .build())
+
+        then:
+        result.errors.isEmpty()
+        result.data.a.id == "1"
+        result.data.b.id == "2"
+        result.data.c*.id == ["3", "1"]
+        calls.size() == 1
+        calls[0] as Set == ["1", "2", "3"] as Set
+    }
+
+    def "node batch loaders should be rejected when the query root doesn't declare a nodes field"() {
+        setup:
+        NodeBatchLoader<Video> loader = { ids, env -> CompletableFuture.completedFuture([:]) }
+
+        when:
+        GlitrBuilder.newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withRelay(relay).withNodeBatchLoader(Video.class, loader).build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new BlockingType()).build()
+
+        then:
+        def e = thrown(GlitrException)
+        e.message.contains("nodes")
+    }
+
+    def "a loader of a class which isn't a node type should be rejected"() {
+        setup:
+        def resolver = new NodeBatchResolver(relay, [(String.class): { ids, env -> CompletableFuture.completedFuture([:]) } as NodeBatchLoader])
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType()).build()
+        resolver.setTypeRegistry(glitr.typeRegistry)
+
+        when:
+        resolver.resolve([relay.toGlobalId("String", "1")], null)
+
+        then:
+        thrown(GlitrException)
+    }
+
+    private static GraphQL graphQL(Glitr glitr) {
+        return GraphQL.newGraphQL(glitr.schema).build()
+    }
+
+    private static Video video(String id) {
+        def video = new Video()
+        video.setId(id)
+        return video
+    }
+}
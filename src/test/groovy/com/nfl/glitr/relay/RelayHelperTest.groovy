@@ -1,11 +1,21 @@
 package com.nfl.glitr.relay
 
 import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.CachedVideosConnectionOverride
 import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.data.query.VideosConnectionOverride
+import com.nfl.glitr.relay.cursor.KeysetCursorCodec
+import com.nfl.glitr.relay.cursor.OffsetCursorCodec
 import com.nfl.glitr.util.SerializationUtil
+import graphql.GraphQL
+import graphql.schema.DataFetchingEnvironment
+import rx.Observable
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+
 class RelayHelperTest extends Specification {
 
     def glitr = GlitrBuilder.newGlitr()
@@ -40,6 +50,224 @@ class RelayHelperTest extends Specification {
             10     || 50         || true        || true        || 10         || null
     }
 
+    def "Cached connection should carry edge cursors whatever the selection it was first fetched for"() {
+        setup:
+        def override = new CachedVideosConnectionOverride()
+        def schema = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .addOverride(QueryType.class, override)
+                .build().schema
+        def graphQL = GraphQL.newGraphQL(schema).build()
+
+        when:
+        def withoutCursors = graphQL.execute("{ videos(first: 2) { edges { node { id } } } }")
+        def withCursors = graphQL.execute("{ a: videos(first: 2) { edges { node { id } } } b: videos(first: 2) { edges { cursor } } }")
+
+        then:
+        withoutCursors.errors.isEmpty()
+        withCursors.errors.isEmpty()
+        withCursors.data.a.edges*.node*.id == ["0", "1"]
+        withCursors.data.b.edges*.cursor == [RelayHelper.createCursor(0), RelayHelper.createCursor(1)]
+        override.countCalls() == 1
+    }
+
+    def "Keyset connection should seek past the key of the after cursor"() {
+        setup:
+        def items = (1..20).collect { [id: it, name: "item" + it] }
+        def page = { env ->
+            def arguments = PagingArguments.from(env)
+            def after = arguments.afterKey
+            def remaining = items.findAll { after == null || it.id > after[0] }
+            RelayHelper.buildConnection(remaining.take(arguments.getFirst(10) + 1), { [it.id, it.name] }, arguments.getFirst(10), after != null)
+        }
+
+        when:
+        def firstPage = page(Mock(DataFetchingEnvironment) { getArgument("first") >> 5 })
+        def afterCursor = firstPage.pageInfo.endCursor.value
+        def secondPage = page(Mock(DataFetchingEnvironment) {
+            getArgument("first") >> 5
+            getArgument("after") >> afterCursor
+        })
+        def lastPage = page(Mock(DataFetchingEnvironment) {
+            getArgument("first") >> 5
+            getArgument("after") >> KeysetCursorCodec.encode([15, "item15"])
+        })
+
+        then:
+        firstPage.edges*.node*.id == [1, 2, 3, 4, 5]
+        !firstPage.pageInfo.hasPreviousPage
+        firstPage.pageInfo.hasNextPage
+        KeysetCursorCodec.decode(afterCursor) == [5, "item5"]
+
+        secondPage.edges*.node*.id == [6, 7, 8, 9, 10]
+        secondPage.pageInfo.hasPreviousPage
+        secondPage.pageInfo.hasNextPage
+
+        lastPage.edges*.node*.id == [16, 17, 18, 19, 20]
+        !lastPage.pageInfo.hasNextPage
+    }
+
+    def "Deferred total should only be counted when selected"() {
+        setup:
+        def override = new VideosConnectionOverride()
+        def schema = GlitrBuilder.newGlitr()
+                .withRelay()
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .addOverride(QueryType.class, override)
+                .build().schema
+        def graphQL = GraphQL.newGraphQL(schema).build()
+
+        when:
+        def withoutTotal = graphQL.execute("{ videos(first: 2) { edges { node { id } } pageInfo { hasNextPage } } }")
+
+        then:
+        withoutTotal.errors.isEmpty()
+        withoutTotal.data.videos.edges*.node*.id == ["0", "1"]
+        withoutTotal.data.videos.pageInfo.hasNextPage
+        override.countCalls() == 0
+
+        when:
+        def withTotal = graphQL.execute("{ videos(first: 2) { pageInfo { hasNextPage total } } }")
+
+        then:
+        withTotal.errors.isEmpty()
+        withTotal.data.videos.pageInfo.total == 3
+        override.countCalls() == 1
+    }
+
+    def "Backward pagination should add the last and before arguments"() {
+        setup:
+        def schema = GlitrBuilder.newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withBackwardPagination().build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build().schema
+
+        expect:
+        schema.queryType.getFieldDefinition("videos").arguments*.name == ["first", "after", "last", "before"]
+        glitr.schema.queryType.getFieldDefinition("videos").arguments*.name == ["first", "after"]
+    }
+
+    def "Backward offset connection should end right before the before cursor"() {
+        setup:
+        def arguments = PagingArguments.from(Mock(DataFetchingEnvironment) {
+            getArgument("last") >> 3
+            getArgument("before") >> before
+        })
+        def beforeOffset = arguments.getBeforeOffset(OffsetCursorCodec.INSTANCE, 10)
+        def from = Math.max(0, beforeOffset - 3)
+
+        when:
+        def connection = RelayHelper.buildBackwardConnection((from..<10).toList(), beforeOffset, arguments.getLast(10), 10)
+
+        then:
+        arguments.backward
+        connection.edges*.node == nodes
+        connection.edges*.cursor*.value == nodes.collect { RelayHelper.createCursor(it) }
+        connection.pageInfo.hasPreviousPage == hasPreviousPage
+        connection.pageInfo.hasNextPage == hasNextPage
+
+        where:
+        before                      || nodes     || hasPreviousPage || hasNextPage
+        null                        || [7, 8, 9] || true            || false
+        RelayHelper.createCursor(5) || [2, 3, 4] || true            || true
+        RelayHelper.createCursor(2) || [0, 1]    || false           || true
+    }
+
+    def "Backward keyset connection should return the window before the cursor in order"() {
+        setup:
+        def items = (1..20).toList()
+        def before = KeysetCursorCodec.encode([15])
+        def beforeKey = PagingArguments.from(Mock(DataFetchingEnvironment) { getArgument("before") >> before }).beforeKey
+
+        when: "the items are fetched in descending order with a limit of last + 1"
+        def fetched = items.findAll { it < beforeKey[0] }.reverse().take(4)
+        def connection = RelayHelper.buildBackwardConnection(fetched, { [it] }, 3, true)
+
+        then:
+        connection.edges*.node == [12, 13, 14]
+        connection.pageInfo.hasPreviousPage
+        connection.pageInfo.hasNextPage
+        KeysetCursorCodec.decode(connection.pageInfo.startCursor.value) == [12]
+    }
+
+    def "Observable connection should request first + 1 items and unsubscribe once the page is filled"() {
+        setup:
+        def requested = []
+        def emitted = []
+        def unsubscribed = false
+        def source = Observable.range(offset, 50 - offset)
+                .doOnNext { emitted << it }
+                .doOnRequest { requested << it }
+                .doOnUnsubscribe { unsubscribed = true }
+
+        when:
+        def connection = RelayHelper.buildConnection(source, offset, 10, { CompletableFuture.completedFuture(50) }).join()
+
+        then:
+        requested == [11L]
+        emitted.size() == emittedCount
+        unsubscribed
+        connection.edges*.node == (offset..<Math.min(offset + 10, 50)).toList()
+        connection.pageInfo.hasNextPage == hasNextPage
+        connection.pageInfo.total == 50
+
+        where:
+        offset || emittedCount || hasNextPage
+        0      || 11           || true
+        40     || 10           || false
+        45     || 5            || false
+    }
+
+    def "Observable connection of an unlimited page size should read the whole source"() {
+        when:
+        def connection = RelayHelper.buildConnection(Observable.range(0, 5), { [it] }, Integer.MAX_VALUE, false).join()
+
+        then:
+        connection.edges*.node == [0, 1, 2, 3, 4]
+        !connection.pageInfo.hasNextPage
+    }
+
+    def "Observable keyset connection should fail with the source"() {
+        when:
+        RelayHelper.buildConnection(Observable.error(new IllegalStateException("boom")), { [it] }, 3, false).join()
+
+        then:
+        def e = thrown(CompletionException)
+        e.cause instanceof IllegalStateException
+    }
+
+    def "Page sizes above the max page size should be clamped or rejected before the fetcher runs"() {
+        setup:
+        def relayConfig = RelayConfig.newRelayConfig().withMaxPageSize(2)
+        if (rejecting) {
+            relayConfig.withOversizedPageRejection()
+        }
+        def schema = GlitrBuilder.newGlitr()
+                .withRelay(relayConfig.build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .addOverride(QueryType.class, new VideosConnectionOverride())
+                .build().schema
+
+        when:
+        def result = GraphQL.newGraphQL(schema).build().execute("{ videos(first: ${first}) { edges { node { id } } pageInfo { hasNextPage } } }".toString())
+
+        then:
+        result.errors.size() == errors
+        result.data.videos?.edges?.size() == edges
+
+        where:
+        first | rejecting || errors || edges
+        1     | false     || 0      || 1
+        100   | false     || 0      || 2
+        2     | true      || 0      || 2
+        100   | true      || 1      || null
+    }
+
     void testPaging(def offset, def totalCount, def hasNext, def hasPrev, def resultSize, def previousPageOffset) {
         def items = []
         def skipItem = 10
@@ -0,0 +1,80 @@
+package com.nfl.glitr.relay.cursor
+
+import com.nfl.glitr.GlitrBuilder
+import com.nfl.glitr.data.query.QueryType
+import com.nfl.glitr.relay.RelayConfig
+import com.nfl.glitr.relay.RelayHelper
+import com.nfl.glitr.util.SerializationUtil
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CursorCodecTest extends Specification {
+
+    @Unroll
+    def "Offset codec should stay wire compatible for offset #offset"() {
+        expect:
+        OffsetCursorCodec.INSTANCE.encode(offset) == RelayHelper.Base64Helper.toBase64("simple-cursor" + offset)
+        OffsetCursorCodec.INSTANCE.decode(RelayHelper.Base64Helper.toBase64("simple-cursor" + offset)) == offset
+
+        where:
+        offset << [0, 1, 9, 10, 42, 99, 100, 12345, 999999, -1, -100, Integer.MAX_VALUE, Integer.MIN_VALUE]
+    }
+
+    @Unroll
+    def "Varint codec should round trip offset #offset and accept legacy cursors"() {
+        when:
+        def cursor = VarintCursorCodec.INSTANCE.encode(offset)
+
+        then:
+        cursor.length() <= 7
+        VarintCursorCodec.INSTANCE.decode(cursor) == offset
+        VarintCursorCodec.INSTANCE.decode(RelayHelper.createCursor(offset)) == offset
+
+        where:
+        offset << [0, 1, 63, 64, 127, 128, 16384, 12345678, -1, Integer.MAX_VALUE, Integer.MIN_VALUE]
+    }
+
+    def "Keyset codec should round trip the key values"() {
+        when:
+        def cursor = KeysetCursorCodec.encode(keys)
+
+        then:
+        KeysetCursorCodec.isKeysetCursor(cursor)
+        KeysetCursorCodec.decode(cursor) == keys
+        !KeysetCursorCodec.isKeysetCursor(RelayHelper.createCursor(0))
+        !KeysetCursorCodec.isKeysetCursor(VarintCursorCodec.INSTANCE.encode(0))
+
+        where:
+        keys << [[], [42], [1234567890123L, "title"], [null, true, 1.5d, "é"]]
+    }
+
+    def "Invalid cursors should be rejected"() {
+        when:
+        codec.decode(cursor)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        codec                      | cursor
+        OffsetCursorCodec.INSTANCE | RelayHelper.Base64Helper.toBase64("other-cursor1")
+        OffsetCursorCodec.INSTANCE | RelayHelper.Base64Helper.toBase64("simple-cursor1a")
+        OffsetCursorCodec.INSTANCE | "not base64!"
+        VarintCursorCodec.INSTANCE | "gICAgICA"
+        OffsetCursorCodec.INSTANCE | KeysetCursorCodec.encode([1])
+    }
+
+    def "Configured codec should be used by the relay helper"() {
+        setup:
+        def glitr = GlitrBuilder.newGlitr()
+                .withRelay(RelayConfig.newRelayConfig().withCursorCodec(VarintCursorCodec.INSTANCE).build())
+                .withObjectMapper(SerializationUtil.objectMapper)
+                .withQueryRoot(new QueryType())
+                .build()
+
+        expect:
+        glitr.relayHelper.encodeCursor(300) == VarintCursorCodec.INSTANCE.encode(300)
+        glitr.relayHelper.decodeCursor(glitr.relayHelper.encodeCursor(300), 0) == 300
+        glitr.relayHelper.decodeCursor(null, 7) == 7
+    }
+}
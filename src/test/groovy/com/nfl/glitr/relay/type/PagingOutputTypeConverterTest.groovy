@@ -4,8 +4,13 @@ import com.nfl.glitr.GlitrBuilder
 import com.nfl.glitr.data.query.QueryType
 import com.nfl.glitr.annotation.GlitrForwardPagingArguments
 import com.nfl.glitr.annotation.GlitrNonNull
+import com.nfl.glitr.exception.GlitrException
 import com.nfl.glitr.registry.TypeRegistry
+import com.nfl.glitr.relay.RelayHelper
+import com.nfl.glitr.relay.RelayImpl
 import com.nfl.glitr.util.SerializationUtil
+import graphql.Scalars
+import graphql.schema.GraphQLFieldDefinition
 import graphql.schema.GraphQLObjectType
 import graphql.schema.GraphQLOutputType
 import spock.lang.Specification
@@ -99,6 +104,73 @@ class PagingOutputTypeConverterTest extends Specification {
         expected = GraphQLObjectType.class
     }
 
+    def "connection type should be built once per element type"() {
+        setup:
+        def builds = 0
+        def countingRelayHelper = new RelayHelper(new RelayImpl(), typeRegistry) {
+            @Override
+            GraphQLObjectType connectionType(String simpleName, GraphQLObjectType edgeType, List<GraphQLFieldDefinition> graphQLFieldDefinitions) {
+                builds++
+                return super.connectionType(simpleName, edgeType, graphQLFieldDefinitions)
+            }
+        }
+        def converter = new PagingOutputTypeConverter().setRelayHelper(countingRelayHelper)
+        def field = MyTestClass.class.getField("listOfStrings")
+        def method = MyTestClass.class.getDeclaredMethod("getListOfStrings")
+        def annotation = field.getAnnotation(GlitrForwardPagingArguments.class)
+
+        when:
+        def first = converter.call(typeRegistry, field, method, MyTestClass.class, annotation)
+        def second = converter.call(typeRegistry, field, method, MyTestClass.class, annotation)
+        def third = converter.call(typeRegistry, MyTestClass.class.getField("collOfStrings"), MyTestClass.class.getDeclaredMethod("getCollOfStrings"),
+                MyTestClass.class, annotation)
+
+        then:
+        first.is(second)
+        first.is(third)
+        builds == 1
+    }
+
+    def "connection type of the same name but another shape should be rejected"() {
+        setup:
+        def field = MyTestClass.class.getField("listOfStrings")
+        def method = MyTestClass.class.getDeclaredMethod("getListOfStrings")
+        def annotation = field.getAnnotation(GlitrForwardPagingArguments.class)
+        def connection = (GraphQLObjectType) pagingOutputTypeConverter.call(typeRegistry, field, method, MyTestClass.class, annotation)
+
+        expect: "a structurally equal copy is accepted"
+        PagingOutputTypeConverter.fingerprint(connection) == PagingOutputTypeConverter.fingerprint(connection.transform({}))
+
+        when:
+        typeRegistry.nameRegistry.put(connection.name, connection.transform({ it.field(GraphQLFieldDefinition.newFieldDefinition().name("extra").type(Scalars.GraphQLInt)) }))
+        new PagingOutputTypeConverter().setRelayHelper(relayHelper).call(typeRegistry, field, method, MyTestClass.class, annotation)
+
+        then:
+        thrown(GlitrException)
+    }
+
+    def "connection types should be cached by element class, not by its simple name"() {
+        setup:
+        def builds = 0
+        def countingRelayHelper = new RelayHelper(new RelayImpl(), typeRegistry) {
+            @Override
+            GraphQLObjectType connectionType(String simpleName, GraphQLObjectType edgeType, List<GraphQLFieldDefinition> graphQLFieldDefinitions) {
+                builds++
+                return super.connectionType(simpleName, edgeType, graphQLFieldDefinitions)
+            }
+        }
+        def converter = new PagingOutputTypeConverter().setRelayHelper(countingRelayHelper)
+        def annotation = MyTestClass.class.getField("listOfStrings").getAnnotation(GlitrForwardPagingArguments.class)
+
+        when:
+        converter.call(typeRegistry, null, Shelf.class.getDeclaredMethod("getItems"), Shelf.class, annotation)
+        converter.call(typeRegistry, null, OtherShelf.class.getDeclaredMethod("getItems"), OtherShelf.class, annotation)
+        converter.call(typeRegistry, null, OtherShelf.class.getDeclaredMethod("getItems"), OtherShelf.class, annotation)
+
+        then:
+        builds == 2
+    }
+
     public void testArgumentsOfCall(TypeRegistry typeRegistry, Field field, Method method, Class declaringClass, Annotation annotation, Object expected) {
         try {
             GraphQLOutputType outputType = pagingOutputTypeConverter.call(typeRegistry, field, method, declaringClass, annotation);
@@ -144,4 +216,20 @@ class PagingOutputTypeConverterTest extends Specification {
             return nonNullListOfStrings
         }
     }
+
+    static class Shelf {
+        List<Item> getItems() { null }
+
+        static class Item {
+            String getTitle() { null }
+        }
+    }
+
+    static class OtherShelf {
+        List<Item> getItems() { null }
+
+        static class Item {
+            Integer getWeight() { null }
+        }
+    }
 }
@@ -6,6 +6,7 @@ import com.nfl.glitr.calculator.QueryComplexityCalculator
 import com.nfl.glitr.data.mutation.MutationType
 import com.nfl.glitr.data.query.QueryType
 import com.nfl.glitr.exception.GlitrException
+import com.nfl.glitr.relay.RelayConfig
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -458,6 +459,17 @@ class QueryComplexityCalculatorTest extends Specification {
         |    playLists {
         |        playListId
         |        playListTitle
+        |        albums(last:3){
+        |           albumId
+        |        }
+        |    }
+        |}'''.stripMargin()     | "backward page with a score of 40"          || 40
+
+            '''\
+        |{
+        |    playLists {
+        |        playListId
+        |        playListTitle
         |        albumsFirst(first:3){
         |           albumId
         |        }
@@ -1106,4 +1118,63 @@ class QueryComplexityCalculatorTest extends Specification {
             "videos{edges{node{ignore{id}}}}"        || 1
             "videos{edges{node{ignore{depth{id}}}}}" || 3
     }
-}
\ No newline at end of file
+
+    def "Page sizes above the max page size should be scored as the max page size"() {
+        setup:
+            def calculator = { RelayConfig relayConfig ->
+                GlitrBuilder.newGlitr()
+                        .withRelay(relayConfig)
+                        .withQueryRoot(new QueryType())
+                        .withObjectMapper(SerializationUtil.objectMapper)
+                        .withQueryComplexityCalculator(new QueryComplexityCalculator(0, 0, 0, 1))
+                        .build()
+                        .getQueryComplexityCalculator()
+            }
+            def capped = calculator(RelayConfig.newRelayConfig().withMaxPageSize(5).withMaxPageSize("QueryType.otherVideos", 2).build())
+            def uncapped = calculator(RelayConfig.newRelayConfig().build())
+            def score = { c, String field, int first -> c.queryScore("{ ${field}(first: ${first}) { edges { node { id } } } }".toString(), null) }
+
+        expect:
+            score(capped, "videos", 100) == score(capped, "videos", 5)
+            score(capped, "videos", 3) == score(uncapped, "videos", 3)
+            score(uncapped, "videos", 100) > score(capped, "videos", 100)
+            score(capped, "otherVideos", 100) == score(uncapped, "otherVideos", 2)
+    }
+
+    def "Only the page sizes of connection fields should be counted as collection sizes"() {
+        setup:
+            def calculator = GlitrBuilder.newGlitr()
+                    .withRelay()
+                    .withQueryRoot(new QueryType())
+                    .withObjectMapper(SerializationUtil.objectMapper)
+                    .withQueryComplexityCalculator(new QueryComplexityCalculator(0, 0, 0, 1))
+                    .build()
+                    .getQueryComplexityCalculator()
+
+        expect:
+            calculator.queryScore("{ zZZWatched(last: 24) { id } }", null) == 0
+            calculator.queryScore('query($limit: String) { currentCollectionSize(first: $limit) { id } }', [limit: "3"]) == 0
+            calculator.queryScore('query($limit: Int) { currentCollectionSize(first: $limit) { id } }', [limit: 3]) == 3
+    }
+
+    def "Page size variables of any numeric type should be counted, clamped to the int range"() {
+        setup:
+            def calculator = GlitrBuilder.newGlitr()
+                    .withRelay()
+                    .withQueryRoot(new QueryType())
+                    .withObjectMapper(SerializationUtil.objectMapper)
+                    .withQueryComplexityCalculator(new QueryComplexityCalculator(0, 0, 0, 1))
+                    .build()
+                    .getQueryComplexityCalculator()
+
+        expect:
+            calculator.queryScore('query($limit: Int) { currentCollectionSize(first: $limit) { id } }', [limit: limit]) == expectedScore
+
+        where:
+            limit                   || expectedScore
+            3L                      || 3
+            3.0d                    || 3
+            BigInteger.valueOf(3)   || 3
+            Long.MAX_VALUE          || Integer.MAX_VALUE
+    }
+}
@@ -187,4 +187,26 @@ class ReflectionUtilTest extends Specification {
             descriptionAnnoDeclaredInParent == "Test description declared in abstract class"
             descriptionAnnoDeclaredInChild == "Test description"
     }
+
+    def "Class metadata should be computed once and dropped on clearCache"() {
+        setup:
+            ClassMetadata metadata = ReflectionUtil.getClassMetadata(Video.class)
+
+        expect:
+            ReflectionUtil.getClassMetadata(Video.class).is(metadata)
+            metadata.getEligibleMethods().keySet() == ReflectionUtil.getMethodMap(Video.class).keySet()
+            metadata.getField("description") != null
+            metadata.getDeclaredField("description") == null
+
+        when:
+            ReflectionUtil.clearCache()
+
+        then:
+            !ReflectionUtil.getClassMetadata(Video.class).is(metadata)
+    }
+
+    def "Indexed eligible methods should be looked up by name"() {
+        expect:
+            ReflectionUtil.getMethodMap(Video.class, ["getId", "getTitle", "getRemoved", "getClass"] as Set).keySet() == ["getId", "getTitle"] as Set
+    }
 }